@@ -0,0 +1,78 @@
+package com.sccon.geospatial.personapi.benchmark;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.model.Pessoa;
+
+import java.time.LocalDate;
+
+/**
+ * Massa de dados determinística para os benchmarks: o i-ésimo registro é
+ * sempre o mesmo, então os alvos de busca podem ser recalculados a partir do índice.
+ */
+final class BenchmarkData {
+
+    private static final String[] PRIMEIROS_NOMES = {
+            "Ana", "Bruno", "Carla", "Diego", "Élida", "Fábio", "Gustavo", "Helena",
+            "Íris", "João", "Larissa", "Márcio", "Natália", "Otávio", "Paula", "Renato"
+    };
+
+    private static final String[] SILABAS = {
+            "ba", "ca", "da", "fe", "go", "lu", "ma", "ne", "pi", "ro", "sa", "té", "vi", "xo", "zu", "ção"
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Sobrenome formado pelas sílabas dos dígitos de i em base 16: único por registro.
+     */
+    static String sobrenome(long i) {
+        StringBuilder sobrenome = new StringBuilder();
+        long resto = i;
+        do {
+            sobrenome.append(SILABAS[(int) (resto & 15)]);
+            resto >>>= 4;
+        } while (resto > 0);
+        sobrenome.setCharAt(0, Character.toUpperCase(sobrenome.charAt(0)));
+        return sobrenome.toString();
+    }
+
+    static String nome(long i) {
+        return PRIMEIROS_NOMES[(int) (i % PRIMEIROS_NOMES.length)] + " " + sobrenome(i);
+    }
+
+    /**
+     * CPF formatado com dígitos verificadores válidos: a base de 9 dígitos é única por registro.
+     */
+    static String cpf(long i) {
+        String base = String.format("%09d", i + 1_000_000_000L / 3);
+        int primeiro = digitoVerificador(base, 10);
+        int segundo = digitoVerificador(base + primeiro, 11);
+        return base.substring(0, 3) + "." + base.substring(3, 6) + "."
+                + base.substring(6, 9) + "-" + primeiro + segundo;
+    }
+
+    private static int digitoVerificador(String digitos, int pesoInicial) {
+        int soma = 0;
+        for (int i = 0; i < digitos.length(); i++) {
+            soma += (digitos.charAt(i) - '0') * (pesoInicial - i);
+        }
+        int resto = soma * 10 % 11;
+        return resto == 10 ? 0 : resto;
+    }
+
+    static Person person(long i) {
+        Person person = new Person();
+        person.setName(nome(i));
+        person.setCpf(cpf(i));
+        person.setEmail("pessoa" + i + "@email.com");
+        person.setPhone(String.format("(11) 9%04d-%04d", (i / 10_000) % 10_000, i % 10_000));
+        return person;
+    }
+
+    static Pessoa pessoa(long i) {
+        return new Pessoa(i + 1, nome(i),
+                LocalDate.of(1960, 1, 1).plusDays(i % 15_000),
+                LocalDate.of(2000, 1, 1).plusDays(i % 9_000));
+    }
+}
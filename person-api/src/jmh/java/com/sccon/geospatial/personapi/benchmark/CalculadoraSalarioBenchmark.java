@@ -0,0 +1,51 @@
+package com.sccon.geospatial.personapi.benchmark;
+
+import com.sccon.geospatial.personapi.application.service.impl.CalculadoraSalario;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forma fechada com potências pré-calculadas versus o laço ano a ano original.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculadoraSalarioBenchmark {
+
+    @Param({"1", "10", "35", "100"})
+    private long anosEmpresa;
+
+    private final CalculadoraSalario calculadora = new CalculadoraSalario(
+            new BigDecimal("1558.00"), new BigDecimal("0.18"), new BigDecimal("500.00"), new BigDecimal("1302.00"));
+
+    @Benchmark
+    public BigDecimal formaFechadaExata() {
+        return calculadora.salarioCheio(anosEmpresa);
+    }
+
+    @Benchmark
+    public double lacoOriginalDouble() {
+        double salario = 1558.00;
+        for (int i = 0; i < anosEmpresa; i++) {
+            salario = salario + (salario * 0.18) + 500.00;
+        }
+        return Math.round(salario * 100.0) / 100.0;
+    }
+
+    @Benchmark
+    public BigDecimal lacoExatoBigDecimal() {
+        BigDecimal salario = new BigDecimal("1558.00");
+        BigDecimal aumento = new BigDecimal("0.18");
+        BigDecimal fixo = new BigDecimal("500.00");
+        for (int i = 0; i < anosEmpresa; i++) {
+            salario = salario.add(salario.multiply(aumento)).add(fixo);
+        }
+        return salario.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,93 @@
+package com.sccon.geospatial.personapi.benchmark;
+
+import com.sccon.geospatial.personapi.application.dto.PersonResponseDto;
+import com.sccon.geospatial.personapi.application.mapper.PersonMapper;
+import com.sccon.geospatial.personapi.application.usecase.impl.PersonUseCaseImpl;
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.service.impl.PersonServiceImpl;
+import com.sccon.geospatial.personapi.infrastructure.config.ExecutionMode;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carga concorrente sobre o caso de uso nas três estratégias de execução.
+ * O modo SampleTime reporta os percentis (p0.99) além da média; o
+ * parâmetro ioMicros simula a latência de um repositório com I/O bloqueante.
+ * <p>
+ * Cada chamada parte de uma thread virtual, como a requisição com
+ * spring.threads.virtual.enabled: no modo DIRECT o trabalho roda nela, e não
+ * nas threads de plataforma do JMH, que só geram a carga.
+ * <pre>
+ *     mvn -Pbenchmark test-compile exec:exec -Djmh.args="ExecutionModeBenchmark"
+ * </pre>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    private static final int PERSONS = 10_000;
+
+    @Param({"DIRECT", "BOUNDED", "VIRTUAL"})
+    private ExecutionMode mode;
+
+    @Param({"0", "200"})
+    private long ioMicros;
+
+    private Executor executor;
+    private ExecutorService requests;
+    private PersonUseCaseImpl personUseCase;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryPersonRepository repository = new InMemoryPersonRepository() {
+            @Override
+            public Optional<Person> findById(Long id) {
+                if (ioMicros > 0) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(ioMicros));
+                }
+                return super.findById(id);
+            }
+        };
+        for (int i = 0; i < PERSONS; i++) {
+            Person person = new Person();
+            person.setName("Pessoa " + i);
+            person.setCpf(String.format("%011d", i + 1));
+            person.setEmail("pessoa" + i + "@email.com");
+            repository.save(person);
+        }
+
+        executor = mode.createExecutor(32, 1000);
+        requests = Executors.newVirtualThreadPerTaskExecutor();
+        personUseCase = new PersonUseCaseImpl(new PersonServiceImpl(repository), new PersonMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), executor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        requests.close();
+        if (executor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
+    @Benchmark
+    public Optional<PersonResponseDto> findPersonById() throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1, PERSONS + 1);
+        return requests.submit(() -> personUseCase.findPersonById(id).join()).get();
+    }
+}
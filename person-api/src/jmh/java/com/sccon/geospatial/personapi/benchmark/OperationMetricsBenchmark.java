@@ -0,0 +1,70 @@
+package com.sccon.geospatial.personapi.benchmark;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.repository.PersonRepository;
+import com.sccon.geospatial.personapi.infrastructure.metrics.OperationMetrics;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das métricas de operação: a mesma leitura por ID no repositório em memória,
+ * direto e através do proxy de {@link OperationMetrics} (histograma de percentis e,
+ * com {@code clientPercentiles=true}, percentis calculados na aplicação).
+ * Rode com -t 4 para medir a contenção nos medidores compartilhados.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class OperationMetricsBenchmark {
+
+    private static final int SIZE = 100_000;
+    private static final int QUERIES = 1024;
+
+    @Param({"false", "true"})
+    private boolean clientPercentiles;
+
+    private PersonRepository plain;
+    private PersonRepository metered;
+    private final long[] ids = new long[QUERIES];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryPersonRepository repository = new InMemoryPersonRepository();
+        for (int i = 0; i < SIZE; i++) {
+            repository.save(BenchmarkData.person(i));
+        }
+        for (int q = 0; q < QUERIES; q++) {
+            ids[q] = ThreadLocalRandom.current().nextInt(SIZE) + 1L;
+        }
+        plain = repository;
+        metered = OperationMetrics.instrument(new SimpleMeterRegistry(), PersonRepository.class,
+                repository, "repository", "memory", clientPercentiles);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int nextQuery() {
+            return next++ & (QUERIES - 1);
+        }
+    }
+
+    @Benchmark
+    public Optional<Person> findByIdPlain(Cursor cursor) {
+        return plain.findById(ids[cursor.nextQuery()]);
+    }
+
+    @Benchmark
+    public Optional<Person> findByIdMetered(Cursor cursor) {
+        return metered.findById(ids[cursor.nextQuery()]);
+    }
+}
@@ -0,0 +1,81 @@
+package com.sccon.geospatial.personapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sccon.geospatial.personapi.application.dto.PersonRequestDto;
+import com.sccon.geospatial.personapi.application.dto.PersonResponseDto;
+import com.sccon.geospatial.personapi.application.mapper.PersonMapper;
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.service.impl.PersonServiceImpl;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por requisição fora do repositório: validação de domínio e Bean Validation,
+ * mapeamento de DTOs e serialização JSON da resposta.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonHotPathBenchmark {
+
+    private final PersonServiceImpl personService = new PersonServiceImpl(new InMemoryPersonRepository());
+    private final PersonMapper personMapper = new PersonMapper();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private Person person;
+    private PersonRequestDto requestDto;
+    private PersonResponseDto responseDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        person = BenchmarkData.person(42);
+        person.setId(43L);
+        person.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        person.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 12, 0));
+
+        requestDto = new PersonRequestDto();
+        requestDto.setName(person.getName());
+        requestDto.setCpf(person.getCpf());
+        requestDto.setEmail(person.getEmail());
+        requestDto.setPhone(person.getPhone());
+
+        responseDto = personMapper.toResponseDto(person);
+    }
+
+    @Benchmark
+    public Person validatePerson() {
+        personService.validatePerson(person);
+        return person;
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PersonRequestDto>> beanValidation() {
+        return validator.validate(requestDto);
+    }
+
+    @Benchmark
+    public Person mapToEntity() {
+        return personMapper.toEntity(requestDto);
+    }
+
+    @Benchmark
+    public PersonResponseDto mapToResponseDto() {
+        return personMapper.toResponseDto(person);
+    }
+
+    @Benchmark
+    public byte[] serializeResponseDto() throws Exception {
+        return objectMapper.writeValueAsBytes(responseDto);
+    }
+}
@@ -0,0 +1,54 @@
+package com.sccon.geospatial.personapi.benchmark;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.persistence.FsyncMode;
+import com.sccon.geospatial.personapi.infrastructure.repository.persistence.PersonDurabilityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latência de save com o log de escrita ligado, por modo de fsync, com escritores concorrentes.
+ * SampleTime reporta os percentis; o diretório do log fica em java.io.tmpdir.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonJournalBenchmark {
+
+    @Param({"EVERY_WRITE", "GROUP", "ASYNC"})
+    private FsyncMode fsync;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private Path directory;
+    private PersonDurabilityManager manager;
+    private InMemoryPersonRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("person-wal-benchmark");
+        repository = new InMemoryPersonRepository();
+        manager = new PersonDurabilityManager(repository, directory, fsync, 100, 50, 0);
+        manager.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        manager.stop();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Person save() {
+        return repository.save(BenchmarkData.person(sequence.getAndIncrement()));
+    }
+}
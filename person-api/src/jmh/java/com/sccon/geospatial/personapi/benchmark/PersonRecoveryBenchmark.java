@@ -0,0 +1,65 @@
+package com.sccon.geospatial.personapi.benchmark;
+
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.persistence.FsyncMode;
+import com.sccon.geospatial.personapi.infrastructure.repository.persistence.PersonDurabilityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de recuperação na inicialização: carga paralela do snapshot mais a
+ * reconstrução dos índices do repositório. Para 10M de registros:
+ * -p rows=10000000 -jvmArgsAppend -Xmx24g
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class PersonRecoveryBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private Path directory;
+    private PersonDurabilityManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("person-recovery-benchmark");
+        InMemoryPersonRepository repository = new InMemoryPersonRepository();
+        PersonDurabilityManager writer = new PersonDurabilityManager(repository, directory, FsyncMode.ASYNC, 0, 50, 0);
+        writer.start();
+        for (int i = 0; i < rows; i++) {
+            repository.save(BenchmarkData.person(i));
+        }
+        writer.snapshot();
+        writer.stop();
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeRecovered() throws Exception {
+        if (manager != null) {
+            manager.stop();
+            manager = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileSystemUtils.deleteRecursively(directory.toFile());
+    }
+
+    @Benchmark
+    public InMemoryPersonRepository recover() throws Exception {
+        InMemoryPersonRepository repository = new InMemoryPersonRepository();
+        manager = new PersonDurabilityManager(repository, directory, FsyncMode.GROUP, 100, 50, 0);
+        manager.start();
+        return repository;
+    }
+}
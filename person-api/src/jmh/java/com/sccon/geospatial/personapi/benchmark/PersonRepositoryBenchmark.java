@@ -0,0 +1,68 @@
+package com.sccon.geospatial.personapi.benchmark;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leituras do InMemoryPersonRepository por ID, CPF e nome em função do tamanho da base.
+ * Para 10M de registros: -p size=10000000 -jvmArgsAppend -Xmx16g
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PersonRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    // Chaves de busca pré-calculadas, para que o benchmark não meça a formatação delas
+    private static final int QUERIES = 1024;
+
+    private InMemoryPersonRepository repository;
+    private final long[] ids = new long[QUERIES];
+    private final String[] cpfs = new String[QUERIES];
+    private final String[] sobrenomes = new String[QUERIES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryPersonRepository();
+        for (int i = 0; i < size; i++) {
+            repository.save(BenchmarkData.person(i));
+        }
+        for (int q = 0; q < QUERIES; q++) {
+            int i = ThreadLocalRandom.current().nextInt(size);
+            ids[q] = i + 1L;
+            cpfs[q] = BenchmarkData.cpf(i);
+            sobrenomes[q] = BenchmarkData.sobrenome(i);
+        }
+    }
+
+    private int nextQuery() {
+        return next++ & (QUERIES - 1);
+    }
+
+    @Benchmark
+    public Optional<Person> findById() {
+        return repository.findById(ids[nextQuery()]);
+    }
+
+    @Benchmark
+    public Optional<Person> findByCpf() {
+        return repository.findByCpf(cpfs[nextQuery()]);
+    }
+
+    @Benchmark
+    public List<Person> findByNameContaining() {
+        return repository.findByNameContainingIgnoreCase(sobrenomes[nextQuery()]);
+    }
+}
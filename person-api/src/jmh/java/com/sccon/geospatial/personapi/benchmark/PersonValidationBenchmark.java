@@ -0,0 +1,87 @@
+package com.sccon.geospatial.personapi.benchmark;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.validation.PersonValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de domínio de uma pessoa: a implementação anterior, com regex e
+ * {@code replaceAll} (copiada aqui como referência), contra o {@link PersonValidator}
+ * em passada única. Compare também gc.alloc.rate.norm: a passada única não aloca.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersonValidationBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final Person[] persons = new Person[SIZE];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < SIZE; i++) {
+            persons[i] = BenchmarkData.person(i);
+        }
+    }
+
+    @Benchmark
+    public String regex() {
+        return LegacyValidation.firstViolation(persons[next++ & (SIZE - 1)]);
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return PersonValidator.firstViolation(persons[next++ & (SIZE - 1)]);
+    }
+
+    /**
+     * Regras como eram em PersonServiceImpl.validatePerson e Person.isValidCpf,
+     * sem a conferência dos dígitos verificadores.
+     */
+    static final class LegacyValidation {
+
+        private LegacyValidation() {
+        }
+
+        static String firstViolation(Person person) {
+            if (person.getName() == null || person.getName().trim().isEmpty()) {
+                return "Nome é obrigatório";
+            }
+            if (person.getName().trim().length() < 2) {
+                return "Nome deve ter pelo menos 2 caracteres";
+            }
+            if (person.getName().trim().length() > 100) {
+                return "Nome deve ter no máximo 100 caracteres";
+            }
+            if (person.getCpf() == null || person.getCpf().trim().isEmpty()) {
+                return "CPF é obrigatório";
+            }
+            if (!isValidCpf(person.getCpf())) {
+                return "CPF inválido";
+            }
+            if (person.getEmail() != null && !person.getEmail().trim().isEmpty()
+                    && !person.getEmail().matches("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$")) {
+                return "Email inválido";
+            }
+            if (person.getPhone() != null && !person.getPhone().trim().isEmpty()) {
+                String cleanPhone = person.getPhone().replaceAll("[^0-9]", "");
+                if (cleanPhone.length() < 10 || cleanPhone.length() > 11) {
+                    return "Telefone inválido";
+                }
+            }
+            return null;
+        }
+
+        private static boolean isValidCpf(String cpf) {
+            String cleanCpf = cpf.replaceAll("[^0-9]", "");
+            return cleanCpf.length() == 11 && !cleanCpf.matches("(\\d)\\1{10}");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sccon.geospatial.personapi.benchmark;
+
+import com.sccon.geospatial.personapi.domain.model.Pessoa;
+import com.sccon.geospatial.personapi.domain.repository.PessoaRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.ColumnarPessoaRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPessoaRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listagem completa ordenada por nome (GET /person), varredura paginada por ID e consulta
+ * por intervalo de nascimento (uma semana), em função do tamanho da base e do armazenamento
+ * (mapa de objetos com índice ordenado ou colunar com varredura).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PessoaRepositoryBenchmark {
+
+    // BenchmarkData distribui os nascimentos em 15 mil dias a partir de 1960-01-01
+    private static final LocalDate SEMANA_INICIO = LocalDate.of(1960, 4, 10);
+    private static final LocalDate SEMANA_FIM = SEMANA_INICIO.plusDays(6);
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"map", "columnar"})
+    private String storage;
+
+    private PessoaRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = "columnar".equals(storage) ? new ColumnarPessoaRepository() : new InMemoryPessoaRepository();
+        for (int i = 0; i < size; i++) {
+            repository.save(BenchmarkData.pessoa(i));
+        }
+    }
+
+    @Benchmark
+    public List<Pessoa> findAllOrderByNome() {
+        return repository.findAllOrderByNome();
+    }
+
+    @Benchmark
+    public List<Pessoa> findBornInOneWeek() {
+        return repository.findByDataNascimentoBetween(SEMANA_INICIO, SEMANA_FIM);
+    }
+
+    @Benchmark
+    public long scanByIdPages() {
+        long total = 0;
+        Long after = null;
+        List<Pessoa> page;
+        while (!(page = repository.findPageAfterId(after, 1000)).isEmpty()) {
+            total += page.size();
+            after = page.get(page.size() - 1).getId();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,83 @@
+package com.sccon.geospatial.personapi.benchmark;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.model.Pessoa;
+import com.sccon.geospatial.personapi.domain.service.impl.PersonServiceImpl;
+import com.sccon.geospatial.personapi.infrastructure.repository.ColumnarPessoaRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPessoaRepository;
+import com.sccon.geospatial.personapi.infrastructure.seed.PersonSeedLoader;
+import com.sccon.geospatial.personapi.infrastructure.seed.PessoaSeedLoader;
+import com.sccon.geospatial.personapi.infrastructure.seed.SeedResult;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga inicial a partir de CSV mapeado: conversão e validação paralelas por trecho
+ * mais a gravação em lote nos repositórios em memória. Registros por segundo =
+ * rows / tempo medido.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class SeedLoaderBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private Path directory;
+    private Path personsFile;
+    private Path pessoasFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("seed-loader-benchmark");
+        personsFile = directory.resolve("persons.csv");
+        pessoasFile = directory.resolve("pessoas.csv");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(personsFile, StandardCharsets.UTF_8)) {
+            writer.write("name,cpf,phone,email\n");
+            for (int i = 0; i < rows; i++) {
+                Person person = BenchmarkData.person(i);
+                writer.write(person.getName() + "," + person.getCpf() + "," + person.getPhone() + "," + person.getEmail() + "\n");
+            }
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(pessoasFile, StandardCharsets.UTF_8)) {
+            writer.write("id,nome,dataNascimento,dataAdmissao\n");
+            for (int i = 0; i < rows; i++) {
+                Pessoa pessoa = BenchmarkData.pessoa(i);
+                writer.write(pessoa.getId() + "," + pessoa.getNome() + "," + pessoa.getDataNascimento() + "," + pessoa.getDataAdmissao() + "\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileSystemUtils.deleteRecursively(directory.toFile());
+    }
+
+    @Benchmark
+    public SeedResult loadPersons() throws Exception {
+        InMemoryPersonRepository repository = new InMemoryPersonRepository();
+        return new PersonSeedLoader(repository, new PersonServiceImpl(repository)).load(personsFile);
+    }
+
+    @Benchmark
+    public SeedResult loadPessoasMap() throws Exception {
+        return new PessoaSeedLoader(new InMemoryPessoaRepository()).load(pessoasFile);
+    }
+
+    @Benchmark
+    public SeedResult loadPessoasColumnar() throws Exception {
+        return new PessoaSeedLoader(new ColumnarPessoaRepository()).load(pessoasFile);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sccon.geospatial.personapi.benchmark;
+
+import com.sccon.geospatial.personapi.application.dto.SimulacaoFolhaResponseDto;
+import com.sccon.geospatial.personapi.application.service.impl.CalculadoraSalario;
+import com.sccon.geospatial.personapi.application.service.impl.SimuladorFolha;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulação da folha sobre o array de admissões: histograma de anos de empresa com a contagem
+ * escalar ou vetorial, versus o cálculo pessoa a pessoa que {@code GET /person/{id}/salary}
+ * faz (anos de empresa por {@code ChronoUnit} e salário exato).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimuladorFolhaBenchmark {
+
+    private static final LocalDate HOJE = LocalDate.of(2026, 1, 15);
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"escalar", "vetorial"})
+    private String contagem;
+
+    private final CalculadoraSalario calculadora = new CalculadoraSalario(
+            new BigDecimal("1558.00"), new BigDecimal("0.15"), new BigDecimal("500.00"), new BigDecimal("1302.00"));
+
+    private int[] admissoes;
+    private SimuladorFolha simulador;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        admissoes = new int[size];
+        for (int i = 0; i < size; i++) {
+            admissoes[i] = (int) BenchmarkData.pessoa(i).getDataAdmissao().toEpochDay();
+        }
+        simulador = new SimuladorFolha("vetorial".equals(contagem));
+    }
+
+    @Benchmark
+    public long[] contarPorAnosEmpresa() {
+        return simulador.contarPorAnosEmpresa(admissoes, HOJE);
+    }
+
+    @Benchmark
+    public SimulacaoFolhaResponseDto simular() {
+        return simulador.simular(admissoes, HOJE, calculadora);
+    }
+
+    /**
+     * Referência: uma chamada de salário por pessoa, somada. Independe da contagem escolhida.
+     */
+    @Benchmark
+    public BigDecimal salarioPorPessoa() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int admissao : admissoes) {
+            total = total.add(calculadora.salarioCheio(ChronoUnit.YEARS.between(LocalDate.ofEpochDay(admissao), HOJE)));
+        }
+        return total;
+    }
+}
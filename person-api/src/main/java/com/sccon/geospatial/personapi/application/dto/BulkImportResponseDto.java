@@ -0,0 +1,51 @@
+package com.sccon.geospatial.personapi.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResponseDto {
+
+    private long received;
+    private long imported;
+    private long failed;
+    private List<BulkImportErrorDto> errors = new ArrayList<>();
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkImportErrorDto> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkImportErrorDto> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,62 @@
+package com.sccon.geospatial.personapi.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Pessoas com o mesmo tempo de empresa: todas recebem {@code salario}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FaixaFolhaDto {
+
+    private long anosEmpresa;
+    private long pessoas;
+    private BigDecimal salario;
+    private BigDecimal salariosMinimos;
+    private BigDecimal total;
+
+    public long getAnosEmpresa() {
+        return anosEmpresa;
+    }
+
+    public void setAnosEmpresa(long anosEmpresa) {
+        this.anosEmpresa = anosEmpresa;
+    }
+
+    public long getPessoas() {
+        return pessoas;
+    }
+
+    public void setPessoas(long pessoas) {
+        this.pessoas = pessoas;
+    }
+
+    public BigDecimal getSalario() {
+        return salario;
+    }
+
+    public void setSalario(BigDecimal salario) {
+        this.salario = salario;
+    }
+
+    public BigDecimal getSalariosMinimos() {
+        return salariosMinimos;
+    }
+
+    public void setSalariosMinimos(BigDecimal salariosMinimos) {
+        this.salariosMinimos = salariosMinimos;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+}
@@ -0,0 +1,41 @@
+package com.sccon.geospatial.personapi.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonStatsResponseDto {
+
+    private long total;
+    private Map<String, Long> byEmailDomain;
+    private Map<String, Long> byAreaCode;
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getByEmailDomain() {
+        return byEmailDomain;
+    }
+
+    public void setByEmailDomain(Map<String, Long> byEmailDomain) {
+        this.byEmailDomain = byEmailDomain;
+    }
+
+    public Map<String, Long> getByAreaCode() {
+        return byAreaCode;
+    }
+
+    public void setByAreaCode(Map<String, Long> byAreaCode) {
+        this.byAreaCode = byAreaCode;
+    }
+}
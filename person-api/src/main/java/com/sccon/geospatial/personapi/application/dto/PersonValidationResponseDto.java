@@ -0,0 +1,51 @@
+package com.sccon.geospatial.personapi.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonValidationResponseDto {
+
+    private long received;
+    private long valid;
+    private long invalid;
+    private List<BulkImportErrorDto> errors = new ArrayList<>();
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getValid() {
+        return valid;
+    }
+
+    public void setValid(long valid) {
+        this.valid = valid;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public void setInvalid(long invalid) {
+        this.invalid = invalid;
+    }
+
+    public List<BulkImportErrorDto> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkImportErrorDto> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,121 @@
+package com.sccon.geospatial.personapi.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folha de pagamento simulada com os parâmetros informados, no formato {@code full} de
+ * {@code GET /person/{id}/salary}. Salários em reais; percentis pelo posto mais próximo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulacaoFolhaResponseDto {
+
+    private BigDecimal salarioInicial;
+    private BigDecimal aumentoPorcentagem;
+    private BigDecimal aumentoFixo;
+    private BigDecimal salarioMinimo;
+    private long pessoas;
+    private BigDecimal totalFolha;
+    private BigDecimal salarioMedio;
+    private BigDecimal menorSalario;
+    private BigDecimal maiorSalario;
+    private Map<String, BigDecimal> percentis = new LinkedHashMap<>();
+    private List<FaixaFolhaDto> distribuicao = new ArrayList<>();
+
+    public BigDecimal getSalarioInicial() {
+        return salarioInicial;
+    }
+
+    public void setSalarioInicial(BigDecimal salarioInicial) {
+        this.salarioInicial = salarioInicial;
+    }
+
+    public BigDecimal getAumentoPorcentagem() {
+        return aumentoPorcentagem;
+    }
+
+    public void setAumentoPorcentagem(BigDecimal aumentoPorcentagem) {
+        this.aumentoPorcentagem = aumentoPorcentagem;
+    }
+
+    public BigDecimal getAumentoFixo() {
+        return aumentoFixo;
+    }
+
+    public void setAumentoFixo(BigDecimal aumentoFixo) {
+        this.aumentoFixo = aumentoFixo;
+    }
+
+    public BigDecimal getSalarioMinimo() {
+        return salarioMinimo;
+    }
+
+    public void setSalarioMinimo(BigDecimal salarioMinimo) {
+        this.salarioMinimo = salarioMinimo;
+    }
+
+    public long getPessoas() {
+        return pessoas;
+    }
+
+    public void setPessoas(long pessoas) {
+        this.pessoas = pessoas;
+    }
+
+    public BigDecimal getTotalFolha() {
+        return totalFolha;
+    }
+
+    public void setTotalFolha(BigDecimal totalFolha) {
+        this.totalFolha = totalFolha;
+    }
+
+    public BigDecimal getSalarioMedio() {
+        return salarioMedio;
+    }
+
+    public void setSalarioMedio(BigDecimal salarioMedio) {
+        this.salarioMedio = salarioMedio;
+    }
+
+    public BigDecimal getMenorSalario() {
+        return menorSalario;
+    }
+
+    public void setMenorSalario(BigDecimal menorSalario) {
+        this.menorSalario = menorSalario;
+    }
+
+    public BigDecimal getMaiorSalario() {
+        return maiorSalario;
+    }
+
+    public void setMaiorSalario(BigDecimal maiorSalario) {
+        this.maiorSalario = maiorSalario;
+    }
+
+    public Map<String, BigDecimal> getPercentis() {
+        return percentis;
+    }
+
+    public void setPercentis(Map<String, BigDecimal> percentis) {
+        this.percentis = percentis;
+    }
+
+    public List<FaixaFolhaDto> getDistribuicao() {
+        return distribuicao;
+    }
+
+    public void setDistribuicao(List<FaixaFolhaDto> distribuicao) {
+        this.distribuicao = distribuicao;
+    }
+}
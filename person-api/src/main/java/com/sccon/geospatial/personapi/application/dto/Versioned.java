@@ -0,0 +1,17 @@
+package com.sccon.geospatial.personapi.application.dto;
+
+/**
+ * Resposta de uma leitura condicional: a versão da entidade e o corpo já mapeado,
+ * ou corpo null quando o cliente já tem essa versão. {@code version} é null quando a
+ * entidade não tem versão (registros gravados antes dela existir).
+ */
+public record Versioned<T>(Long version, T body) {
+
+    public static <T> Versioned<T> notModified(Long version) {
+        return new Versioned<>(version, null);
+    }
+
+    public boolean isNotModified() {
+        return body == null;
+    }
+}
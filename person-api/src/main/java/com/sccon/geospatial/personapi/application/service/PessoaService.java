@@ -1,14 +1,22 @@
 package com.sccon.geospatial.personapi.application.service;
 
+import com.sccon.geospatial.personapi.domain.exception.VersionConflictException;
+import com.sccon.geospatial.personapi.application.dto.SimulacaoFolhaResponseDto;
 import com.sccon.geospatial.personapi.domain.model.Pessoa;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 public interface PessoaService {
 
     List<Pessoa> listarTodasOrdenadasPorNome();
 
+    List<Pessoa> listarPagina(Long aposId, int limite);
+
     Optional<Pessoa> buscarPorId(Long id);
 
     Pessoa criarPessoa(Pessoa pessoa);
@@ -17,9 +25,74 @@ public interface PessoaService {
 
     Pessoa atualizarPessoa(Long id, Pessoa pessoa);
 
+    /**
+     * Substitui os dados da pessoa com troca condicional, relendo e tentando de novo (até um
+     * limite) quando outra escrita chega antes; a pessoa gravada nunca é alterada no lugar.
+     *
+     * @param versaoEsperada precondição do {@code If-Match} sobre a versão atual; null aceita qualquer versão
+     * @throws VersionConflictException se a versão atual não atende à precondição
+     */
+    Pessoa atualizarPessoa(Long id, Pessoa pessoa, Predicate<Long> versaoEsperada);
+
     Pessoa atualizarAtributoPessoa(Long id, String atributo, Object valor);
 
+    /**
+     * Aplica um JSON Merge Patch (RFC 7386) numa única leitura e escrita condicional, como em
+     * {@link #atualizarPessoa(Long, Pessoa, Predicate)}. Datas aceitam LocalDate ou texto
+     * yyyy-MM-dd; um patch vazio devolve a pessoa atual sem gravar.
+     *
+     * @throws IllegalArgumentException se o patch é inválido, antes de qualquer leitura
+     */
+    Pessoa atualizarAtributosPessoa(Long id, Map<String, Object> atributos, Predicate<Long> versaoEsperada);
+
     long calcularIdade(Long id, String formato);
 
+    /**
+     * Pessoas nascidas entre {@code de} e {@code ate}, inclusive, em ordem de nascimento;
+     * um limite nulo deixa aquele lado aberto.
+     */
+    List<Pessoa> listarPorNascimento(LocalDate de, LocalDate ate);
+
+    /**
+     * Pessoas admitidas entre {@code de} e {@code ate}, inclusive, em ordem de admissão;
+     * um limite nulo deixa aquele lado aberto.
+     */
+    List<Pessoa> listarPorAdmissao(LocalDate de, LocalDate ate);
+
+    /**
+     * Pessoas com idade entre {@code idadeMinima} e {@code idadeMaxima}, inclusive, no formato
+     * de {@link #calcularIdade(Long, String)}, em ordem de nascimento; um limite nulo deixa
+     * aquele lado aberto.
+     */
+    List<Pessoa> listarPorIdade(Long idadeMinima, Long idadeMaxima, String formato);
+
+    /**
+     * Aniversariantes do mês (1 a 12), em ordem de dia.
+     */
+    List<Pessoa> listarAniversariantes(int mes);
+
     double calcularSalario(Long id, String formato);
+
+    /**
+     * Reconstrói em paralelo a visão materializada de idade e salário para o dia corrente;
+     * {@link #calcularIdade(Long, String)} e {@link #calcularSalario(Long, String)} passam a
+     * responder dela até a próxima virada do dia. Escritas atualizam a visão incrementalmente.
+     *
+     * @return quantidade de pessoas na visão
+     */
+    int recalcularIndicadores();
+
+    /**
+     * Folha de pagamento de todas as pessoas com parâmetros alternativos aos do cálculo de
+     * {@link #calcularSalario(Long, String)}; um parâmetro nulo mantém o valor atual.
+     *
+     * @throws IllegalArgumentException se algum parâmetro é inválido
+     */
+    SimulacaoFolhaResponseDto simularFolha(BigDecimal salarioInicial, BigDecimal aumentoPorcentagem,
+                                           BigDecimal aumentoFixo, BigDecimal salarioMinimo);
+
+    /**
+     * Contador de escritas do repositório; muda sempre que alguma pessoa muda.
+     */
+    long contarModificacoes();
 }
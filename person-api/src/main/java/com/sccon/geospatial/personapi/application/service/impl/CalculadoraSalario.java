@@ -0,0 +1,89 @@
+package com.sccon.geospatial.personapi.application.service.impl;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Cálculo exato do salário pela forma fechada da recorrência
+ * s(n) = s(n-1) * (1 + p) + f, com s(0) = salário inicial:
+ * <pre>
+ *     s(n) = s0 * (1 + p)^n + f * ((1 + p)^n - 1) / p
+ * </pre>
+ * As potências e somas geométricas dos primeiros anos são pré-calculadas e exatas, então
+ * o custo não cresce com o tempo de empresa e não há deriva de arredondamento. Além delas, o
+ * cálculo usa precisão fixa de {@value #DIGITOS_ALEM_DA_TABELA} dígitos, para que o custo não
+ * cresça com o tempo de empresa; o tempo de empresa é limitado a {@value #ANOS_MAXIMOS} anos.
+ */
+public final class CalculadoraSalario {
+
+    private static final int ANOS_PRE_CALCULADOS = 100;
+    // Cobre a simulação de folha (~2.870 anos); mais que isso é data de admissão inválida
+    private static final int ANOS_MAXIMOS = 10_000;
+    private static final int DIGITOS_ALEM_DA_TABELA = 64;
+    private static final MathContext PRECISAO_ALEM_DA_TABELA = new MathContext(DIGITOS_ALEM_DA_TABELA);
+
+    private final BigDecimal salarioInicial;
+    private final BigDecimal aumentoPorcentagem;
+    private final BigDecimal aumentoFixo;
+    private final BigDecimal salarioMinimo;
+    private final BigDecimal fator;
+
+    // potencias[n] = (1 + p)^n; somas[n] = (1 + p)^0 + ... + (1 + p)^(n-1)
+    private final BigDecimal[] potencias = new BigDecimal[ANOS_PRE_CALCULADOS + 1];
+    private final BigDecimal[] somas = new BigDecimal[ANOS_PRE_CALCULADOS + 1];
+
+    public CalculadoraSalario(BigDecimal salarioInicial, BigDecimal aumentoPorcentagem,
+                              BigDecimal aumentoFixo, BigDecimal salarioMinimo) {
+        this.salarioInicial = salarioInicial;
+        this.aumentoPorcentagem = aumentoPorcentagem;
+        this.aumentoFixo = aumentoFixo;
+        this.salarioMinimo = salarioMinimo;
+        this.fator = BigDecimal.ONE.add(aumentoPorcentagem);
+
+        potencias[0] = BigDecimal.ONE;
+        somas[0] = BigDecimal.ZERO;
+        for (int n = 1; n <= ANOS_PRE_CALCULADOS; n++) {
+            potencias[n] = potencias[n - 1].multiply(fator);
+            somas[n] = somas[n - 1].add(potencias[n - 1]);
+        }
+    }
+
+    /**
+     * Salário após os anos de empresa informados, exato até {@value #ANOS_PRE_CALCULADOS} anos.
+     * Anos negativos (admissão futura) são tratados como zero.
+     *
+     * @throws IllegalArgumentException se o tempo de empresa passar de {@value #ANOS_MAXIMOS} anos
+     */
+    public BigDecimal salario(long anosEmpresa) {
+        if (anosEmpresa > ANOS_MAXIMOS) {
+            throw new IllegalArgumentException("Tempo de empresa de " + anosEmpresa
+                    + " anos fora do limite de " + ANOS_MAXIMOS + " anos");
+        }
+        int anos = (int) Math.max(0, anosEmpresa);
+        return salarioInicial.multiply(potencia(anos)).add(aumentoFixo.multiply(somaGeometrica(anos)));
+    }
+
+    public BigDecimal salarioCheio(long anosEmpresa) {
+        return salario(anosEmpresa).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal salariosMinimos(long anosEmpresa) {
+        return salario(anosEmpresa).divide(salarioMinimo, 2, RoundingMode.CEILING);
+    }
+
+    private BigDecimal potencia(int anos) {
+        return anos <= ANOS_PRE_CALCULADOS ? potencias[anos] : fator.pow(anos, PRECISAO_ALEM_DA_TABELA);
+    }
+
+    private BigDecimal somaGeometrica(int anos) {
+        if (anos <= ANOS_PRE_CALCULADOS) {
+            return somas[anos];
+        }
+        if (aumentoPorcentagem.signum() == 0) {
+            return BigDecimal.valueOf(anos);
+        }
+        return fator.pow(anos, PRECISAO_ALEM_DA_TABELA).subtract(BigDecimal.ONE, PRECISAO_ALEM_DA_TABELA)
+                .divide(aumentoPorcentagem, PRECISAO_ALEM_DA_TABELA);
+    }
+}
@@ -0,0 +1,34 @@
+package com.sccon.geospatial.personapi.application.service.impl;
+
+/**
+ * Conta admissões por anos completos de empresa, com o mesmo resultado de
+ * {@code ChronoUnit.YEARS.between(admissao, hoje)} (admissões futuras contam como zero).
+ * <p>
+ * {@code anosPorDias[d]} são os anos de empresa de quem foi admitido {@code d} dias antes de
+ * {@code hoje}; toda admissão contada está a menos de {@code anosPorDias.length} dias de hoje.
+ */
+interface ContagemAnosEmpresa {
+
+    // Cópias intercaladas do histograma: admissões vizinhas costumam cair no mesmo ano, e
+    // incrementos seguidos no mesmo contador esperam um pelo outro (a leitura depende da escrita)
+    int COPIAS_BITS = 2;
+    int COPIAS = 1 << COPIAS_BITS;
+
+    /**
+     * Soma em {@code contagem[k]} as admissões de {@code admissoes[de, ate)} com k anos de empresa.
+     */
+    void contar(int[] admissoes, int de, int ate, int hoje, int[] anosPorDias, long[] contagem);
+
+    /**
+     * Soma as cópias intercaladas ({@code parciais[(k << COPIAS_BITS) | c]}) em {@code contagem[k]}.
+     */
+    static void somarCopias(long[] parciais, long[] contagem) {
+        for (int k = 0; k < contagem.length; k++) {
+            long total = 0;
+            for (int c = 0; c < COPIAS; c++) {
+                total += parciais[(k << COPIAS_BITS) | c];
+            }
+            contagem[k] += total;
+        }
+    }
+}
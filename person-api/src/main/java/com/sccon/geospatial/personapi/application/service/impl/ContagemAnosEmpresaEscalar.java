@@ -0,0 +1,21 @@
+package com.sccon.geospatial.personapi.application.service.impl;
+
+/**
+ * Contagem uma admissão por vez; usada quando o módulo {@code jdk.incubator.vector} não está
+ * carregado e no resto das fatias que não enchem um vetor.
+ */
+final class ContagemAnosEmpresaEscalar implements ContagemAnosEmpresa {
+
+    @Override
+    public void contar(int[] admissoes, int de, int ate, int hoje, int[] anosPorDias, long[] contagem) {
+        long[] parciais = new long[contagem.length << COPIAS_BITS];
+        for (int i = de; i < ate; i++) {
+            parciais[(anos(admissoes[i], hoje, anosPorDias) << COPIAS_BITS) | (i & (COPIAS - 1))]++;
+        }
+        ContagemAnosEmpresa.somarCopias(parciais, contagem);
+    }
+
+    static int anos(int admissao, int hoje, int[] anosPorDias) {
+        return anosPorDias[Math.max(0, hoje - admissao)];
+    }
+}
@@ -0,0 +1,39 @@
+package com.sccon.geospatial.personapi.application.service.impl;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Contagem com a Vector API: dias desde a admissão e busca na tabela (gather) numa faixa de
+ * admissões por vez; só o incremento do histograma fica escalar. Carregada apenas quando o
+ * módulo {@code jdk.incubator.vector} está presente.
+ */
+final class ContagemAnosEmpresaVetorial implements ContagemAnosEmpresa {
+
+    private static final VectorSpecies<Integer> ESPECIE = IntVector.SPECIES_PREFERRED;
+
+    static int faixas() {
+        return ESPECIE.length();
+    }
+
+    @Override
+    public void contar(int[] admissoes, int de, int ate, int hoje, int[] anosPorDias, long[] contagem) {
+        IntVector hojes = IntVector.broadcast(ESPECIE, hoje);
+        int[] porFaixa = new int[ESPECIE.length()];
+        long[] parciais = new long[contagem.length << COPIAS_BITS];
+
+        int i = de;
+        for (int fim = de + ESPECIE.loopBound(ate - de); i < fim; i += ESPECIE.length()) {
+            hojes.sub(IntVector.fromArray(ESPECIE, admissoes, i)).max(0).intoArray(porFaixa, 0);
+            IntVector.fromArray(ESPECIE, anosPorDias, 0, porFaixa, 0).intoArray(porFaixa, 0);
+
+            for (int faixa = 0; faixa < porFaixa.length; faixa++) {
+                parciais[(porFaixa[faixa] << COPIAS_BITS) | (faixa & (COPIAS - 1))]++;
+            }
+        }
+        for (; i < ate; i++) {
+            parciais[ContagemAnosEmpresaEscalar.anos(admissoes[i], hoje, anosPorDias) << COPIAS_BITS]++;
+        }
+        ContagemAnosEmpresa.somarCopias(parciais, contagem);
+    }
+}
@@ -0,0 +1,200 @@
+package com.sccon.geospatial.personapi.application.service.impl;
+
+import com.sccon.geospatial.personapi.domain.model.Pessoa;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Visão materializada de idade, tempo de empresa e salário de cada pessoa, válida para um dia.
+ * Os valores só mudam na virada do dia ou quando a pessoa é gravada: a virada reconstrói a
+ * visão inteira em paralelo e cada escrita atualiza só a entrada da pessoa.
+ * <p>
+ * Cada entrada guarda o dia em que foi calculada e só é devolvida nesse dia; uma entrada
+ * antiga ou ausente vira {@code null}, e quem consulta recalcula a partir do repositório.
+ * Uma remoção deixa uma marca que nenhuma escrita atrasada da mesma pessoa sobrepõe; ela
+ * também vira {@code null} e some na reconstrução seguinte.
+ */
+@Slf4j
+public final class IndicadoresPessoas {
+
+    /**
+     * Indicadores de uma versão da pessoa no {@code dia}, com os mesmos cálculos feitos por requisição.
+     */
+    public record Indicadores(LocalDate dia, long versao, long idadeDias, long idadeMeses, long idadeAnos,
+                              long anosEmpresa, double salarioCheio, double salariosMinimos) {
+
+        public long idade(ChronoUnit unidade) {
+            return switch (unidade) {
+                case DAYS -> idadeDias;
+                case MONTHS -> idadeMeses;
+                case YEARS -> idadeAnos;
+                default -> throw new IllegalArgumentException("Unidade de idade não suportada: " + unidade);
+            };
+        }
+    }
+
+    /**
+     * Escrita recebida durante uma reconstrução; pessoa nula indica remoção.
+     */
+    private record Escrita(Pessoa pessoa, long versao) {
+
+        static Escrita de(Pessoa pessoa) {
+            return new Escrita(pessoa, pessoa.getVersao() == null ? 0L : pessoa.getVersao());
+        }
+    }
+
+    // Marca de remoção: a versão máxima faz qualquer escrita atrasada da pessoa ser descartada
+    private static final Indicadores REMOVIDA = new Indicadores(null, Long.MAX_VALUE, 0, 0, 0, 0, 0, 0);
+    private static final Escrita REMOCAO = new Escrita(null, Long.MAX_VALUE);
+
+    private final CalculadoraSalario calculadora;
+
+    private volatile ConcurrentMap<Long, Indicadores> porId = new ConcurrentHashMap<>();
+
+    // Escritas feitas durante uma reconstrução, reaplicadas no mapa novo antes da troca
+    private final ConcurrentMap<Long, Escrita> pendentes = new ConcurrentHashMap<>();
+    private boolean reconstruindo;
+
+    // Escritas tomam a leitura e seguem em paralelo, cada uma na sua entrada; a reconstrução
+    // toma a escrita só para ligar o registro de pendentes e para trocar o mapa
+    private final ReadWriteLock troca = new ReentrantReadWriteLock();
+
+    // Serializa reconstruções concorrentes (agendada e manual)
+    private final Object reconstrucao = new Object();
+
+    public IndicadoresPessoas(CalculadoraSalario calculadora) {
+        this.calculadora = calculadora;
+    }
+
+    /**
+     * @return os indicadores da pessoa calculados em {@code hoje}, ou null se ainda não
+     *         foram calculados para esse dia ou se a pessoa foi removida
+     */
+    public Indicadores buscar(Long id, LocalDate hoje) {
+        Indicadores indicadores = porId.get(id);
+        return indicadores != null && hoje.equals(indicadores.dia()) ? indicadores : null;
+    }
+
+    /**
+     * Calcula os indicadores da pessoa em {@code hoje}; null se faltar alguma das datas.
+     */
+    public Indicadores calcular(Pessoa pessoa, LocalDate hoje) {
+        LocalDate nascimento = pessoa.getDataNascimento();
+        LocalDate admissao = pessoa.getDataAdmissao();
+        if (nascimento == null || admissao == null) {
+            return null;
+        }
+        long anosEmpresa = ChronoUnit.YEARS.between(admissao, hoje);
+        return new Indicadores(hoje, pessoa.getVersao() == null ? 0L : pessoa.getVersao(),
+                ChronoUnit.DAYS.between(nascimento, hoje),
+                ChronoUnit.MONTHS.between(nascimento, hoje),
+                ChronoUnit.YEARS.between(nascimento, hoje),
+                anosEmpresa,
+                calculadora.salarioCheio(anosEmpresa).doubleValue(),
+                calculadora.salariosMinimos(anosEmpresa).doubleValue());
+    }
+
+    /**
+     * Atualiza a entrada da pessoa gravada, calculada para o dia corrente.
+     */
+    public void atualizar(Pessoa pessoa) {
+        registrar(pessoa.getId(), Escrita.de(pessoa));
+    }
+
+    public void remover(Long id) {
+        registrar(id, REMOCAO);
+    }
+
+    private void registrar(Long id, Escrita escrita) {
+        troca.readLock().lock();
+        try {
+            aplicar(porId, id, escrita, LocalDate.now());
+            if (reconstruindo) {
+                pendentes.merge(id, escrita, (atual, nova) -> nova.versao() >= atual.versao() ? nova : atual);
+            }
+        } finally {
+            troca.readLock().unlock();
+        }
+    }
+
+    /**
+     * Escritas da mesma pessoa podem chegar fora de ordem; a entrada de versão mais antiga
+     * nunca substitui a mais nova, e nenhuma substitui a marca de remoção.
+     */
+    private void aplicar(ConcurrentMap<Long, Indicadores> mapa, Long id, Escrita escrita, LocalDate hoje) {
+        Indicadores novos = escrita.pessoa() == null ? REMOVIDA : calcularOuPular(escrita.pessoa(), hoje);
+        mapa.compute(id, (chave, atual) -> atual != null && atual.versao() > escrita.versao() ? atual : novos);
+    }
+
+    /**
+     * A visão é derivada: a escrita já foi gravada quando chega aqui, e uma pessoa com dados
+     * que o cálculo recusa não pode derrubar a escrita nem a reconstrução dos demais. A
+     * entrada fica ausente e a consulta dessa pessoa recalcula a partir do repositório.
+     */
+    private Indicadores calcularOuPular(Pessoa pessoa, LocalDate hoje) {
+        try {
+            return calcular(pessoa, hoje);
+        } catch (RuntimeException e) {
+            log.warn("Indicadores da pessoa com ID {} não calculados: {}", pessoa.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Recalcula em paralelo os indicadores das pessoas da {@code fonte} em {@code hoje} num mapa novo
+     * e o coloca no lugar do atual. A fonte é lida uma página por vez, sem juntar todas as pessoas
+     * em memória. Escritas que chegam enquanto o mapa novo é montado são reaplicadas nele antes
+     * da troca, para que nenhuma fique de fora.
+     *
+     * @return quantidade de pessoas na visão depois da troca
+     */
+    public int reconstruir(Iterable<? extends Collection<Pessoa>> fonte, LocalDate hoje) {
+        synchronized (reconstrucao) {
+            comTroca(() -> {
+                reconstruindo = true;
+                pendentes.clear();
+            });
+            try {
+                // Lidas depois de ligar o registro de pendentes: nenhuma escrita cai entre os dois
+                ConcurrentMap<Long, Indicadores> novo = new ConcurrentHashMap<>();
+                for (Collection<Pessoa> pagina : fonte) {
+                    pagina.parallelStream().forEach(pessoa -> aplicar(novo, pessoa.getId(), Escrita.de(pessoa), hoje));
+                }
+
+                comTroca(() -> {
+                    pendentes.forEach((id, escrita) -> aplicar(novo, id, escrita, hoje));
+                    porId = novo;
+                });
+                return tamanho();
+            } finally {
+                comTroca(() -> {
+                    reconstruindo = false;
+                    pendentes.clear();
+                });
+            }
+        }
+    }
+
+    private void comTroca(Runnable acao) {
+        troca.writeLock().lock();
+        try {
+            acao.run();
+        } finally {
+            troca.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return quantidade de pessoas na visão, sem contar as marcas de remoção
+     */
+    public int tamanho() {
+        return (int) porId.values().stream().filter(indicadores -> indicadores != REMOVIDA).count();
+    }
+}
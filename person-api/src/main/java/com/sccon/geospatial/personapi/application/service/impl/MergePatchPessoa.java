@@ -0,0 +1,106 @@
+package com.sccon.geospatial.personapi.application.service.impl;
+
+import com.sccon.geospatial.personapi.domain.model.Pessoa;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+/**
+ * Alteração parcial de pessoa no formato JSON Merge Patch (RFC 7386). O patch é conferido
+ * uma única vez, antes de ler a pessoa: nomes de atributo, tipos e datas (LocalDate ou texto
+ * ISO-8601, yyyy-MM-dd). Aplicá-lo sobre a pessoa atual não falha e não a altera, então pode
+ * ser repetido a cada nova tentativa da troca condicional.
+ * <p>
+ * Todos os atributos de pessoa são obrigatórios, então null (remoção, na RFC) é rejeitado.
+ */
+public final class MergePatchPessoa {
+
+    private final String nome;
+    private final LocalDate dataNascimento;
+    private final LocalDate dataAdmissao;
+
+    private MergePatchPessoa(String nome, LocalDate dataNascimento, LocalDate dataAdmissao) {
+        this.nome = nome;
+        this.dataNascimento = dataNascimento;
+        this.dataAdmissao = dataAdmissao;
+    }
+
+    /**
+     * @param atributos membros do documento de patch; nomes sem distinção de maiúsculas
+     * @throws IllegalArgumentException se um atributo não existe, é null ou tem valor inválido
+     */
+    public static MergePatchPessoa de(Map<String, ?> atributos) {
+        String nome = null;
+        LocalDate dataNascimento = null;
+        LocalDate dataAdmissao = null;
+        
+        for (Map.Entry<String, ?> atributo : atributos.entrySet()) {
+            String chave = atributo.getKey();
+            Object valor = atributo.getValue();
+            switch (chave.toLowerCase()) {
+                case "nome":
+                    nome = texto(chave, valor);
+                    break;
+                case "datanascimento":
+                    dataNascimento = data(chave, valor);
+                    break;
+                case "dataadmissao":
+                    dataAdmissao = data(chave, valor);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Atributo '" + chave + "' não é válido");
+            }
+        }
+        return new MergePatchPessoa(nome, dataNascimento, dataAdmissao);
+    }
+
+    /**
+     * Patch sem membros: pela RFC, o recurso fica como está.
+     */
+    public boolean isVazio() {
+        return nome == null && dataNascimento == null && dataAdmissao == null;
+    }
+
+    /**
+     * @return nova pessoa com os atributos do patch sobre os da atual
+     */
+    public Pessoa aplicar(Pessoa atual) {
+        return new Pessoa(atual.getId(),
+                nome != null ? nome : atual.getNome(),
+                dataNascimento != null ? dataNascimento : atual.getDataNascimento(),
+                dataAdmissao != null ? dataAdmissao : atual.getDataAdmissao());
+    }
+
+    private static String texto(String chave, Object valor) {
+        exigirValor(chave, valor);
+        if (!(valor instanceof String texto)) {
+            throw new IllegalArgumentException("Atributo '" + chave + "' deve ser texto");
+        }
+        if (texto.isBlank()) {
+            throw new IllegalArgumentException("Atributo '" + chave + "' não pode ser vazio");
+        }
+        return texto;
+    }
+
+    private static LocalDate data(String chave, Object valor) {
+        exigirValor(chave, valor);
+        if (valor instanceof LocalDate data) {
+            return data;
+        }
+        if (valor instanceof String texto) {
+            try {
+                return LocalDate.parse(texto);
+            } catch (DateTimeParseException e) {
+                // cai na mensagem abaixo
+            }
+        }
+        throw new IllegalArgumentException("Atributo '" + chave + "' deve ser uma data no formato yyyy-MM-dd");
+    }
+
+    private static void exigirValor(String chave, Object valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Atributo '" + chave + "' é obrigatório e não pode ser removido");
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package com.sccon.geospatial.personapi.application.service.impl;
 
+import com.sccon.geospatial.personapi.application.dto.SimulacaoFolhaResponseDto;
 import com.sccon.geospatial.personapi.application.service.PessoaService;
+import com.sccon.geospatial.personapi.domain.exception.VersionConflictException;
 import com.sccon.geospatial.personapi.domain.model.Pessoa;
 import com.sccon.geospatial.personapi.domain.repository.PessoaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.MonthDay;
 import java.time.Period;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 
 @Service
@@ -19,14 +33,42 @@ import java.util.Optional;
 public class PessoaServiceImpl implements PessoaService {
 
     private final PessoaRepository pessoaRepository;
+    private final IndicadoresPessoas indicadores;
+    private final SimuladorFolha simuladorFolha;
 
-    private static final double SALARIO_INICIAL = 1558.00;
-    private static final double AUMENTO_PORCENTAGEM = 0.18;
-    private static final double AUMENTO_FIXO = 500.00;
-    private static final double SALARIO_MINIMO = 1302.00;
+    private static final BigDecimal SALARIO_INICIAL = new BigDecimal("1558.00");
+    private static final BigDecimal AUMENTO_PORCENTAGEM = new BigDecimal("0.18");
+    private static final BigDecimal AUMENTO_FIXO = new BigDecimal("500.00");
+    private static final BigDecimal SALARIO_MINIMO = new BigDecimal("1302.00");
+
+    // Tentativas de troca condicional antes de desistir de uma atualização muito disputada
+    private static final int MAX_TENTATIVAS_ATUALIZACAO = 16;
+
+    // Página da varredura por ID que alimenta a reconstrução dos indicadores
+    private static final int PAGINA_INDICADORES = 10_000;
+
+    // Limites dos parâmetros da simulação de folha: sem eles, uma porcentagem com centenas de
+    // casas decimais faria as potências da calculadora crescerem para milhões de dígitos
+    private static final int CASAS_VALOR = 2;
+    private static final int CASAS_PORCENTAGEM = 4;
+    private static final int DIGITOS_INTEIROS_VALOR = 12;
+
+    // Datas fora deste intervalo são recusadas: uma admissão no ano -900000000 faria o
+    // cálculo de salário montar números com bilhões de dígitos
+    private static final LocalDate DATA_MINIMA = LocalDate.of(1900, 1, 1);
+    private static final LocalDate DATA_MAXIMA = LocalDate.of(9999, 12, 31);
+
+    // Cobre a diferença entre recuar meses/anos a partir de hoje e o between de fim de mês
+    private static final int FOLGA_FAIXA_IDADE_DIAS = 3;
+
+    private static final CalculadoraSalario CALCULADORA_SALARIO =
+            new CalculadoraSalario(SALARIO_INICIAL, AUMENTO_PORCENTAGEM, AUMENTO_FIXO, SALARIO_MINIMO);
 
     public PessoaServiceImpl(PessoaRepository pessoaRepository) {
         this.pessoaRepository = pessoaRepository;
+        this.indicadores = new IndicadoresPessoas(CALCULADORA_SALARIO);
+        this.simuladorFolha = new SimuladorFolha(SimuladorFolha.vetorialDisponivel());
+        log.info("Simulação de folha com contagem {}", simuladorFolha.getDescricao());
     }
 
     @Override
@@ -35,6 +77,17 @@ public class PessoaServiceImpl implements PessoaService {
         return pessoaRepository.findAllOrderByNome();
     }
 
+    @Override
+    public List<Pessoa> listarPagina(Long aposId, int limite) {
+        log.debug("Listando página de pessoas após ID: {} (limite {})", aposId, limite);
+        return pessoaRepository.findPageAfterId(aposId, limite);
+    }
+
+    @Override
+    public long contarModificacoes() {
+        return pessoaRepository.modificationCount();
+    }
+
     @Override
     public Optional<Pessoa> buscarPorId(Long id) {
         log.debug("Buscando pessoa por ID: {}", id);
@@ -45,11 +98,14 @@ public class PessoaServiceImpl implements PessoaService {
     public Pessoa criarPessoa(Pessoa pessoa) {
         log.debug("Criando nova pessoa: {}", pessoa.getNome());
         
+        exigirDatasPlausiveis(pessoa);
         if (pessoa.getId() != null && pessoaRepository.existsById(pessoa.getId())) {
             throw new IllegalStateException("Pessoa com ID " + pessoa.getId() + " já existe");
         }
         
-        return pessoaRepository.save(pessoa);
+        Pessoa salva = pessoaRepository.save(pessoa);
+        indicadores.atualizar(salva);
+        return salva;
     }
 
     @Override
@@ -61,89 +117,289 @@ public class PessoaServiceImpl implements PessoaService {
         }
         
         pessoaRepository.deleteById(id);
+        indicadores.remover(id);
     }
 
     @Override
     public Pessoa atualizarPessoa(Long id, Pessoa pessoa) {
+        return atualizarPessoa(id, pessoa, null);
+    }
+
+    @Override
+    public Pessoa atualizarPessoa(Long id, Pessoa pessoa, Predicate<Long> versaoEsperada) {
         log.debug("Atualizando pessoa com ID: {}", id);
         
-        Pessoa pessoaExistente = pessoaRepository.findById(id)
-                .orElseThrow(() -> new IllegalStateException("Pessoa com ID " + id + " não encontrada"));
-        
-        pessoa.setId(id);
-        return pessoaRepository.save(pessoa);
+        return trocar(id, versaoEsperada,
+                atual -> new Pessoa(id, pessoa.getNome(), pessoa.getDataNascimento(), pessoa.getDataAdmissao()));
     }
 
     @Override
     public Pessoa atualizarAtributoPessoa(Long id, String atributo, Object valor) {
-        log.debug("Atualizando atributo '{}' da pessoa com ID: {}", atributo, id);
+        return atualizarAtributosPessoa(id, Collections.singletonMap(atributo, valor), null);
+    }
+
+    @Override
+    public Pessoa atualizarAtributosPessoa(Long id, Map<String, Object> atributos, Predicate<Long> versaoEsperada) {
+        log.debug("Atualizando atributos {} da pessoa com ID: {}", atributos.keySet(), id);
         
-        Pessoa pessoa = pessoaRepository.findById(id)
-                .orElseThrow(() -> new IllegalStateException("Pessoa com ID " + id + " não encontrada"));
+        // Conferido antes da leitura: um patch inválido não chega ao repositório
+        MergePatchPessoa patch = MergePatchPessoa.de(atributos);
+        if (patch.isVazio()) {
+            return buscarNaVersao(id, versaoEsperada);
+        }
+        return trocar(id, versaoEsperada, patch::aplicar);
+    }
+
+    /**
+     * Lê a pessoa, confere a precondição de versão, monta a nova pessoa a partir da atual e
+     * tenta a troca condicional; se outra escrita chegou antes, relê e tenta de novo.
+     */
+    private Pessoa trocar(Long id, Predicate<Long> versaoEsperada, UnaryOperator<Pessoa> alteracao) {
+        for (int tentativa = 1; tentativa <= MAX_TENTATIVAS_ATUALIZACAO; tentativa++) {
+            Pessoa atual = buscarNaVersao(id, versaoEsperada);
+            
+            Pessoa nova = alteracao.apply(atual);
+            exigirDatasPlausiveis(nova);
+            Optional<Pessoa> gravada = pessoaRepository.replace(atual, nova);
+            if (gravada.isPresent()) {
+                indicadores.atualizar(gravada.get());
+                return gravada.get();
+            }
+            log.debug("Escrita concorrente na pessoa com ID {}; nova tentativa ({}/{})",
+                    id, tentativa, MAX_TENTATIVAS_ATUALIZACAO);
+        }
         
-        switch (atributo.toLowerCase()) {
-            case "nome":
-                pessoa.setNome((String) valor);
-                break;
-            case "datanascimento":
-                pessoa.setDataNascimento((LocalDate) valor);
-                break;
-            case "dataadmissao":
-                pessoa.setDataAdmissao((LocalDate) valor);
-                break;
-            default:
-                throw new IllegalArgumentException("Atributo '" + atributo + "' não é válido");
+        throw new ConcurrentModificationException("Não foi possível atualizar a pessoa com ID " + id
+                + " após " + MAX_TENTATIVAS_ATUALIZACAO + " tentativas concorrentes");
+    }
+
+    private static void exigirValor(String parametro, BigDecimal valor) {
+        BigDecimal normalizado = valor.stripTrailingZeros();
+        if (normalizado.scale() > CASAS_VALOR || normalizado.precision() - normalizado.scale() > DIGITOS_INTEIROS_VALOR) {
+            throw new IllegalArgumentException(parametro + " aceita no máximo " + DIGITOS_INTEIROS_VALOR
+                    + " dígitos inteiros e " + CASAS_VALOR + " casas decimais");
+        }
+    }
+
+    private static void exigirDatasPlausiveis(Pessoa pessoa) {
+        exigirDataPlausivel("dataNascimento", pessoa.getDataNascimento());
+        exigirDataPlausivel("dataAdmissao", pessoa.getDataAdmissao());
+    }
+
+    private static void exigirDataPlausivel(String atributo, LocalDate data) {
+        if (data != null && (data.isBefore(DATA_MINIMA) || data.isAfter(DATA_MAXIMA))) {
+            throw new IllegalArgumentException("Atributo '" + atributo + "' fora do intervalo de "
+                    + DATA_MINIMA + " a " + DATA_MAXIMA + ": " + data);
         }
+    }
+
+    private Pessoa buscarNaVersao(Long id, Predicate<Long> versaoEsperada) {
+        Pessoa atual = pessoaRepository.findById(id)
+                .orElseThrow(() -> new IllegalStateException("Pessoa com ID " + id + " não encontrada"));
         
-        return pessoaRepository.save(pessoa);
+        if (versaoEsperada != null && !versaoEsperada.test(atual.getVersao())) {
+            throw new VersionConflictException(id, atual.getVersao());
+        }
+        return atual;
     }
 
     @Override
     public long calcularIdade(Long id, String formato) {
         log.debug("Calculando idade da pessoa com ID: {} no formato: {}", id, formato);
         
+        return indicadoresDeHoje(id).idade(unidadeDeIdade(formato));
+    }
+
+    /**
+     * Indicadores da pessoa lidos da visão materializada. Se a visão ainda não tem a pessoa
+     * no dia corrente (reconstrução da virada pendente), calcula a partir do repositório sem
+     * preencher a visão, que só muda por escrita ou reconstrução.
+     */
+    private IndicadoresPessoas.Indicadores indicadoresDeHoje(Long id) {
+        LocalDate hoje = LocalDate.now();
+        IndicadoresPessoas.Indicadores materializados = indicadores.buscar(id, hoje);
+        if (materializados != null) {
+            return materializados;
+        }
+        
         Pessoa pessoa = pessoaRepository.findById(id)
                 .orElseThrow(() -> new IllegalStateException("Pessoa com ID " + id + " não encontrada"));
+        IndicadoresPessoas.Indicadores calculados = indicadores.calcular(pessoa, hoje);
+        if (calculados == null) {
+            throw new IllegalStateException("Pessoa com ID " + id + " sem data de nascimento ou admissão");
+        }
+        return calculados;
+    }
+
+    @Override
+    public int recalcularIndicadores() {
+        LocalDate hoje = LocalDate.now();
+        long inicio = System.nanoTime();
+        int total = indicadores.reconstruir(paginasPorId(), hoje);
+        log.info("Indicadores de {} pessoas recalculados para {} em {} ms",
+                total, hoje, (System.nanoTime() - inicio) / 1_000_000);
+        return total;
+    }
+
+    /**
+     * Varredura por ID em páginas, buscadas uma de cada vez conforme a reconstrução avança.
+     */
+    private Iterable<List<Pessoa>> paginasPorId() {
+        return () -> new Iterator<>() {
+            private List<Pessoa> proxima = pessoaRepository.findPageAfterId(null, PAGINA_INDICADORES);
+
+            @Override
+            public boolean hasNext() {
+                return !proxima.isEmpty();
+            }
+
+            @Override
+            public List<Pessoa> next() {
+                if (proxima.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                List<Pessoa> pagina = proxima;
+                proxima = pessoaRepository.findPageAfterId(pagina.get(pagina.size() - 1).getId(), PAGINA_INDICADORES);
+                return pagina;
+            }
+        };
+    }
+
+    @Override
+    public List<Pessoa> listarPorNascimento(LocalDate de, LocalDate ate) {
+        log.debug("Listando pessoas nascidas entre {} e {}", de, ate);
+        return pessoaRepository.findByDataNascimentoBetween(de, ate);
+    }
+
+    @Override
+    public List<Pessoa> listarPorAdmissao(LocalDate de, LocalDate ate) {
+        log.debug("Listando pessoas admitidas entre {} e {}", de, ate);
+        return pessoaRepository.findByDataAdmissaoBetween(de, ate);
+    }
+
+    /**
+     * A faixa de idade vira um intervalo de nascimento: idade >= mínima para quem nasceu até
+     * hoje - mínima, e idade <= máxima para quem nasceu depois de hoje - (máxima + 1). O
+     * intervalo ganha uma folga de dias por causa do ajuste de fim de mês, e as pessoas
+     * encontradas são conferidas com o mesmo cálculo de {@link #calcularIdade(Long, String)}.
+     */
+    @Override
+    public List<Pessoa> listarPorIdade(Long idadeMinima, Long idadeMaxima, String formato) {
+        log.debug("Listando pessoas com idade entre {} e {} ({})", idadeMinima, idadeMaxima, formato);
+        
+        ChronoUnit unidade = unidadeDeIdade(formato);
+        long minima = idadeMinima == null ? 0 : idadeMinima;
+        long maxima = idadeMaxima == null ? Long.MAX_VALUE : idadeMaxima;
+        if (minima < 0 || minima > maxima) {
+            throw new IllegalArgumentException("Faixa de idade inválida: " + idadeMinima + " a " + idadeMaxima);
+        }
         
         LocalDate hoje = LocalDate.now();
-        LocalDate dataNascimento = pessoa.getDataNascimento();
+        LocalDate ate = recuar(hoje, minima, unidade);
+        LocalDate de = maxima == Long.MAX_VALUE ? null : recuar(hoje, maxima + 1, unidade);
+        if (ate == null) {
+            return List.of();
+        }
+        
+        return pessoaRepository.findByDataNascimentoBetween(
+                        de == null ? null : de.minusDays(FOLGA_FAIXA_IDADE_DIAS), ate.plusDays(FOLGA_FAIXA_IDADE_DIAS))
+                .stream()
+                .filter(pessoa -> {
+                    long idade = unidade.between(pessoa.getDataNascimento(), hoje);
+                    return idade >= minima && idade <= maxima;
+                })
+                .toList();
+    }
+
+    @Override
+    public List<Pessoa> listarAniversariantes(int mes) {
+        log.debug("Listando aniversariantes do mês {}", mes);
         
+        if (mes < 1 || mes > 12) {
+            throw new IllegalArgumentException("Mês '" + mes + "' não é válido. Use de 1 a 12");
+        }
+        Month mesDoAno = Month.of(mes);
+        return pessoaRepository.findByAniversarioBetween(
+                MonthDay.of(mesDoAno, 1), MonthDay.of(mesDoAno, mesDoAno.maxLength()));
+    }
+
+    private static ChronoUnit unidadeDeIdade(String formato) {
         switch (formato.toLowerCase()) {
             case "days":
-                return ChronoUnit.DAYS.between(dataNascimento, hoje);
+                return ChronoUnit.DAYS;
             case "months":
-                return ChronoUnit.MONTHS.between(dataNascimento, hoje);
+                return ChronoUnit.MONTHS;
             case "years":
-                return ChronoUnit.YEARS.between(dataNascimento, hoje);
+                return ChronoUnit.YEARS;
             default:
                 throw new IllegalArgumentException("Formato '" + formato + "' não é válido. Use: days, months ou years");
         }
     }
 
+    /**
+     * @return a data {@code quantidade} unidades antes de {@code hoje}, ou null se cai antes
+     *         da menor data representável
+     */
+    private static LocalDate recuar(LocalDate hoje, long quantidade, ChronoUnit unidade) {
+        try {
+            return hoje.minus(quantidade, unidade);
+        } catch (DateTimeException | ArithmeticException e) {
+            return null;
+        }
+    }
+
     @Override
     public double calcularSalario(Long id, String formato) {
         log.debug("Calculando salário da pessoa com ID: {} no formato: {}", id, formato);
         
-        Pessoa pessoa = pessoaRepository.findById(id)
-                .orElseThrow(() -> new IllegalStateException("Pessoa com ID " + id + " não encontrada"));
-
-        LocalDate hoje = LocalDate.now();
-        LocalDate dataAdmissao = pessoa.getDataAdmissao();
-        long anosEmpresa = ChronoUnit.YEARS.between(dataAdmissao, hoje);
-
-        double salario = SALARIO_INICIAL;
-        for (int i = 0; i < anosEmpresa; i++) {
-            salario = salario + (salario * AUMENTO_PORCENTAGEM) + AUMENTO_FIXO;
-        }
+        IndicadoresPessoas.Indicadores indicadoresPessoa = indicadoresDeHoje(id);
         
         switch (formato.toLowerCase()) {
             case "full":
-                return Math.round(salario * 100.0) / 100.0;
+                return indicadoresPessoa.salarioCheio();
             case "min":
-                double salariosMinimos = salario / SALARIO_MINIMO;
-                return Math.ceil(salariosMinimos * 100.0) / 100.0;
+                return indicadoresPessoa.salariosMinimos();
             default:
                 throw new IllegalArgumentException("Formato '" + formato + "' não é válido. Use: full ou min");
         }
     }
+
+    @Override
+    public SimulacaoFolhaResponseDto simularFolha(BigDecimal salarioInicial, BigDecimal aumentoPorcentagem,
+                                                  BigDecimal aumentoFixo, BigDecimal salarioMinimo) {
+        BigDecimal inicial = Objects.requireNonNullElse(salarioInicial, SALARIO_INICIAL);
+        BigDecimal porcentagem = Objects.requireNonNullElse(aumentoPorcentagem, AUMENTO_PORCENTAGEM);
+        BigDecimal fixo = Objects.requireNonNullElse(aumentoFixo, AUMENTO_FIXO);
+        BigDecimal minimo = Objects.requireNonNullElse(salarioMinimo, SALARIO_MINIMO);
+        log.debug("Simulando folha com salário inicial {}, aumento de {} + {} e salário mínimo {}",
+                inicial, porcentagem, fixo, minimo);
+        
+        if (inicial.signum() < 0 || fixo.signum() < 0) {
+            throw new IllegalArgumentException("Salário inicial e aumento fixo não podem ser negativos");
+        }
+        if (porcentagem.compareTo(BigDecimal.ONE.negate()) <= 0 || porcentagem.compareTo(BigDecimal.ONE) > 0) {
+            throw new IllegalArgumentException("Aumento percentual deve ser maior que -1 e no máximo 1 (fração, ex.: 0.15)");
+        }
+        if (minimo.signum() <= 0) {
+            throw new IllegalArgumentException("Salário mínimo deve ser positivo");
+        }
+        exigirValor("Salário inicial", inicial);
+        exigirValor("Aumento fixo", fixo);
+        exigirValor("Salário mínimo", minimo);
+        if (porcentagem.stripTrailingZeros().scale() > CASAS_PORCENTAGEM) {
+            throw new IllegalArgumentException("Aumento percentual aceita no máximo " + CASAS_PORCENTAGEM + " casas decimais");
+        }
+        
+        long inicio = System.nanoTime();
+        CalculadoraSalario calculadora = new CalculadoraSalario(inicial, porcentagem, fixo, minimo);
+        SimulacaoFolhaResponseDto simulacao = simuladorFolha.simular(
+                pessoaRepository.findAllDataAdmissaoEpochDay(), LocalDate.now(), calculadora);
+        simulacao.setSalarioInicial(inicial);
+        simulacao.setAumentoPorcentagem(porcentagem);
+        simulacao.setAumentoFixo(fixo);
+        simulacao.setSalarioMinimo(minimo);
+        log.debug("Folha de {} pessoas simulada em {} µs",
+                simulacao.getPessoas(), (System.nanoTime() - inicio) / 1_000);
+        return simulacao;
+    }
 }
@@ -0,0 +1,220 @@
+package com.sccon.geospatial.personapi.application.service.impl;
+
+import com.sccon.geospatial.personapi.application.dto.FaixaFolhaDto;
+import com.sccon.geospatial.personapi.application.dto.SimulacaoFolhaResponseDto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulação da folha de pagamento sobre todas as pessoas. O salário depende só dos anos
+ * completos de empresa, então a varredura por pessoa se reduz a um histograma de anos sobre
+ * o array primitivo de admissões, dividido entre os núcleos com fork/join; salários, totais
+ * e percentis saem do histograma, uma vez por tempo de empresa distinto e com a mesma
+ * {@link CalculadoraSalario} exata de {@code GET /person/{id}/salary}.
+ * <p>
+ * A contagem usa a Vector API quando o módulo {@code jdk.incubator.vector} está carregado
+ * ({@code --add-modules jdk.incubator.vector}) e a versão escalar caso contrário.
+ */
+public final class SimuladorFolha {
+
+    private static final String MODULO_VETORIAL = "jdk.incubator.vector";
+
+    // Tabela de anos por dias desde a admissão: até ~2.870 anos de empresa, 4 MB no pior caso
+    static final int TABELA_MAXIMA_DIAS = 1 << 20;
+
+    // Fatia de admissões por tarefa: abaixo disso dividir custa mais que contar
+    private static final int LIMIAR_FATIA = 1 << 16;
+
+    private static final int[] PERCENTIS = {50, 90, 95, 99};
+
+    private final ContagemAnosEmpresa contagem;
+    private final ForkJoinPool pool;
+    private final String descricao;
+
+    /**
+     * @param vetorial usa a Vector API; exige o módulo {@code jdk.incubator.vector}
+     */
+    public SimuladorFolha(boolean vetorial) {
+        this(vetorial, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool pool que divide a contagem entre os núcleos
+     */
+    public SimuladorFolha(boolean vetorial, ForkJoinPool pool) {
+        this.pool = pool;
+        if (vetorial && !vetorialDisponivel()) {
+            throw new IllegalStateException("Módulo " + MODULO_VETORIAL + " não carregado; use --add-modules " + MODULO_VETORIAL);
+        }
+        if (vetorial) {
+            contagem = new ContagemAnosEmpresaVetorial();
+            descricao = "vetorial (" + ContagemAnosEmpresaVetorial.faixas() + " faixas de int)";
+        } else {
+            contagem = new ContagemAnosEmpresaEscalar();
+            descricao = "escalar";
+        }
+    }
+
+    public static boolean vetorialDisponivel() {
+        return ModuleLayer.boot().findModule(MODULO_VETORIAL).isPresent();
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    /**
+     * Histograma de anos completos de empresa em {@code hoje}: posição k = pessoas com k anos,
+     * como em {@code ChronoUnit.YEARS.between}; admissões futuras contam como zero anos.
+     *
+     * @throws IllegalArgumentException se a admissão mais antiga fica a mais de
+     *         {@link #TABELA_MAXIMA_DIAS} dias de hoje
+     */
+    public long[] contarPorAnosEmpresa(int[] admissoes, LocalDate hoje) {
+        if (admissoes.length == 0) {
+            return new long[0];
+        }
+        int primeira = Integer.MAX_VALUE;
+        for (int admissao : admissoes) {
+            primeira = Math.min(primeira, admissao);
+        }
+        long diaDeHoje = hoje.toEpochDay();
+        long dias = Math.max(1, diaDeHoje - primeira + 1);
+        if (dias > TABELA_MAXIMA_DIAS) {
+            throw new IllegalArgumentException("Admissão em " + LocalDate.ofEpochDay(primeira)
+                    + " fora do alcance da simulação (" + TABELA_MAXIMA_DIAS + " dias)");
+        }
+
+        int[] anosPorDias = anosPorDias(hoje, (int) dias);
+        int dia = Math.toIntExact(diaDeHoje);
+        // Com uma fatia só, ou sem núcleo livre, a thread que chama conta tudo: entregar a
+        // tarefa ao pool e esperar por ela só somaria troca de contexto
+        if (admissoes.length <= LIMIAR_FATIA || pool.getParallelism() < 2) {
+            long[] histograma = new long[anosPorDias[anosPorDias.length - 1] + 1];
+            contagem.contar(admissoes, 0, admissoes.length, dia, anosPorDias, histograma);
+            return histograma;
+        }
+        return pool.invoke(new Contagem(contagem, admissoes, 0, admissoes.length, dia, anosPorDias));
+    }
+
+    /**
+     * Quem foi admitido até {@code hoje.minusYears(k)} tem pelo menos k anos de empresa, então
+     * a tabela é preenchida em faixas de dias, uma por ano, a partir desses limites.
+     */
+    private static int[] anosPorDias(LocalDate hoje, int dias) {
+        int[] anosPorDias = new int[dias];
+        long diaDeHoje = hoje.toEpochDay();
+        int de = 0;
+        for (int anos = 0; de < dias; anos++) {
+            int ate = (int) Math.min(dias, diaDeHoje - hoje.minusYears(anos + 1L).toEpochDay());
+            Arrays.fill(anosPorDias, de, ate, anos);
+            de = ate;
+        }
+        return anosPorDias;
+    }
+
+    /**
+     * Totais, extremos, percentis e distribuição por tempo de empresa da folha calculada por
+     * {@code calculadora}; os parâmetros da simulação ficam a cargo de quem chama.
+     */
+    public SimulacaoFolhaResponseDto simular(int[] admissoes, LocalDate hoje, CalculadoraSalario calculadora) {
+        long[] porAnos = contarPorAnosEmpresa(admissoes, hoje);
+
+        List<FaixaFolhaDto> faixas = new ArrayList<>();
+        long pessoas = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        for (int anos = 0; anos < porAnos.length; anos++) {
+            if (porAnos[anos] == 0) {
+                continue;
+            }
+            BigDecimal salario = calculadora.salarioCheio(anos);
+            BigDecimal totalFaixa = salario.multiply(BigDecimal.valueOf(porAnos[anos]));
+            faixas.add(new FaixaFolhaDto(anos, porAnos[anos], salario, calculadora.salariosMinimos(anos), totalFaixa));
+            pessoas += porAnos[anos];
+            total = total.add(totalFaixa);
+        }
+
+        SimulacaoFolhaResponseDto resultado = new SimulacaoFolhaResponseDto();
+        resultado.setPessoas(pessoas);
+        resultado.setTotalFolha(total);
+        resultado.setDistribuicao(faixas);
+        if (pessoas == 0) {
+            return resultado;
+        }
+        resultado.setSalarioMedio(total.divide(BigDecimal.valueOf(pessoas), 2, RoundingMode.HALF_UP));
+
+        // Com aumento negativo o salário não cresce com o tempo de empresa: ordena por salário
+        List<FaixaFolhaDto> porSalario = new ArrayList<>(faixas);
+        porSalario.sort(Comparator.comparing(FaixaFolhaDto::getSalario));
+        resultado.setMenorSalario(porSalario.get(0).getSalario());
+        resultado.setMaiorSalario(porSalario.get(porSalario.size() - 1).getSalario());
+        for (int percentil : PERCENTIS) {
+            resultado.getPercentis().put("p" + percentil, salarioNoPosto(porSalario, postoMaisProximo(percentil, pessoas)));
+        }
+        return resultado;
+    }
+
+    private static long postoMaisProximo(int percentil, long pessoas) {
+        return Math.max(1, (percentil * pessoas + 99) / 100);
+    }
+
+    private static BigDecimal salarioNoPosto(List<FaixaFolhaDto> porSalario, long posto) {
+        long acumulado = 0;
+        for (FaixaFolhaDto faixa : porSalario) {
+            acumulado += faixa.getPessoas();
+            if (acumulado >= posto) {
+                return faixa.getSalario();
+            }
+        }
+        return porSalario.get(porSalario.size() - 1).getSalario();
+    }
+
+    /**
+     * Divide a fatia ao meio até o limiar; cada folha conta num histograma próprio, somado
+     * ao do irmão na volta.
+     */
+    private static final class Contagem extends RecursiveTask<long[]> {
+
+        private final ContagemAnosEmpresa kernel;
+        private final int[] admissoes;
+        private final int de;
+        private final int ate;
+        private final int hoje;
+        private final int[] anosPorDias;
+
+        Contagem(ContagemAnosEmpresa kernel, int[] admissoes, int de, int ate, int hoje, int[] anosPorDias) {
+            this.kernel = kernel;
+            this.admissoes = admissoes;
+            this.de = de;
+            this.ate = ate;
+            this.hoje = hoje;
+            this.anosPorDias = anosPorDias;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (ate - de <= LIMIAR_FATIA) {
+                long[] histograma = new long[anosPorDias[anosPorDias.length - 1] + 1];
+                kernel.contar(admissoes, de, ate, hoje, anosPorDias, histograma);
+                return histograma;
+            }
+            int meio = (de + ate) >>> 1;
+            Contagem esquerda = new Contagem(kernel, admissoes, de, meio, hoje, anosPorDias);
+            esquerda.fork();
+            long[] direita = new Contagem(kernel, admissoes, meio, ate, hoje, anosPorDias).compute();
+            long[] histograma = esquerda.join();
+            for (int k = 0; k < histograma.length; k++) {
+                histograma[k] += direita[k];
+            }
+            return histograma;
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.sccon.geospatial.personapi.application.usecase;
 
+import com.sccon.geospatial.personapi.application.dto.BulkImportResponseDto;
+import com.sccon.geospatial.personapi.application.dto.PageResponseDto;
 import com.sccon.geospatial.personapi.application.dto.PersonRequestDto;
 import com.sccon.geospatial.personapi.application.dto.PersonResponseDto;
+import com.sccon.geospatial.personapi.application.dto.PersonStatsResponseDto;
+import com.sccon.geospatial.personapi.application.dto.PersonValidationResponseDto;
+import com.sccon.geospatial.personapi.application.dto.Versioned;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 
 public interface PersonUseCase {
@@ -13,15 +21,61 @@ public interface PersonUseCase {
 
     CompletableFuture<PersonResponseDto> updatePerson(Long id, PersonRequestDto requestDto);
 
+    /**
+     * Atualização condicional: {@code expectedVersion} é a precondição do {@code If-Match}
+     * (null aceita qualquer versão). Falha com VersionConflictException como causa se a
+     * versão atual não a atende. O resultado traz a nova versão.
+     */
+    CompletableFuture<Versioned<PersonResponseDto>> updatePerson(Long id, PersonRequestDto requestDto,
+                                                                Predicate<Long> expectedVersion);
+
     CompletableFuture<java.util.Optional<PersonResponseDto>> findPersonById(Long id);
 
+    /**
+     * Busca por ID para GET condicional: {@code notModified} recebe a versão atual e, se
+     * retornar true, a pessoa não é mapeada e o resultado vem sem corpo.
+     */
+    CompletableFuture<java.util.Optional<Versioned<PersonResponseDto>>> findPersonById(Long id, Predicate<Long> notModified);
+
     CompletableFuture<java.util.Optional<PersonResponseDto>> findPersonByCpf(String cpf);
 
     CompletableFuture<List<PersonResponseDto>> listAllPersons();
 
+    /**
+     * Lista uma página por keyset. O cursor é validado de forma síncrona,
+     * lançando IllegalArgumentException antes de qualquer processamento.
+     */
+    CompletableFuture<PageResponseDto<PersonResponseDto>> listPersonsPage(String after, Integer limit);
+
     CompletableFuture<List<PersonResponseDto>> searchPersonsByName(String name);
 
+    /**
+     * Exporta todas as pessoas, uma a uma, para o consumidor informado.
+     * Executa na thread chamadora, pois é usado por respostas em streaming.
+     */
+    void exportPersons(Consumer<PersonResponseDto> sink);
+
     CompletableFuture<Void> deletePerson(Long id);
 
+    /**
+     * Importa pessoas em lotes à medida que são lidas do iterador, sem carregar
+     * o corpo inteiro em memória. Executa na thread chamadora.
+     */
+    BulkImportResponseDto importPersons(Iterator<PersonRequestDto> rows);
+
+    /**
+     * Aplica as regras de domínio (as mesmas de criação, atualização e importação) aos
+     * registros lidos do iterador, em lotes validados em paralelo, sem gravar nada.
+     * Executa na thread chamadora.
+     */
+    PersonValidationResponseDto validatePersons(Iterator<PersonRequestDto> rows);
+
     CompletableFuture<Long> countPersons();
+
+    CompletableFuture<PersonStatsResponseDto> getPersonStats();
+
+    /**
+     * Contador de escritas das pessoas, lido na thread chamadora; base do ETag das listagens.
+     */
+    long modificationCount();
 }
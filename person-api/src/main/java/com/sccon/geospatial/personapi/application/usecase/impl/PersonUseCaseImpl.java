@@ -1,30 +1,59 @@
 package com.sccon.geospatial.personapi.application.usecase.impl;
 
+import com.sccon.geospatial.personapi.application.dto.BulkImportErrorDto;
+import com.sccon.geospatial.personapi.application.dto.BulkImportResponseDto;
+import com.sccon.geospatial.personapi.application.dto.PageResponseDto;
 import com.sccon.geospatial.personapi.application.dto.PersonRequestDto;
 import com.sccon.geospatial.personapi.application.dto.PersonResponseDto;
+import com.sccon.geospatial.personapi.application.dto.PersonStatsResponseDto;
+import com.sccon.geospatial.personapi.application.dto.PersonValidationResponseDto;
+import com.sccon.geospatial.personapi.application.dto.Versioned;
 import com.sccon.geospatial.personapi.application.mapper.PersonMapper;
+import com.sccon.geospatial.personapi.application.pagination.KeysetCursor;
 import com.sccon.geospatial.personapi.application.usecase.PersonUseCase;
 import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.model.PersonAggregates;
 import com.sccon.geospatial.personapi.domain.service.PersonService;
+import com.sccon.geospatial.personapi.domain.validation.PersonValidator;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Service
 @Slf4j
 public class PersonUseCaseImpl implements PersonUseCase {
 
+    // Mesmo valor de hibernate.jdbc.batch_size: um lote lido gera um batch de INSERTs
+    private static final int IMPORT_BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    // A validação custa dezenas de ns por registro: lotes maiores amortizam a divisão em paralelo
+    private static final int VALIDATION_BATCH_SIZE = 8192;
+
     private final PersonService personService;
     private final PersonMapper personMapper;
+    private final Validator validator;
+    private final Executor requestExecutor;
 
-    public PersonUseCaseImpl(PersonService personService, PersonMapper personMapper) {
+    public PersonUseCaseImpl(PersonService personService, PersonMapper personMapper, Validator validator,
+                             @Qualifier("requestExecutor") Executor requestExecutor) {
         this.personService = personService;
         this.personMapper = personMapper;
+        this.validator = validator;
+        this.requestExecutor = requestExecutor;
     }
 
     @Override
@@ -41,7 +70,7 @@ public class PersonUseCaseImpl implements PersonUseCase {
                 log.error("Erro ao criar pessoa: {}", e.getMessage(), e);
                 throw new RuntimeException("Erro ao criar pessoa: " + e.getMessage(), e);
             }
-        });
+        }, requestExecutor);
     }
 
     @Override
@@ -58,7 +87,25 @@ public class PersonUseCaseImpl implements PersonUseCase {
                 log.error("Erro ao atualizar pessoa com ID {}: {}", id, e.getMessage(), e);
                 throw new RuntimeException("Erro ao atualizar pessoa: " + e.getMessage(), e);
             }
-        });
+        }, requestExecutor);
+    }
+
+    @Override
+    @Transactional
+    public CompletableFuture<Versioned<PersonResponseDto>> updatePerson(Long id, PersonRequestDto requestDto,
+                                                                       Predicate<Long> expectedVersion) {
+        log.debug("Iniciando atualização condicional de pessoa de forma assíncrona. ID: {}", id);
+        
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Person person = personMapper.toEntity(requestDto);
+                Person updatedPerson = personService.updatePerson(id, person, expectedVersion);
+                return new Versioned<>(updatedPerson.getVersion(), personMapper.toResponseDto(updatedPerson));
+            } catch (Exception e) {
+                log.error("Erro ao atualizar pessoa com ID {}: {}", id, e.getMessage(), e);
+                throw new RuntimeException("Erro ao atualizar pessoa: " + e.getMessage(), e);
+            }
+        }, requestExecutor);
     }
 
     @Override
@@ -73,7 +120,24 @@ public class PersonUseCaseImpl implements PersonUseCase {
                 log.error("Erro ao buscar pessoa por ID {}: {}", id, e.getMessage(), e);
                 throw new RuntimeException("Erro ao buscar pessoa: " + e.getMessage(), e);
             }
-        });
+        }, requestExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Versioned<PersonResponseDto>>> findPersonById(Long id, Predicate<Long> notModified) {
+        log.debug("Iniciando busca condicional de pessoa por ID de forma assíncrona: {}", id);
+        
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return personService.findPersonById(id)
+                        .map(person -> person.getVersion() != null && notModified.test(person.getVersion())
+                                ? Versioned.<PersonResponseDto>notModified(person.getVersion())
+                                : new Versioned<>(person.getVersion(), personMapper.toResponseDto(person)));
+            } catch (Exception e) {
+                log.error("Erro ao buscar pessoa por ID {}: {}", id, e.getMessage(), e);
+                throw new RuntimeException("Erro ao buscar pessoa: " + e.getMessage(), e);
+            }
+        }, requestExecutor);
     }
 
     @Override
@@ -88,7 +152,7 @@ public class PersonUseCaseImpl implements PersonUseCase {
                 log.error("Erro ao buscar pessoa por CPF {}: {}", cpf, e.getMessage(), e);
                 throw new RuntimeException("Erro ao buscar pessoa: " + e.getMessage(), e);
             }
-        });
+        }, requestExecutor);
     }
 
     @Override
@@ -105,7 +169,32 @@ public class PersonUseCaseImpl implements PersonUseCase {
                 log.error("Erro ao listar pessoas: {}", e.getMessage(), e);
                 throw new RuntimeException("Erro ao listar pessoas: " + e.getMessage(), e);
             }
-        });
+        }, requestExecutor);
+    }
+
+    @Override
+    public CompletableFuture<PageResponseDto<PersonResponseDto>> listPersonsPage(String after, Integer limit) {
+        Long afterId = KeysetCursor.decode(after);
+        int pageSize = KeysetCursor.limit(limit);
+        log.debug("Iniciando listagem paginada de pessoas de forma assíncrona. Após ID: {}, limite: {}", afterId, pageSize);
+        
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                // Busca um registro a mais para saber se existe próxima página
+                List<Person> persons = personService.listPersonsPage(afterId, pageSize + 1);
+                boolean hasMore = persons.size() > pageSize;
+                List<Person> page = hasMore ? persons.subList(0, pageSize) : persons;
+                
+                List<PersonResponseDto> items = page.stream()
+                        .map(personMapper::toResponseDto)
+                        .toList();
+                String nextCursor = hasMore ? KeysetCursor.encode(page.get(page.size() - 1).getId()) : null;
+                return new PageResponseDto<>(items, nextCursor);
+            } catch (Exception e) {
+                log.error("Erro ao listar página de pessoas: {}", e.getMessage(), e);
+                throw new RuntimeException("Erro ao listar pessoas: " + e.getMessage(), e);
+            }
+        }, requestExecutor);
     }
 
     @Override
@@ -122,7 +211,13 @@ public class PersonUseCaseImpl implements PersonUseCase {
                 log.error("Erro ao buscar pessoas por nome {}: {}", name, e.getMessage(), e);
                 throw new RuntimeException("Erro ao buscar pessoas: " + e.getMessage(), e);
             }
-        });
+        }, requestExecutor);
+    }
+
+    @Override
+    public void exportPersons(Consumer<PersonResponseDto> sink) {
+        log.debug("Iniciando exportação de pessoas em modo streaming");
+        personService.forEachPerson(person -> sink.accept(personMapper.toResponseDto(person)));
     }
 
     @Override
@@ -137,7 +232,173 @@ public class PersonUseCaseImpl implements PersonUseCase {
                 log.error("Erro ao remover pessoa com ID {}: {}", id, e.getMessage(), e);
                 throw new RuntimeException("Erro ao remover pessoa: " + e.getMessage(), e);
             }
-        });
+        }, requestExecutor);
+    }
+
+    @Override
+    public BulkImportResponseDto importPersons(Iterator<PersonRequestDto> rows) {
+        log.debug("Iniciando importação em lote de pessoas");
+        
+        BulkImportResponseDto result = new BulkImportResponseDto();
+        List<PersonRequestDto> chunk = new ArrayList<>(IMPORT_BATCH_SIZE);
+        long firstRow = 0;
+        String parseError = null;
+        
+        while (true) {
+            PersonRequestDto row;
+            // Só a leitura fica no try: uma falha ao gravar não é registro inválido
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                row = rows.next();
+            } catch (RuntimeException e) {
+                // Corpo malformado: o que já foi lido é importado e a leitura para aqui
+                parseError = "Registro inválido, importação interrompida: " + e.getMessage();
+                break;
+            }
+            chunk.add(row);
+            if (chunk.size() == IMPORT_BATCH_SIZE) {
+                importChunk(chunk, firstRow, result);
+                firstRow += chunk.size();
+                chunk.clear();
+            }
+        }
+        
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, firstRow, result);
+            firstRow += chunk.size();
+        }
+        if (parseError != null) {
+            addError(result, firstRow, null, parseError);
+        }
+        
+        log.info("Importação em lote concluída. Recebidas: {}, importadas: {}, rejeitadas: {}",
+                result.getReceived(), result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void importChunk(List<PersonRequestDto> chunk, long firstRow, BulkImportResponseDto result) {
+        result.setReceived(result.getReceived() + chunk.size());
+        
+        List<String> violations = chunk.parallelStream()
+                .map(this::firstViolation)
+                .toList();
+        
+        List<Person> persons = new ArrayList<>(chunk.size());
+        List<Integer> positions = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (violations.get(i) != null) {
+                PersonRequestDto dto = chunk.get(i);
+                addError(result, firstRow + i, dto != null ? dto.getCpf() : null, violations.get(i));
+            } else {
+                persons.add(personMapper.toEntity(chunk.get(i)));
+                positions.add(i);
+            }
+        }
+        
+        if (persons.isEmpty()) {
+            return;
+        }
+        
+        try {
+            Map<Integer, String> errors = personService.importPersons(persons);
+            errors.forEach((position, message) ->
+                    addError(result, firstRow + positions.get(position), persons.get(position).getCpf(), message));
+            result.setImported(result.getImported() + persons.size() - errors.size());
+        } catch (Exception e) {
+            log.error("Erro ao gravar lote iniciado na linha {}: {}", firstRow, e.getMessage(), e);
+            for (int i = 0; i < persons.size(); i++) {
+                addError(result, firstRow + positions.get(i), persons.get(i).getCpf(),
+                        "Erro ao gravar o lote: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public PersonValidationResponseDto validatePersons(Iterator<PersonRequestDto> rows) {
+        log.debug("Iniciando validação em lote de pessoas");
+        
+        PersonValidationResponseDto result = new PersonValidationResponseDto();
+        List<PersonRequestDto> chunk = new ArrayList<>(VALIDATION_BATCH_SIZE);
+        long firstRow = 0;
+        String parseError = null;
+        
+        while (true) {
+            PersonRequestDto row;
+            // Só a leitura fica no try: um erro da própria validação não vira registro inválido
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                row = rows.next();
+            } catch (RuntimeException e) {
+                parseError = "Registro inválido, validação interrompida: " + e.getMessage();
+                break;
+            }
+            chunk.add(row);
+            if (chunk.size() == VALIDATION_BATCH_SIZE) {
+                validateChunk(chunk, firstRow, result);
+                firstRow += chunk.size();
+                chunk.clear();
+            }
+        }
+        
+        if (!chunk.isEmpty()) {
+            validateChunk(chunk, firstRow, result);
+            firstRow += chunk.size();
+        }
+        if (parseError != null) {
+            addError(result, firstRow, null, parseError);
+        }
+        
+        log.info("Validação em lote concluída. Recebidas: {}, válidas: {}, inválidas: {}",
+                result.getReceived(), result.getValid(), result.getInvalid());
+        return result;
+    }
+
+    private void validateChunk(List<PersonRequestDto> chunk, long firstRow, PersonValidationResponseDto result) {
+        result.setReceived(result.getReceived() + chunk.size());
+        
+        List<String> violations = chunk.parallelStream()
+                .map(dto -> dto == null
+                        ? "Registro vazio"
+                        : PersonValidator.firstViolation(dto.getName(), dto.getCpf(), dto.getPhone(), dto.getEmail()))
+                .toList();
+        
+        for (int i = 0; i < chunk.size(); i++) {
+            if (violations.get(i) == null) {
+                result.setValid(result.getValid() + 1);
+            } else {
+                PersonRequestDto dto = chunk.get(i);
+                addError(result, firstRow + i, dto != null ? dto.getCpf() : null, violations.get(i));
+            }
+        }
+    }
+
+    private void addError(PersonValidationResponseDto result, long row, String cpf, String message) {
+        result.setInvalid(result.getInvalid() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new BulkImportErrorDto(row, cpf, message));
+        }
+    }
+
+    private String firstViolation(PersonRequestDto dto) {
+        if (dto == null) {
+            return "Registro vazio";
+        }
+        return validator.validate(dto).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void addError(BulkImportResponseDto result, long row, String cpf, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new BulkImportErrorDto(row, cpf, message));
+        }
     }
 
     @Override
@@ -146,12 +407,32 @@ public class PersonUseCaseImpl implements PersonUseCase {
         
         return CompletableFuture.supplyAsync(() -> {
             try {
-                // Esta operação seria implementada no repositório se necessário
-                return (long) personService.listAllPersons().size();
+                return personService.countPersons();
             } catch (Exception e) {
                 log.error("Erro ao contar pessoas: {}", e.getMessage(), e);
                 throw new RuntimeException("Erro ao contar pessoas: " + e.getMessage(), e);
             }
-        });
+        }, requestExecutor);
+    }
+
+    @Override
+    public CompletableFuture<PersonStatsResponseDto> getPersonStats() {
+        log.debug("Iniciando busca de estatísticas de pessoas de forma assíncrona");
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                PersonAggregates aggregates = personService.getPersonAggregates();
+                return new PersonStatsResponseDto(aggregates.getTotal(),
+                        aggregates.getCountByEmailDomain(), aggregates.getCountByAreaCode());
+            } catch (Exception e) {
+                log.error("Erro ao buscar estatísticas de pessoas: {}", e.getMessage(), e);
+                throw new RuntimeException("Erro ao buscar estatísticas de pessoas: " + e.getMessage(), e);
+            }
+        }, requestExecutor);
+    }
+
+    @Override
+    public long modificationCount() {
+        return personService.modificationCount();
     }
 }
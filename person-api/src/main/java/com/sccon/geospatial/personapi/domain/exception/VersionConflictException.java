@@ -0,0 +1,25 @@
+package com.sccon.geospatial.personapi.domain.exception;
+
+/**
+ * Precondição de versão não atendida: a escrita condicional ({@code If-Match}) foi
+ * feita sobre uma versão que não é mais a atual do registro.
+ */
+public class VersionConflictException extends RuntimeException {
+
+    private final Long id;
+    private final Long currentVersion;
+
+    public VersionConflictException(Long id, Long currentVersion) {
+        super("A versão informada da pessoa com ID " + id + " não é a atual (" + currentVersion + ")");
+        this.id = id;
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -1,5 +1,6 @@
 package com.sccon.geospatial.personapi.domain.model;
 
+import com.sccon.geospatial.personapi.domain.validation.PersonValidator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,13 +13,15 @@ import java.util.Objects;
 @Entity
 @Table(name = "persons")
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Person {
 
+    // Sequência com otimizador pooled: IDs reservados em blocos permitem batch de INSERTs (IDENTITY impede)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "persons_seq")
+    @SequenceGenerator(name = "persons_seq", sequenceName = "persons_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -39,6 +42,23 @@ public class Person {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Incrementada a cada gravação; base do ETag forte de GET /api/v1/persons/{id}
+    @Version
+    private Long version;
+
+    // Os 11 dígitos do CPF, calculados na gravação: unicidade e buscas por CPF no banco
+    // independem da máscara, como no índice do repositório em memória
+    @Column(name = "cpf_key", nullable = false, unique = true)
+    private Long cpfKey;
+
+    // Facetas dos agregados, calculadas na gravação pelas mesmas regras do repositório em
+    // memória (PersonAggregates), para que o GROUP BY do banco produza os mesmos grupos
+    @Column(name = "email_domain", length = 100)
+    private String emailDomain;
+
+    @Column(name = "area_code", length = 2)
+    private String areaCode;
+
     public Long getId() {
         return id;
     }
@@ -95,40 +115,63 @@ public class Person {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getCpfKey() {
+        return cpfKey;
+    }
+
+    public void setCpfKey(Long cpfKey) {
+        this.cpfKey = cpfKey;
+    }
+
+    public String getEmailDomain() {
+        return emailDomain;
+    }
+
+    public void setEmailDomain(String emailDomain) {
+        this.emailDomain = emailDomain;
+    }
+
+    public String getAreaCode() {
+        return areaCode;
+    }
+
+    public void setAreaCode(String areaCode) {
+        this.areaCode = areaCode;
+    }
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
+        deriveKeys();
     }
 
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        deriveKeys();
+    }
+
+    private void deriveKeys() {
+        this.cpfKey = PersonValidator.cpfKey(cpf);
+        this.emailDomain = PersonAggregates.emailDomainOf(email);
+        this.areaCode = PersonAggregates.areaCodeOf(phone);
     }
 
     /**
-     * Valida se o CPF está no formato correto
+     * Valida o CPF: 11 dígitos, não todos iguais, com dígitos verificadores corretos
      * @return true se o CPF é válido, false caso contrário
      */
     public boolean isValidCpf() {
-        if (cpf == null || cpf.trim().isEmpty()) {
-            return false;
-        }
-        
-        // Remove caracteres não numéricos
-        String cleanCpf = cpf.replaceAll("[^0-9]", "");
-        
-        // Verifica se tem 11 dígitos
-        if (cleanCpf.length() != 11) {
-            return false;
-        }
-        
-        // Verifica se não são todos os dígitos iguais
-        if (cleanCpf.matches("(\\d)\\1{10}")) {
-            return false;
-        }
-        
-        return true;
+        return PersonValidator.isValidCpf(cpf);
     }
 
     @Override
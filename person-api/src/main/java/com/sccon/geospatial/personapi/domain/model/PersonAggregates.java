@@ -0,0 +1,77 @@
+package com.sccon.geospatial.personapi.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Agregados do cadastro de pessoas: total, contagem por domínio de email
+ * e por DDD do telefone.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonAggregates {
+
+    private long total;
+    private Map<String, Long> countByEmailDomain;
+    private Map<String, Long> countByAreaCode;
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getCountByEmailDomain() {
+        return countByEmailDomain;
+    }
+
+    public void setCountByEmailDomain(Map<String, Long> countByEmailDomain) {
+        this.countByEmailDomain = countByEmailDomain;
+    }
+
+    public Map<String, Long> getCountByAreaCode() {
+        return countByAreaCode;
+    }
+
+    public void setCountByAreaCode(Map<String, Long> countByAreaCode) {
+        this.countByAreaCode = countByAreaCode;
+    }
+
+    /**
+     * Domínio do email em minúsculas, ou null se o email não tiver '@'.
+     */
+    public static String emailDomainOf(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.lastIndexOf('@');
+        return at < 0 || at == email.length() - 1 ? null : email.substring(at + 1).trim().toLowerCase();
+    }
+
+    /**
+     * DDD (dois primeiros dígitos) de telefones com 10 ou 11 dígitos, ou null.
+     */
+    public static String areaCodeOf(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        char[] ddd = new char[2];
+        int digits = 0;
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits < 2) {
+                    ddd[digits] = c;
+                }
+                digits++;
+            }
+        }
+        return digits == 10 || digits == 11 ? new String(ddd) : null;
+    }
+}
@@ -26,6 +26,10 @@ public class Pessoa {
     @Column(name = "data_admissao", nullable = false)
     private LocalDate dataAdmissao;
 
+    // Incrementada a cada gravação; base do ETag forte de GET /person/{id}
+    @Version
+    private Long versao;
+
     public Pessoa() {
 
     }
@@ -62,6 +66,14 @@ public class Pessoa {
         this.dataAdmissao = dataAdmissao;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public Pessoa(Long id, String nome, LocalDate dataNascimento, LocalDate dataAdmissao) {
         this.id = id;
         this.nome = nome;
@@ -1,26 +1,70 @@
 package com.sccon.geospatial.personapi.domain.repository;
 
 import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.model.PersonAggregates;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 
 public interface PersonRepository {
 
     Person save(Person person);
 
+    List<Person> saveAll(List<Person> persons);
+
+    /**
+     * Troca condicional: grava {@code updated} no lugar de {@code current} somente se
+     * {@code current} ainda for o valor gravado para o ID, isto é, se nenhuma outra escrita
+     * aconteceu desde a leitura. O registro gravado não é alterado no lugar.
+     *
+     * @return a pessoa gravada, com a nova versão; vazio se outra escrita chegou antes
+     *         (o chamador relê e tenta de novo)
+     */
+    Optional<Person> replace(Person current, Person updated);
+
     Optional<Person> findById(Long id);
 
     Optional<Person> findByCpf(String cpf);
 
     List<Person> findAll();
 
+    /**
+     * Página por keyset: até {@code limit} pessoas com ID maior que {@code afterId}, em ordem de ID.
+     * {@code afterId} nulo retorna a primeira página.
+     */
+    List<Person> findPageAfterId(Long afterId, int limit);
+
     List<Person> findByNameContainingIgnoreCase(String name);
 
+    /**
+     * Percorre todas as pessoas em ordem de ID sem materializar a coleção.
+     * O stream deve ser fechado pelo chamador (try-with-resources).
+     */
+    Stream<Person> streamAll();
+
     boolean existsByCpf(String cpf);
 
+    /**
+     * Verificação de unicidade em lote: retorna os CPFs informados que já estão cadastrados.
+     */
+    Set<String> findExistingCpfs(Collection<String> cpfs);
+
     void deleteById(Long id);
 
     long count();
+
+    /**
+     * Total e contagens por domínio de email e por DDD, sem materializar as pessoas.
+     */
+    PersonAggregates aggregates();
+
+    /**
+     * Contador de escritas (gravações e remoções) desde a inicialização: muda sempre que
+     * o conteúdo do repositório muda. Base do ETag das listagens.
+     */
+    long modificationCount();
 }
@@ -2,6 +2,8 @@ package com.sccon.geospatial.personapi.domain.repository;
 
 import com.sccon.geospatial.personapi.domain.model.Pessoa;
 
+import java.time.LocalDate;
+import java.time.MonthDay;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,10 +11,57 @@ public interface PessoaRepository {
 
     Pessoa save(Pessoa pessoa);
 
+    /**
+     * Grava o lote de uma vez, sem log por pessoa; usado pela carga inicial.
+     * Pessoas sem ID recebem os próximos IDs da sequência.
+     */
+    List<Pessoa> saveAll(List<Pessoa> pessoas);
+
+    /**
+     * Troca condicional: grava {@code nova} no lugar de {@code atual} somente se nenhuma
+     * outra escrita aconteceu no ID desde que {@code atual} foi lida. O registro gravado
+     * não é alterado no lugar.
+     *
+     * @return a pessoa gravada, com a nova versão; vazio se outra escrita chegou antes
+     *         (o chamador relê e tenta de novo)
+     */
+    Optional<Pessoa> replace(Pessoa atual, Pessoa nova);
+
     Optional<Pessoa> findById(Long id);
 
     List<Pessoa> findAllOrderByNome();
 
+    /**
+     * Página por keyset: até {@code limit} pessoas com ID maior que {@code afterId}, em ordem de ID.
+     * {@code afterId} nulo retorna a primeira página.
+     */
+    List<Pessoa> findPageAfterId(Long afterId, int limit);
+
+    /**
+     * Pessoas nascidas entre {@code de} e {@code ate}, inclusive, em ordem de nascimento e ID.
+     * Um limite nulo deixa aquele lado do intervalo aberto.
+     */
+    List<Pessoa> findByDataNascimentoBetween(LocalDate de, LocalDate ate);
+
+    /**
+     * Pessoas admitidas entre {@code de} e {@code ate}, inclusive, em ordem de admissão e ID.
+     * Um limite nulo deixa aquele lado do intervalo aberto.
+     */
+    List<Pessoa> findByDataAdmissaoBetween(LocalDate de, LocalDate ate);
+
+    /**
+     * Pessoas que fazem aniversário entre {@code de} e {@code ate}, inclusive, em ordem de mês,
+     * dia e ID; com {@code de} depois de {@code ate}, o intervalo atravessa a virada do ano.
+     */
+    List<Pessoa> findByAniversarioBetween(MonthDay de, MonthDay ate);
+
+    /**
+     * Datas de admissão de todas as pessoas em epoch-day, uma por pessoa e sem ordem definida;
+     * pessoas sem data de admissão ficam de fora. Base de cálculos agregados que não precisam
+     * montar cada {@link Pessoa}.
+     */
+    int[] findAllDataAdmissaoEpochDay();
+
     boolean existsById(Long id);
 
     void deleteById(Long id);
@@ -20,4 +69,10 @@ public interface PessoaRepository {
     long count();
 
     Long getNextId();
+
+    /**
+     * Contador de escritas (gravações e remoções) desde a inicialização: muda sempre que
+     * o conteúdo do repositório muda. Base do ETag das listagens.
+     */
+    long modificationCount();
 }
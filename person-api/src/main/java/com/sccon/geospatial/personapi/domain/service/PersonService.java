@@ -1,9 +1,14 @@
 package com.sccon.geospatial.personapi.domain.service;
 
+import com.sccon.geospatial.personapi.domain.exception.VersionConflictException;
 import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.model.PersonAggregates;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public interface PersonService {
 
@@ -11,15 +16,44 @@ public interface PersonService {
 
     Person updatePerson(Long id, Person person);
 
+    /**
+     * Atualiza sem alterar a pessoa gravada no lugar: monta uma cópia com os novos dados e a
+     * grava com troca condicional, relendo e tentando de novo (até um limite) quando outra
+     * escrita chega antes.
+     *
+     * @param expectedVersion precondição do {@code If-Match} sobre a versão atual; null aceita qualquer versão
+     * @throws VersionConflictException se a versão atual não atende à precondição
+     */
+    Person updatePerson(Long id, Person person, Predicate<Long> expectedVersion);
+
     Optional<Person> findPersonById(Long id);
 
     Optional<Person> findPersonByCpf(String cpf);
 
     List<Person> listAllPersons();
 
+    List<Person> listPersonsPage(Long afterId, int limit);
+
     List<Person> searchPersonsByName(String name);
 
+    void forEachPerson(Consumer<Person> action);
+
     void deletePerson(Long id);
 
+    /**
+     * Importa um lote de pessoas em uma única gravação.
+     * @return mensagens de erro indexadas pela posição no lote; vazio se todas foram gravadas
+     */
+    Map<Integer, String> importPersons(List<Person> persons);
+
+    long countPersons();
+
+    PersonAggregates getPersonAggregates();
+
+    /**
+     * Contador de escritas do repositório; muda sempre que alguma pessoa muda.
+     */
+    long modificationCount();
+
     void validatePerson(Person person);
 }
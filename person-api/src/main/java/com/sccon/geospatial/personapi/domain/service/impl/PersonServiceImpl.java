@@ -1,15 +1,29 @@
 package com.sccon.geospatial.personapi.domain.service.impl;
 
+import com.sccon.geospatial.personapi.domain.exception.VersionConflictException;
 import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.model.PersonAggregates;
 import com.sccon.geospatial.personapi.domain.repository.PersonRepository;
 import com.sccon.geospatial.personapi.domain.service.PersonService;
+import com.sccon.geospatial.personapi.domain.validation.PersonValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 
 @Service
@@ -17,6 +31,9 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class PersonServiceImpl implements PersonService {
 
+    // Tentativas de troca condicional antes de desistir de uma atualização muito disputada
+    private static final int MAX_UPDATE_ATTEMPTS = 16;
+
     private final PersonRepository personRepository;
 
     public PersonServiceImpl(PersonRepository personRepository) {
@@ -35,7 +52,7 @@ public class PersonServiceImpl implements PersonService {
         }
         
         Person savedPerson = personRepository.save(person);
-        log.info("Pessoa criada com sucesso. ID: {}, Nome: {}", savedPerson.getId(), savedPerson.getName());
+        log.debug("Pessoa criada com sucesso. ID: {}, Nome: {}", savedPerson.getId(), savedPerson.getName());
         
         return savedPerson;
     }
@@ -43,27 +60,49 @@ public class PersonServiceImpl implements PersonService {
     @Override
     @Transactional
     public Person updatePerson(Long id, Person person) {
+        return updatePerson(id, person, null);
+    }
+
+    @Override
+    @Transactional
+    public Person updatePerson(Long id, Person person, Predicate<Long> expectedVersion) {
         log.debug("Atualizando pessoa com ID: {}", id);
         
-        Person existingPerson = personRepository.findById(id)
-                .orElseThrow(() -> new IllegalStateException("Pessoa não encontrada com ID: " + id));
-        
         validatePerson(person);
+        
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            Person existingPerson = personRepository.findById(id)
+                    .orElseThrow(() -> new IllegalStateException("Pessoa não encontrada com ID: " + id));
+            
+            if (expectedVersion != null && !expectedVersion.test(existingPerson.getVersion())) {
+                throw new VersionConflictException(id, existingPerson.getVersion());
+            }
 
-        if (!existingPerson.getCpf().equals(person.getCpf()) && 
-            personRepository.existsByCpf(person.getCpf())) {
-            throw new IllegalStateException("Já existe uma pessoa cadastrada com o CPF: " + person.getCpf());
-        }
+            // O mesmo CPF com ou sem máscara continua sendo o da própria pessoa
+            if (PersonValidator.cpfKey(existingPerson.getCpf()) != PersonValidator.cpfKey(person.getCpf()) &&
+                personRepository.existsByCpf(person.getCpf())) {
+                throw new IllegalStateException("Já existe uma pessoa cadastrada com o CPF: " + person.getCpf());
+            }
 
-        existingPerson.setName(person.getName());
-        existingPerson.setCpf(person.getCpf());
-        existingPerson.setPhone(person.getPhone());
-        existingPerson.setEmail(person.getEmail());
-        
-        Person updatedPerson = personRepository.save(existingPerson);
-        log.info("Pessoa atualizada com sucesso. ID: {}, Nome: {}", updatedPerson.getId(), updatedPerson.getName());
+            // A pessoa gravada é compartilhada com leitores concorrentes e nunca é alterada no lugar
+            Person changedPerson = existingPerson.toBuilder()
+                    .name(person.getName())
+                    .cpf(person.getCpf())
+                    .phone(person.getPhone())
+                    .email(person.getEmail())
+                    .build();
+            
+            Optional<Person> updatedPerson = personRepository.replace(existingPerson, changedPerson);
+            if (updatedPerson.isPresent()) {
+                log.debug("Pessoa atualizada com sucesso. ID: {}, Nome: {}, versão: {}",
+                        id, updatedPerson.get().getName(), updatedPerson.get().getVersion());
+                return updatedPerson.get();
+            }
+            log.debug("Escrita concorrente na pessoa com ID {}; nova tentativa ({}/{})", id, attempt, MAX_UPDATE_ATTEMPTS);
+        }
         
-        return updatedPerson;
+        throw new ConcurrentModificationException("Não foi possível atualizar a pessoa com ID " + id
+                + " após " + MAX_UPDATE_ATTEMPTS + " tentativas concorrentes");
     }
 
     @Override
@@ -84,12 +123,47 @@ public class PersonServiceImpl implements PersonService {
         return personRepository.findAll();
     }
 
+    @Override
+    public List<Person> listPersonsPage(Long afterId, int limit) {
+        log.debug("Listando página de pessoas após ID: {} (limite {})", afterId, limit);
+        return personRepository.findPageAfterId(afterId, limit);
+    }
+
     @Override
     public List<Person> searchPersonsByName(String name) {
         log.debug("Buscando pessoas por nome: {}", name);
         return personRepository.findByNameContainingIgnoreCase(name);
     }
 
+    /**
+     * Aplica a ação a cada pessoa dentro de uma única transação de leitura,
+     * mantendo o cursor do repositório aberto até o fim do percurso.
+     */
+    @Override
+    public void forEachPerson(Consumer<Person> action) {
+        log.debug("Percorrendo todas as pessoas em modo streaming");
+        try (Stream<Person> persons = personRepository.streamAll()) {
+            persons.forEach(action);
+        }
+    }
+
+    @Override
+    public long countPersons() {
+        log.debug("Contando total de pessoas");
+        return personRepository.count();
+    }
+
+    @Override
+    public PersonAggregates getPersonAggregates() {
+        log.debug("Buscando agregados de pessoas");
+        return personRepository.aggregates();
+    }
+
+    @Override
+    public long modificationCount() {
+        return personRepository.modificationCount();
+    }
+
     @Override
     @Transactional
     public void deletePerson(Long id) {
@@ -100,54 +174,55 @@ public class PersonServiceImpl implements PersonService {
         }
         
         personRepository.deleteById(id);
-        log.info("Pessoa removida com sucesso. ID: {}", id);
+        log.debug("Pessoa removida com sucesso. ID: {}", id);
     }
 
     @Override
-    public void validatePerson(Person person) {
-        if (person == null) {
-            throw new IllegalArgumentException("Pessoa não pode ser nula");
-        }
-        
-        if (person.getName() == null || person.getName().trim().isEmpty()) {
-            throw new IllegalArgumentException("Nome é obrigatório");
-        }
-        
-        if (person.getName().trim().length() < 2) {
-            throw new IllegalArgumentException("Nome deve ter pelo menos 2 caracteres");
-        }
-        
-        if (person.getName().trim().length() > 100) {
-            throw new IllegalArgumentException("Nome deve ter no máximo 100 caracteres");
-        }
-        
-        if (person.getCpf() == null || person.getCpf().trim().isEmpty()) {
-            throw new IllegalArgumentException("CPF é obrigatório");
-        }
-        
-        if (!person.isValidCpf()) {
-            throw new IllegalArgumentException("CPF inválido");
-        }
-        
-        if (person.getEmail() != null && !person.getEmail().trim().isEmpty()) {
-            if (!isValidEmail(person.getEmail())) {
-                throw new IllegalArgumentException("Email inválido");
+    @Transactional
+    public Map<Integer, String> importPersons(List<Person> persons) {
+        log.debug("Importando lote de {} pessoas", persons.size());
+        
+        Map<Integer, String> errors = new ConcurrentHashMap<>();
+        IntStream.range(0, persons.size()).parallel().forEach(i -> {
+            try {
+                validatePerson(persons.get(i));
+            } catch (IllegalArgumentException e) {
+                errors.put(i, e.getMessage());
             }
-        }
-        
-        if (person.getPhone() != null && !person.getPhone().trim().isEmpty()) {
-            if (!isValidPhone(person.getPhone())) {
-                throw new IllegalArgumentException("Telefone inválido");
+        });
+        
+        List<String> cpfs = IntStream.range(0, persons.size())
+                .filter(i -> !errors.containsKey(i))
+                .mapToObj(i -> persons.get(i).getCpf())
+                .toList();
+        Set<String> existingCpfs = personRepository.findExistingCpfs(cpfs);
+        
+        // Repetições no lote comparam o CPF normalizado: com e sem máscara são o mesmo CPF
+        Set<Long> batchCpfs = new HashSet<>();
+        List<Person> accepted = new ArrayList<>(cpfs.size());
+        for (int i = 0; i < persons.size(); i++) {
+            if (errors.containsKey(i)) {
+                continue;
+            }
+            String cpf = persons.get(i).getCpf();
+            if (existingCpfs.contains(cpf) || !batchCpfs.add(PersonValidator.cpfKey(cpf))) {
+                errors.put(i, "Já existe uma pessoa cadastrada com o CPF: " + cpf);
+            } else {
+                accepted.add(persons.get(i));
             }
         }
+        
+        personRepository.saveAll(accepted);
+        log.info("Lote importado. Gravadas: {}, rejeitadas: {}", accepted.size(), errors.size());
+        
+        return new TreeMap<>(errors);
     }
 
-    private boolean isValidEmail(String email) {
-        return email.matches("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
-    }
-
-    private boolean isValidPhone(String phone) {
-        String cleanPhone = phone.replaceAll("[^0-9]", "");
-        return cleanPhone.length() >= 10 && cleanPhone.length() <= 11;
+    @Override
+    public void validatePerson(Person person) {
+        String violation = PersonValidator.firstViolation(person);
+        if (violation != null) {
+            throw new IllegalArgumentException(violation);
+        }
     }
 }
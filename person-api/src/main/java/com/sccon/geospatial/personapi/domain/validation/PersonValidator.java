@@ -0,0 +1,232 @@
+package com.sccon.geospatial.personapi.domain.validation;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+
+/**
+ * Regras de validação de pessoa em passada única sobre {@link CharSequence}, sem regex
+ * e sem alocação: nenhum método cria String, array ou Matcher, e as violações são
+ * devolvidas como mensagens constantes.
+ */
+public final class PersonValidator {
+
+    public static final String NULL_PERSON = "Pessoa não pode ser nula";
+    public static final String NAME_REQUIRED = "Nome é obrigatório";
+    public static final String NAME_TOO_SHORT = "Nome deve ter pelo menos 2 caracteres";
+    public static final String NAME_TOO_LONG = "Nome deve ter no máximo 100 caracteres";
+    public static final String CPF_REQUIRED = "CPF é obrigatório";
+    public static final String CPF_INVALID = "CPF inválido";
+    public static final String EMAIL_INVALID = "Email inválido";
+    public static final String PHONE_INVALID = "Telefone inválido";
+
+    /** Chave de um CPF sem 11 dígitos; nenhum CPF normalizado é negativo. */
+    public static final long INVALID_CPF_KEY = -1L;
+
+    private static final int NAME_MIN_LENGTH = 2;
+    private static final int NAME_MAX_LENGTH = 100;
+    private static final int CPF_DIGITS = 11;
+    private static final int PHONE_MIN_DIGITS = 10;
+    private static final int PHONE_MAX_DIGITS = 11;
+    private static final int EMAIL_MIN_TLD_LENGTH = 2;
+
+    private PersonValidator() {
+    }
+
+    /**
+     * @return a primeira regra violada, ou null se a pessoa é válida
+     */
+    public static String firstViolation(Person person) {
+        if (person == null) {
+            return NULL_PERSON;
+        }
+        return firstViolation(person.getName(), person.getCpf(), person.getPhone(), person.getEmail());
+    }
+
+    /**
+     * Nome (2 a 100 caracteres, sem contar espaços nas pontas) e CPF são obrigatórios;
+     * email e telefone só são validados quando informados.
+     *
+     * @return a primeira regra violada, ou null se os campos são válidos
+     */
+    public static String firstViolation(CharSequence name, CharSequence cpf, CharSequence phone, CharSequence email) {
+        int nameLength = trimmedLength(name);
+        if (nameLength == 0) {
+            return NAME_REQUIRED;
+        }
+        if (nameLength < NAME_MIN_LENGTH) {
+            return NAME_TOO_SHORT;
+        }
+        if (nameLength > NAME_MAX_LENGTH) {
+            return NAME_TOO_LONG;
+        }
+        if (trimmedLength(cpf) == 0) {
+            return CPF_REQUIRED;
+        }
+        if (!isValidCpf(cpf)) {
+            return CPF_INVALID;
+        }
+        if (trimmedLength(email) > 0 && !isValidEmail(email)) {
+            return EMAIL_INVALID;
+        }
+        if (trimmedLength(phone) > 0 && !isValidPhone(phone)) {
+            return PHONE_INVALID;
+        }
+        return null;
+    }
+
+    /**
+     * CPF com 11 dígitos, não todos iguais e com os dois dígitos verificadores (módulo 11)
+     * corretos. Como na validação anterior, qualquer caractere que não seja dígito é
+     * tratado como máscara e ignorado.
+     */
+    public static boolean isValidCpf(CharSequence cpf) {
+        if (cpf == null) {
+            return false;
+        }
+
+        int digits = 0;
+        int first = 0;
+        boolean allEqual = true;
+        // Pesos 10..2 para o primeiro verificador e 11..2 para o segundo
+        int firstSum = 0;
+        int secondSum = 0;
+        int firstCheck = 0;
+        int secondCheck = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                int digit = c - '0';
+                if (digits == 0) {
+                    first = digit;
+                } else if (digit != first) {
+                    allEqual = false;
+                }
+
+                if (digits < 9) {
+                    firstSum += digit * (10 - digits);
+                    secondSum += digit * (11 - digits);
+                } else if (digits == 9) {
+                    firstCheck = digit;
+                    secondSum += digit * 2;
+                } else if (digits == 10) {
+                    secondCheck = digit;
+                } else {
+                    return false;
+                }
+                digits++;
+            }
+        }
+
+        return digits == CPF_DIGITS && !allEqual
+                && firstCheck == checkDigit(firstSum) && secondCheck == checkDigit(secondSum);
+    }
+
+    /**
+     * Os 11 dígitos do CPF como long, com ou sem máscara: a forma canônica usada para
+     * unicidade, de modo que "123.456.789-09" e "12345678909" são o mesmo CPF.
+     * @return a chave, ou {@link #INVALID_CPF_KEY} se o CPF não tiver 11 dígitos
+     */
+    public static long cpfKey(CharSequence cpf) {
+        if (cpf == null) {
+            return INVALID_CPF_KEY;
+        }
+
+        long key = 0;
+        int digits = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > CPF_DIGITS) {
+                    return INVALID_CPF_KEY;
+                }
+                key = key * 10 + (c - '0');
+            }
+        }
+
+        return digits == CPF_DIGITS ? key : INVALID_CPF_KEY;
+    }
+
+    /**
+     * Telefone com 10 ou 11 dígitos (DDD + número); os demais caracteres são formatação
+     * e não entram na contagem.
+     */
+    public static boolean isValidPhone(CharSequence phone) {
+        if (phone == null) {
+            return false;
+        }
+
+        int digits = 0;
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            }
+        }
+        return digits >= PHONE_MIN_DIGITS && digits <= PHONE_MAX_DIGITS;
+    }
+
+    /**
+     * Equivalente a {@code ^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\.[A-Za-z]{2,})$}: parte local
+     * não vazia, um único '@', e domínio cujo último rótulo tem ao menos duas letras.
+     */
+    public static boolean isValidEmail(CharSequence email) {
+        if (email == null) {
+            return false;
+        }
+
+        int at = -1;
+        int lastDot = -1;
+        int tldLength = 0;
+        boolean tldLetters = true;
+        for (int i = 0; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            } else if (at < 0) {
+                if (!isAsciiLetterOrDigit(c) && c != '+' && c != '_' && c != '.' && c != '-') {
+                    return false;
+                }
+            } else if (c == '.') {
+                lastDot = i;
+                tldLength = 0;
+                tldLetters = true;
+            } else if (isAsciiLetterOrDigit(c) || c == '-') {
+                tldLength++;
+                tldLetters &= !(c >= '0' && c <= '9') && c != '-';
+            } else {
+                return false;
+            }
+        }
+
+        return at > 0 && lastDot > at + 1 && tldLength >= EMAIL_MIN_TLD_LENGTH && tldLetters;
+    }
+
+    private static int checkDigit(int sum) {
+        int remainder = sum * 10 % 11;
+        return remainder == 10 ? 0 : remainder;
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * Comprimento após descartar, nas pontas, os caracteres que {@link String#trim()} descarta.
+     */
+    private static int trimmedLength(CharSequence value) {
+        if (value == null) {
+            return 0;
+        }
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end - start;
+    }
+}
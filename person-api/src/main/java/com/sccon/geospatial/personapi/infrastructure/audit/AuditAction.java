@@ -0,0 +1,24 @@
+package com.sccon.geospatial.personapi.infrastructure.audit;
+
+/**
+ * Ação registrada na trilha de auditoria, derivada do método HTTP.
+ */
+public enum AuditAction {
+    READ,
+    CREATE,
+    UPDATE,
+    DELETE;
+
+    /**
+     * @return a ação do método HTTP, ou null para métodos que não são auditados (OPTIONS, TRACE)
+     */
+    public static AuditAction of(String httpMethod) {
+        return switch (httpMethod) {
+            case "GET", "HEAD" -> READ;
+            case "POST" -> CREATE;
+            case "PUT", "PATCH" -> UPDATE;
+            case "DELETE" -> DELETE;
+            default -> null;
+        };
+    }
+}
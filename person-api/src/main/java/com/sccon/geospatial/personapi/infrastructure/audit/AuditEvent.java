@@ -0,0 +1,33 @@
+package com.sccon.geospatial.personapi.infrastructure.audit;
+
+/**
+ * Posição do anel de auditoria. As instâncias são alocadas uma vez, na criação do
+ * anel, e reescritas a cada volta; o consumidor só as lê entre a publicação e a
+ * liberação da posição.
+ */
+final class AuditEvent {
+
+    long timestampMillis;
+    AuditAction action;
+    String resource;
+    String id;
+    int status;
+    long durationNanos;
+
+    AuditEvent() {
+    }
+
+    void set(long timestampMillis, AuditAction action, String resource, String id, int status, long durationNanos) {
+        this.timestampMillis = timestampMillis;
+        this.action = action;
+        this.resource = resource;
+        this.id = id;
+        this.status = status;
+        this.durationNanos = durationNanos;
+    }
+
+    void clear() {
+        resource = null;
+        id = null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.sccon.geospatial.personapi.infrastructure.audit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Publica um evento de auditoria por requisição atendida pelos controllers: ação
+ * (pelo método HTTP), padrão da rota, ID da rota, status e duração. Em respostas
+ * assíncronas o evento sai no fim do despacho assíncrono, com o status final.
+ */
+public class AuditInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STARTED_AT = AuditInterceptor.class.getName() + ".startedAt";
+
+    private final AuditTrail auditTrail;
+
+    public AuditInterceptor(AuditTrail auditTrail) {
+        this.auditTrail = auditTrail;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // O despacho assíncrono passa de novo por aqui; vale o início da requisição
+        if (request.getAttribute(STARTED_AT) == null) {
+            request.setAttribute(STARTED_AT, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod)) {
+            return;
+        }
+        AuditAction action = AuditAction.of(request.getMethod());
+        if (action == null) {
+            return;
+        }
+
+        Object startedAt = request.getAttribute(STARTED_AT);
+        long duration = startedAt instanceof Long start ? System.nanoTime() - start : 0;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String id = variables instanceof Map<?, ?> map && map.get("id") instanceof String value ? value : null;
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+
+        auditTrail.record(action, pattern instanceof String resource ? resource : request.getRequestURI(),
+                id, status, duration);
+    }
+}
@@ -0,0 +1,96 @@
+package com.sccon.geospatial.personapi.infrastructure.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Anel limitado, sem travas, para vários produtores e um consumidor (algoritmo de
+ * sequência por posição de D. Vyukov). Cada posição guarda a volta em que pode ser
+ * escrita ({@code seq == tail}) ou lida ({@code seq == head + 1}); o produtor reserva a
+ * posição com um CAS em {@code tail} e a publica com uma escrita release da sequência.
+ * Com o anel cheio, {@link #offer} retorna false na hora: quem produz nunca espera.
+ */
+final class AuditRingBuffer {
+
+    private final AuditEvent[] events;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Só a thread consumidora escreve
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade do anel deve ser potência de 2: " + capacity);
+        }
+        this.events = new AuditEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new AuditEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false se o anel estiver cheio; o evento é descartado
+     */
+    boolean offer(long timestampMillis, AuditAction action, String resource, String id, int status, long durationNanos) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long sequence = sequences.getAcquire(index);
+            long difference = sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    events[index].set(timestampMillis, action, resource, id, status, durationNanos);
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // A posição ainda guarda o evento de uma volta anterior: o consumidor não a liberou
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Entrega ao consumidor até {@code max} eventos publicados, em ordem, liberando
+     * cada posição depois da entrega. Só pode ser chamado pela thread consumidora.
+     *
+     * @return quantidade de eventos entregues
+     */
+    int drain(Consumer<AuditEvent> sink, int max) {
+        long current = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (current & mask);
+            if (sequences.getAcquire(index) != current + 1) {
+                break;
+            }
+            AuditEvent event = events[index];
+            sink.accept(event);
+            event.clear();
+            sequences.setRelease(index, current + events.length);
+            current++;
+            drained++;
+        }
+        head = current;
+        return drained;
+    }
+
+    /**
+     * Eventos reservados e ainda não consumidos (aproximado sob concorrência).
+     */
+    int size() {
+        return (int) Math.max(0, Math.min(events.length, tail.get() - head));
+    }
+
+    int capacity() {
+        return events.length;
+    }
+}
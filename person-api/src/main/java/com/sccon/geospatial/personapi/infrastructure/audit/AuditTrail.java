@@ -0,0 +1,225 @@
+package com.sccon.geospatial.personapi.infrastructure.audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Trilha de auditoria assíncrona. As requisições publicam eventos num
+ * {@link AuditRingBuffer} pré-alocado e seguem em frente; uma thread em segundo plano
+ * retira os eventos em lotes e os grava como JSON (um por linha) num arquivo com rotação.
+ * <p>
+ * Escritas são sempre registradas; leituras, por amostragem. Com o anel cheio o evento
+ * é descartado e contado em {@code personapi.audit.dropped}: a requisição nunca espera
+ * pela gravação.
+ */
+@Component
+@ConditionalOnProperty(name = "person-api.audit.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AuditTrail {
+
+    // Limite de segurança da espera ociosa; normalmente a thread é acordada pelo produtor
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long STOP_TIMEOUT_MILLIS = 5_000;
+
+    private final AuditRingBuffer ring;
+    private final Path file;
+    private final long maxFileBytes;
+    private final int maxHistory;
+    private final int batchSize;
+    private final double readSampleRate;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    // Estado da thread consumidora
+    private final StringBuilder line = new StringBuilder(256);
+    private final Consumer<AuditEvent> appender = this::append;
+    private ByteBuffer batch = ByteBuffer.allocate(64 * 1024);
+    private RollingAuditFile output;
+    private volatile Thread writer;
+    private volatile boolean running;
+    // Ligado pela consumidora antes de dormir; o produtor que o desliga a acorda
+    private final AtomicBoolean idle = new AtomicBoolean();
+
+    public AuditTrail(@Value("${person-api.audit.file:logs/audit.log}") Path file,
+                      @Value("${person-api.audit.buffer-capacity:8192}") int bufferCapacity,
+                      @Value("${person-api.audit.batch-size:256}") int batchSize,
+                      @Value("${person-api.audit.read-sample-rate:0.01}") double readSampleRate,
+                      @Value("${person-api.audit.max-file-size:10MB}") DataSize maxFileSize,
+                      @Value("${person-api.audit.max-history:5}") int maxHistory,
+                      ObjectProvider<MeterRegistry> meterRegistry) {
+        this.ring = new AuditRingBuffer(bufferCapacity);
+        this.file = file;
+        this.maxFileBytes = maxFileSize.toBytes();
+        this.maxHistory = maxHistory;
+        this.batchSize = batchSize;
+        this.readSampleRate = readSampleRate;
+        meterRegistry.ifAvailable(this::bindMetrics);
+    }
+
+    private void bindMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("personapi.audit.dropped", dropped, LongAdder::sum)
+                .description("Eventos de auditoria descartados com o anel cheio")
+                .register(registry);
+        FunctionCounter.builder("personapi.audit.written", written, LongAdder::sum)
+                .description("Eventos de auditoria gravados no arquivo")
+                .register(registry);
+        Gauge.builder("personapi.audit.pending", ring, AuditRingBuffer::size)
+                .description("Eventos de auditoria aguardando gravação")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        output = new RollingAuditFile(file, maxFileBytes, maxHistory);
+        running = true;
+        writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::drainLoop);
+        log.info("Trilha de auditoria em {} (anel de {} eventos, amostragem de leituras {})",
+                file.toAbsolutePath(), ring.capacity(), readSampleRate);
+    }
+
+    /**
+     * Registra o evento sem bloquear. Leituras entram com probabilidade {@code read-sample-rate}.
+     */
+    public void record(AuditAction action, String resource, String id, int status, long durationNanos) {
+        if (action == AuditAction.READ && !sampled()) {
+            return;
+        }
+        if (!ring.offer(System.currentTimeMillis(), action, resource, id, status, durationNanos)) {
+            dropped.increment();
+        } else if (idle.get() && idle.compareAndSet(true, false)) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean sampled() {
+        return readSampleRate >= 1.0
+                || (readSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < readSampleRate);
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long writtenCount() {
+        return written.sum();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (output != null) {
+            output.close();
+        }
+        log.info("Trilha de auditoria encerrada ({} eventos gravados, {} descartados)", written.sum(), dropped.sum());
+    }
+
+    private void drainLoop() {
+        while (true) {
+            boolean stopping = !running;
+            int drained = ring.drain(appender, batchSize);
+            if (drained > 0) {
+                flush(drained);
+            } else if (stopping) {
+                return;
+            } else {
+                park();
+            }
+        }
+    }
+
+    /**
+     * Dorme até um produtor publicar. O sinal é ligado antes de conferir o anel de novo: ou a
+     * conferência vê o evento, ou o produtor vê o sinal e acorda a thread.
+     */
+    private void park() {
+        idle.set(true);
+        if (ring.size() == 0 && running) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        idle.set(false);
+    }
+
+    private void append(AuditEvent event) {
+        line.setLength(0);
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(event.timestampMillis))
+                .append("\",\"action\":\"").append(event.action.name())
+                .append("\",\"resource\":");
+        appendString(event.resource);
+        line.append(",\"id\":");
+        appendString(event.id);
+        line.append(",\"status\":").append(event.status)
+                .append(",\"durationMicros\":").append(TimeUnit.NANOSECONDS.toMicros(event.durationNanos))
+                .append("}\n");
+
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        if (batch.remaining() < bytes.length) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(batch.capacity() << 1, batch.position() + bytes.length));
+            batch.flip();
+            larger.put(batch);
+            batch = larger;
+        }
+        batch.put(bytes);
+    }
+
+    private void appendString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+
+    private void flush(int events) {
+        batch.flip();
+        try {
+            output.write(batch);
+            written.add(events);
+        } catch (IOException e) {
+            // A auditoria não derruba a aplicação: o lote é contado como descartado
+            dropped.add(events);
+            log.warn("Falha ao gravar lote de auditoria em {}: {}", file, e.getMessage());
+        }
+        batch.clear();
+    }
+}
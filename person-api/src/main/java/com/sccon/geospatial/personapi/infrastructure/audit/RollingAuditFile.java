@@ -0,0 +1,86 @@
+package com.sccon.geospatial.personapi.infrastructure.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Arquivo de auditoria com rotação por tamanho: ao passar de {@code maxBytes}, o
+ * arquivo atual vira {@code <nome>.1}, o {@code .1} vira {@code .2} e assim por diante,
+ * mantendo até {@code maxHistory} arquivos antigos. Usado só pela thread consumidora.
+ */
+final class RollingAuditFile implements Closeable {
+
+    private final Path file;
+    private final long maxBytes;
+    private final int maxHistory;
+    private FileChannel channel;
+    private long size;
+
+    RollingAuditFile(Path file, long maxBytes, int maxHistory) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxHistory = maxHistory;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        open();
+    }
+
+    void write(ByteBuffer batch) throws IOException {
+        if (!channel.isOpen()) {
+            // Uma rotação anterior falhou até na reabertura; tenta de novo antes de gravar
+            open();
+        }
+        if (size > 0 && size + batch.remaining() > maxBytes) {
+            roll();
+        }
+        while (batch.hasRemaining()) {
+            size += channel.write(batch);
+        }
+    }
+
+    static Path history(Path file, int number) {
+        return file.resolveSibling(file.getFileName() + "." + number);
+    }
+
+    /**
+     * Se uma das trocas de nome falhar, o arquivo é reaberto mesmo assim (no nome em que
+     * estiver) e a gravação continua nele; a rotação é tentada de novo no próximo lote.
+     */
+    private void roll() throws IOException {
+        channel.close();
+        try {
+            Files.deleteIfExists(history(file, maxHistory));
+            for (int number = maxHistory - 1; number >= 1; number--) {
+                Path older = history(file, number);
+                if (Files.exists(older)) {
+                    Files.move(older, history(file, number + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (maxHistory > 0) {
+                Files.move(file, history(file, 1), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.delete(file);
+            }
+        } finally {
+            open();
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -1,25 +1,28 @@
 package com.sccon.geospatial.personapi.infrastructure.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
 @Configuration
 @EnableAsync
+@Slf4j
 public class AsyncConfig {
 
-    @Bean(name = "virtualThreadExecutor")
-    public Executor virtualThreadExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10);
-        executor.setMaxPoolSize(100);
-        executor.setQueueCapacity(500);
-        executor.setThreadNamePrefix("virtual-");
-        executor.setVirtualThreads(true);
-        executor.initialize();
-        return executor;
+    /**
+     * Executor usado por todos os CompletableFuture dos controllers e casos de uso,
+     * conforme person-api.execution.mode (direct, bounded ou virtual).
+     */
+    @Bean(name = "requestExecutor")
+    public Executor requestExecutor(
+            @Value("${person-api.execution.mode:direct}") ExecutionMode mode,
+            @Value("${person-api.execution.bounded.pool-size:32}") int poolSize,
+            @Value("${person-api.execution.bounded.queue-capacity:1000}") int queueCapacity) {
+        log.info("Estratégia de execução das requisições: {}", mode);
+        return mode.createExecutor(poolSize, queueCapacity);
     }
 }
@@ -2,11 +2,16 @@ package com.sccon.geospatial.personapi.infrastructure.config;
 
 import com.sccon.geospatial.personapi.domain.model.Person;
 import com.sccon.geospatial.personapi.domain.repository.PersonRepository;
+import com.sccon.geospatial.personapi.infrastructure.seed.PersonSeedLoader;
+import com.sccon.geospatial.personapi.infrastructure.seed.SeedResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 
 /**
@@ -18,16 +23,34 @@ import java.time.LocalDateTime;
 public class DataInitializer implements CommandLineRunner {
 
     private final PersonRepository personRepository;
+    private final PersonSeedLoader personSeedLoader;
+    private final String seedFile;
 
-    public DataInitializer(PersonRepository personRepository) {
+    public DataInitializer(PersonRepository personRepository,
+                           PersonSeedLoader personSeedLoader,
+                           @Value("${person-api.seed.persons-file:}") String seedFile) {
         this.personRepository = personRepository;
+        this.personSeedLoader = personSeedLoader;
+        this.seedFile = seedFile;
     }
 
     @Override
     public void run(String... args) throws Exception {
+        if (personRepository.count() > 0) {
+            log.info("Mapa de pessoas já possui {} registros recuperados; população ignorada", personRepository.count());
+            return;
+        }
+        
         log.info("Iniciando população do mapa de pessoas em memória...");
         
-        initializePeopleData();
+        if (seedFile.isBlank()) {
+            initializePeopleData();
+        } else {
+            SeedResult result = personSeedLoader.load(Path.of(seedFile));
+            log.info("📊 Carga de {}: {} lidas, {} gravadas, {} rejeitadas em {} ms ({} registros/s); aplicação pronta em {} ms",
+                    result.file().getFileName(), result.read(), result.loaded(), result.rejected(),
+                    result.elapsedMillis(), result.rowsPerSecond(), ManagementFactory.getRuntimeMXBean().getUptime());
+        }
         
         log.info("População do mapa de pessoas concluída com sucesso!");
     }
@@ -36,7 +59,7 @@ public class DataInitializer implements CommandLineRunner {
 
         Person person1 = new Person();
         person1.setName("João Silva");
-        person1.setCpf("123.456.789-00");
+        person1.setCpf("123.456.789-09");
         person1.setPhone("(11) 99999-1111");
         person1.setEmail("joao.silva@email.com");
 
@@ -48,7 +71,7 @@ public class DataInitializer implements CommandLineRunner {
 
         Person person3 = new Person();
         person3.setName("Pedro Oliveira");
-        person3.setCpf("456.789.123-00");
+        person3.setCpf("456.789.123-64");
         person3.setPhone("(31) 77777-3333");
         person3.setEmail("pedro.oliveira@email.com");
 
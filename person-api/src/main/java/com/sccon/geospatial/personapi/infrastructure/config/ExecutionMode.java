@@ -0,0 +1,48 @@
+package com.sccon.geospatial.personapi.infrastructure.config;
+
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Onde o trabalho dos endpoints assíncronos é executado.
+ */
+public enum ExecutionMode {
+
+    /**
+     * Na própria thread da requisição (virtual, com spring.threads.virtual.enabled),
+     * sem troca de thread e dentro do escopo transacional de quem chamou.
+     */
+    DIRECT,
+
+    /**
+     * Em um pool nomeado e limitado; com a fila cheia, a thread da requisição
+     * executa a tarefa, aplicando contrapressão em vez de rejeitar.
+     */
+    BOUNDED,
+
+    /**
+     * Em uma nova thread virtual por tarefa.
+     */
+    VIRTUAL;
+
+    public Executor createExecutor(int poolSize, int queueCapacity) {
+        return switch (this) {
+            case DIRECT -> new SyncTaskExecutor();
+            case BOUNDED -> {
+                ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+                executor.setCorePoolSize(poolSize);
+                executor.setMaxPoolSize(poolSize);
+                executor.setQueueCapacity(queueCapacity);
+                executor.setThreadNamePrefix("person-api-exec-");
+                executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+                executor.initialize();
+                yield executor;
+            }
+            case VIRTUAL -> new VirtualThreadTaskExecutor("person-api-vt-");
+        };
+    }
+}
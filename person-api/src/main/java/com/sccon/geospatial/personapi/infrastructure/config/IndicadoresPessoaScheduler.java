@@ -0,0 +1,77 @@
+package com.sccon.geospatial.personapi.infrastructure.config;
+
+import com.sccon.geospatial.personapi.application.service.PessoaService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantém a visão materializada de idade e salário das pessoas: reconstrói quando a aplicação
+ * fica pronta (depois da carga inicial) e de novo a cada meia-noite do fuso do sistema.
+ * Desativado com {@code person-api.pessoa.indicadores.enabled=false}; sem ele as consultas
+ * continuam corretas, calculadas por requisição.
+ */
+@Component
+@ConditionalOnProperty(name = "person-api.pessoa.indicadores.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class IndicadoresPessoaScheduler {
+
+    private final PessoaService pessoaService;
+    private ScheduledExecutorService scheduler;
+
+    public IndicadoresPessoaScheduler(PessoaService pessoaService) {
+        this.pessoaService = pessoaService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("pessoa-indicadores").daemon().factory());
+        scheduler.execute(this::recalcularEAgendar);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            // Só cálculo em memória: pode ser interrompido sem deixar nada pela metade
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Recalcula e agenda a próxima execução para a meia-noite seguinte. O agendamento é
+     * refeito a cada vez porque o dia nem sempre tem 24 h (horário de verão); se disparar
+     * um pouco antes da virada, a próxima execução fica a poucos instantes e corrige.
+     */
+    private void recalcularEAgendar() {
+        try {
+            pessoaService.recalcularIndicadores();
+        } catch (RuntimeException e) {
+            log.error("Falha ao recalcular os indicadores das pessoas", e);
+        } finally {
+            if (!scheduler.isShutdown()) {
+                long atraso = ateMeiaNoite().toMillis();
+                scheduler.schedule(this::recalcularEAgendar, atraso, TimeUnit.MILLISECONDS);
+                log.debug("Próximo recálculo dos indicadores em {} ms", atraso);
+            }
+        }
+    }
+
+    /**
+     * Tempo até a próxima meia-noite do fuso do sistema, o mesmo de {@code LocalDate.now()}.
+     */
+    public static Duration ateMeiaNoite() {
+        ZonedDateTime agora = ZonedDateTime.now();
+        ZonedDateTime meiaNoite = agora.toLocalDate().plusDays(1).atStartOfDay(agora.getZone());
+        return Duration.between(agora, meiaNoite);
+    }
+}
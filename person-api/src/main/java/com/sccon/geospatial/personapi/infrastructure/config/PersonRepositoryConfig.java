@@ -0,0 +1,78 @@
+package com.sccon.geospatial.personapi.infrastructure.config;
+
+import com.sccon.geospatial.personapi.domain.repository.PersonRepository;
+import com.sccon.geospatial.personapi.infrastructure.metrics.OperationMetrics;
+import com.sccon.geospatial.personapi.infrastructure.repository.CachingPersonRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.PersonRepositoryImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Escolhe o {@link PersonRepository} usado pela aplicação conforme
+ * person-api.person.storage: o mapa em memória (padrão) ou o JPA, este
+ * opcionalmente atrás do {@link CachingPersonRepository}.
+ */
+@Configuration
+@Slf4j
+public class PersonRepositoryConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "person-api.person.storage", havingValue = "memory", matchIfMissing = true)
+    public PersonRepository inMemoryPersonStorage(
+            InMemoryPersonRepository repository,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${person-api.metrics.operations.enabled:true}") boolean metricsEnabled,
+            @Value("${person-api.metrics.operations.client-percentiles:false}") boolean clientPercentiles) {
+        log.info("Armazenamento de pessoas: mapa em memória");
+        return metered(repository, "memory", meterRegistry, metricsEnabled, clientPercentiles);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "person-api.person.storage", havingValue = "jpa")
+    public PersonRepository jpaPersonStorage(
+            PersonRepositoryImpl repository,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${person-api.person.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${person-api.person.cache.maximum-size:10000}") long maximumSize,
+            @Value("${person-api.person.cache.ttl:5m}") Duration ttl,
+            @Value("${person-api.person.cache.negative-ttl:30s}") Duration negativeTtl,
+            @Value("${person-api.metrics.operations.enabled:true}") boolean metricsEnabled,
+            @Value("${person-api.metrics.operations.client-percentiles:false}") boolean clientPercentiles) {
+        if (!cacheEnabled) {
+            log.info("Armazenamento de pessoas: JPA, sem cache");
+            return metered(repository, "jpa", meterRegistry, metricsEnabled, clientPercentiles);
+        }
+
+        log.info("Armazenamento de pessoas: JPA com cache (até {} entradas, TTL {}, TTL negativo {})",
+                maximumSize, ttl, negativeTtl);
+        CachingPersonRepository cached = new CachingPersonRepository(repository, maximumSize, ttl, negativeTtl);
+        meterRegistry.ifAvailable(cached::bindMetrics);
+        return metered(cached, "jpa", meterRegistry, metricsEnabled, clientPercentiles);
+    }
+
+    /**
+     * Instrumenta o repositório exposto como {@link PersonRepository}; os beans concretos
+     * continuam sem proxy para quem os injeta diretamente.
+     */
+    private static PersonRepository metered(PersonRepository repository, String store,
+                                            ObjectProvider<MeterRegistry> meterRegistry, boolean metricsEnabled,
+                                            boolean clientPercentiles) {
+        MeterRegistry registry = metricsEnabled ? meterRegistry.getIfAvailable() : null;
+        if (registry == null) {
+            return repository;
+        }
+        return OperationMetrics.instrument(registry, PersonRepository.class, repository, "repository", store,
+                clientPercentiles);
+    }
+}
@@ -2,11 +2,16 @@ package com.sccon.geospatial.personapi.infrastructure.config;
 
 import com.sccon.geospatial.personapi.domain.model.Pessoa;
 import com.sccon.geospatial.personapi.domain.repository.PessoaRepository;
+import com.sccon.geospatial.personapi.infrastructure.seed.PessoaSeedLoader;
+import com.sccon.geospatial.personapi.infrastructure.seed.SeedResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.time.LocalDate;
 
 @Component
@@ -14,16 +19,29 @@ import java.time.LocalDate;
 public class PessoaDataInitializer implements CommandLineRunner {
 
     private final PessoaRepository pessoaRepository;
+    private final PessoaSeedLoader pessoaSeedLoader;
+    private final String arquivoCarga;
 
-    public PessoaDataInitializer(PessoaRepository pessoaRepository) {
+    public PessoaDataInitializer(PessoaRepository pessoaRepository,
+                                 PessoaSeedLoader pessoaSeedLoader,
+                                 @Value("${person-api.seed.pessoas-file:}") String arquivoCarga) {
         this.pessoaRepository = pessoaRepository;
+        this.pessoaSeedLoader = pessoaSeedLoader;
+        this.arquivoCarga = arquivoCarga;
     }
 
     @Override
     public void run(String... args) throws Exception {
         log.info("Iniciando população do mapa de pessoas conforme especificação...");
         
-        initializePessoasData();
+        if (arquivoCarga.isBlank()) {
+            initializePessoasData();
+        } else {
+            SeedResult resultado = pessoaSeedLoader.load(Path.of(arquivoCarga));
+            log.info("📊 Carga de {}: {} lidas, {} gravadas, {} rejeitadas em {} ms ({} registros/s); aplicação pronta em {} ms",
+                    resultado.file().getFileName(), resultado.read(), resultado.loaded(), resultado.rejected(),
+                    resultado.elapsedMillis(), resultado.rowsPerSecond(), ManagementFactory.getRuntimeMXBean().getUptime());
+        }
         
         log.info("População do mapa de pessoas concluída com sucesso!");
     }
@@ -1,12 +1,22 @@
 package com.sccon.geospatial.personapi.infrastructure.config;
 
+import com.sccon.geospatial.personapi.infrastructure.audit.AuditInterceptor;
+import com.sccon.geospatial.personapi.infrastructure.audit.AuditTrail;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ObjectProvider<AuditTrail> auditTrail;
+
+    public WebConfig(ObjectProvider<AuditTrail> auditTrail) {
+        this.auditTrail = auditTrail;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -15,4 +25,10 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        auditTrail.ifAvailable(trail -> registry.addInterceptor(new AuditInterceptor(trail))
+                .addPathPatterns("/api/**", "/person/**"));
+    }
 }
@@ -0,0 +1,76 @@
+package com.sccon.geospatial.personapi.infrastructure.controller;
+
+import org.springframework.http.ETag;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * ETags fortes das requisições condicionais: por entidade a partir do ID e da versão,
+ * e por coleção a partir do contador de escritas do repositório.
+ * <p>
+ * Versões e contadores em memória recomeçam a cada inicialização, então toda tag
+ * leva um prefixo próprio da instância: uma tag emitida antes de um restart nunca
+ * coincide com uma emitida depois.
+ */
+final class EntityTags {
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private EntityTags() {
+    }
+
+    static String entity(long id, long version) {
+        return "\"" + EPOCH + "-" + id + "-" + version + "\"";
+    }
+
+    static String collection(long modifications) {
+        return "\"" + EPOCH + "-c" + modifications + "\"";
+    }
+
+    /**
+     * Tag de uma coleção que também depende do dia, como as faixas de idade: muda à
+     * meia-noite mesmo sem escritas.
+     */
+    static String collection(long modifications, LocalDate day) {
+        return "\"" + EPOCH + "-c" + modifications + "-d" + day.toEpochDay() + "\"";
+    }
+
+    /**
+     * Precondição de versão do {@code If-Match} para a entidade {@code id}: aceita a versão
+     * atual se alguma tag da lista for a tag forte dessa versão (tags fracas nunca atendem).
+     * Devolve null (sem precondição) para cabeçalho ausente ou {@code *}, já que a escrita
+     * exige que a entidade exista.
+     */
+    static Predicate<Long> ifMatch(String ifMatch, long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<ETag> candidates = ETag.parse(ifMatch);
+        return version -> {
+            if (version == null) {
+                return false;
+            }
+            ETag current = ETag.create(entity(id, version));
+            return candidates.stream().anyMatch(candidate -> candidate.compare(current, true));
+        };
+    }
+
+    /**
+     * Verifica se o {@code If-None-Match} (lista separada por vírgulas ou {@code *})
+     * contém a tag atual, com a comparação fraca que a RFC 9110 define para esse cabeçalho.
+     */
+    static boolean matches(String ifNoneMatch, String tag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        ETag current = ETag.create(tag);
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            if (candidate.isWildcard() || candidate.compare(current, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,48 +1,107 @@
 package com.sccon.geospatial.personapi.infrastructure.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sccon.geospatial.personapi.application.dto.PageResponseDto;
+import com.sccon.geospatial.personapi.application.pagination.KeysetCursor;
+import com.sccon.geospatial.personapi.domain.model.Person;
 import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
-import lombok.RequiredArgsConstructor;
+import com.sccon.geospatial.personapi.infrastructure.repository.MemoryMapStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Map;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Controller para mostrar informações do mapa em memória
  * Seguindo o princípio da responsabilidade única (SRP)
+ *
+ * Nenhum endpoint copia o mapa: o conteúdo sai em páginas por keyset ou em
+ * streaming NDJSON, e as estatísticas trazem apenas resumos.
  */
 @RestController
 @RequestMapping("/api/v1/memory-map")
 public class MemoryMapController {
 
     private static final Logger log = LoggerFactory.getLogger(MemoryMapController.class);
+    private static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
     
     private final InMemoryPersonRepository inMemoryPersonRepository;
+    private final ObjectWriter ndjsonWriter;
 
-    public MemoryMapController(InMemoryPersonRepository inMemoryPersonRepository) {
+    public MemoryMapController(InMemoryPersonRepository inMemoryPersonRepository, ObjectMapper objectMapper) {
         this.inMemoryPersonRepository = inMemoryPersonRepository;
+        this.ndjsonWriter = objectMapper.writerFor(Person.class);
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getMemoryMapStats() {
-        log.info("Solicitando estatísticas do mapa em memória");
+    public ResponseEntity<MemoryMapStatistics> getMemoryMapStats() {
+        log.debug("Solicitando estatísticas do mapa em memória");
         
-        Map<String, Object> stats = inMemoryPersonRepository.getStatistics();
+        MemoryMapStatistics stats = inMemoryPersonRepository.statistics();
         
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Uma página do mapa em ordem de ID; {@code nextCursor} é null na última página.
+     */
     @GetMapping("/content")
-    public ResponseEntity<Map<Long, com.sccon.geospatial.personapi.domain.model.Person>> getMemoryMapContent() {
-        log.info("Solicitando conteúdo completo do mapa em memória");
+    public ResponseEntity<PageResponseDto<Person>> getMemoryMapContent(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        log.debug("Solicitando página do mapa em memória. limit: {}, after: {}", limit, after);
         
-        Map<Long, com.sccon.geospatial.personapi.domain.model.Person> personMap = 
-                inMemoryPersonRepository.getPersonMap();
+        int pageSize = KeysetCursor.limit(limit);
+        // Busca um registro a mais para saber se existe próxima página
+        List<Person> persons = inMemoryPersonRepository.findPageAfterId(KeysetCursor.decode(after), pageSize + 1);
+        boolean hasMore = persons.size() > pageSize;
+        List<Person> page = hasMore ? persons.subList(0, pageSize) : persons;
+        String nextCursor = hasMore ? KeysetCursor.encode(page.get(page.size() - 1).getId()) : null;
         
-        return ResponseEntity.ok(personMap);
+        return ResponseEntity.ok(new PageResponseDto<>(page, nextCursor));
+    }
+
+    /**
+     * Conteúdo completo do mapa em NDJSON, gravado entrada a entrada em ordem de ID.
+     */
+    @GetMapping("/content/stream")
+    public ResponseEntity<StreamingResponseBody> streamMemoryMapContent() {
+        log.debug("Solicitando conteúdo do mapa em memória em streaming");
+        
+        StreamingResponseBody body = output -> {
+            OutputStream target = new BufferedOutputStream(output, STREAM_BUFFER_SIZE);
+            try (Stream<Person> persons = inMemoryPersonRepository.streamAll()) {
+                persons.forEach(person -> writeLine(target, person));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            target.flush();
+        };
+        
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream target, Person person) {
+        try {
+            target.write(ndjsonWriter.writeValueAsBytes(person));
+            target.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
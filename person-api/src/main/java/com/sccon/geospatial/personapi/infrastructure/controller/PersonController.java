@@ -1,18 +1,38 @@
 package com.sccon.geospatial.personapi.infrastructure.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sccon.geospatial.personapi.application.dto.BulkImportResponseDto;
 import com.sccon.geospatial.personapi.application.dto.PersonRequestDto;
 import com.sccon.geospatial.personapi.application.dto.PersonResponseDto;
+import com.sccon.geospatial.personapi.application.dto.PersonStatsResponseDto;
+import com.sccon.geospatial.personapi.application.dto.PersonValidationResponseDto;
+import com.sccon.geospatial.personapi.application.dto.Versioned;
 import com.sccon.geospatial.personapi.application.usecase.PersonUseCase;
+import com.sccon.geospatial.personapi.domain.exception.VersionConflictException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/persons")
@@ -20,18 +40,25 @@ public class PersonController {
 
     private static final Logger log = LoggerFactory.getLogger(PersonController.class);
     
+    private static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    
     private final PersonUseCase personUseCase;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectReader bulkReader;
     
     @Autowired
-    public PersonController(PersonUseCase personUseCase) {
+    public PersonController(PersonUseCase personUseCase, ObjectMapper objectMapper) {
         this.personUseCase = personUseCase;
+        this.ndjsonWriter = objectMapper.writerFor(PersonResponseDto.class);
+        this.bulkReader = objectMapper.readerFor(PersonRequestDto.class);
     }
 
     @PostMapping
     public CompletableFuture<ResponseEntity<PersonResponseDto>> createPerson(
             @Valid @RequestBody PersonRequestDto requestDto) {
         
-        log.info("Recebendo requisição para criar pessoa: {}", requestDto.getName());
+        log.debug("Recebendo requisição para criar pessoa: {}", requestDto.getName());
         
         return personUseCase.createPerson(requestDto)
                 .thenApply(ResponseEntity.status(HttpStatus.CREATED)::body)
@@ -41,32 +68,95 @@ public class PersonController {
                 });
     }
 
+    /**
+     * Importa pessoas a partir de um array JSON ou NDJSON. O corpo é lido em streaming
+     * e gravado em lotes; a resposta traz o relatório de erros por linha.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<BulkImportResponseDto> importPersons(InputStream body) throws IOException {
+        log.debug("Recebendo requisição para importação em lote de pessoas");
+        
+        try (MappingIterator<PersonRequestDto> rows = bulkReader.readValues(body)) {
+            return ResponseEntity.ok(personUseCase.importPersons(rows));
+        }
+    }
+
+    /**
+     * Valida pessoas a partir de um array JSON ou NDJSON, sem gravá-las. O corpo é lido em
+     * streaming e validado em lotes paralelos; a resposta traz o relatório de erros por linha.
+     */
+    @PostMapping(value = "/validate", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<PersonValidationResponseDto> validatePersons(InputStream body) throws IOException {
+        log.debug("Recebendo requisição para validação em lote de pessoas");
+        
+        try (MappingIterator<PersonRequestDto> rows = bulkReader.readValues(body)) {
+            return ResponseEntity.ok(personUseCase.validatePersons(rows));
+        }
+    }
+
+    /**
+     * Atualiza a pessoa. Com {@code If-Match}, a escrita só acontece se a versão atual for a
+     * da ETag informada; caso contrário responde 412. A resposta traz a ETag da nova versão.
+     */
     @PutMapping("/{id}")
     public CompletableFuture<ResponseEntity<PersonResponseDto>> updatePerson(
             @PathVariable Long id,
-            @Valid @RequestBody PersonRequestDto requestDto) {
+            @Valid @RequestBody PersonRequestDto requestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         
-        log.info("Recebendo requisição para atualizar pessoa com ID: {}", id);
+        log.debug("Recebendo requisição para atualizar pessoa com ID: {}", id);
         
-        return personUseCase.updatePerson(id, requestDto)
-                .thenApply(ResponseEntity::ok)
+        return personUseCase.updatePerson(id, requestDto, EntityTags.ifMatch(ifMatch, id))
+                .thenApply(person -> person.version() == null
+                        ? ResponseEntity.ok(person.body())
+                        : ResponseEntity.ok().eTag(EntityTags.entity(id, person.version())).body(person.body()))
                 .exceptionally(throwable -> {
+                    if (hasCause(throwable, VersionConflictException.class)) {
+                        log.warn("Versão desatualizada ao atualizar pessoa com ID {}", id);
+                        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+                    }
+                    if (hasCause(throwable, ConcurrentModificationException.class)) {
+                        log.warn("Atualização da pessoa com ID {} desistiu após escritas concorrentes", id);
+                        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+                    }
                     log.error("Erro ao atualizar pessoa com ID {}: {}", id, throwable.getMessage());
                     return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
                 });
     }
 
+    private static boolean hasCause(Throwable throwable, Class<? extends Throwable> type) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Busca por ID com ETag forte (ID e versão da pessoa). Se o {@code If-None-Match}
+     * já traz a versão atual, responde 304 sem mapear nem serializar a pessoa.
+     */
     @GetMapping("/{id}")
-    public CompletableFuture<ResponseEntity<?>> getPersonById(@PathVariable Long id) {
-        log.info("Recebendo requisição para buscar pessoa por ID: {}", id);
+    public CompletableFuture<ResponseEntity<?>> getPersonById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("Recebendo requisição para buscar pessoa por ID: {}", id);
         
-        return personUseCase.findPersonById(id)
+        return personUseCase.findPersonById(id, version -> EntityTags.matches(ifNoneMatch, EntityTags.entity(id, version)))
                 .thenApply(optionalPerson -> {
-                    if (optionalPerson.isPresent()) {
-                        return ResponseEntity.<PersonResponseDto>ok(optionalPerson.get());
-                    } else {
+                    if (optionalPerson.isEmpty()) {
                         return ResponseEntity.<PersonResponseDto>notFound().build();
                     }
+                    Versioned<PersonResponseDto> person = optionalPerson.get();
+                    if (person.version() == null) {
+                        return ResponseEntity.<PersonResponseDto>ok(person.body());
+                    }
+                    String tag = EntityTags.entity(id, person.version());
+                    if (person.isNotModified()) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).<PersonResponseDto>build();
+                    }
+                    return ResponseEntity.ok().eTag(tag).body(person.body());
                 })
                 .exceptionally(throwable -> {
                     log.error("Erro ao buscar pessoa por ID {}: {}", id, throwable.getMessage());
@@ -76,7 +166,7 @@ public class PersonController {
 
     @GetMapping("/cpf/{cpf}")
     public CompletableFuture<ResponseEntity<?>> getPersonByCpf(@PathVariable String cpf) {
-        log.info("Recebendo requisição para buscar pessoa por CPF: {}", cpf);
+        log.debug("Recebendo requisição para buscar pessoa por CPF: {}", cpf);
         
         return personUseCase.findPersonByCpf(cpf)
                 .thenApply(optionalPerson -> {
@@ -92,26 +182,116 @@ public class PersonController {
                 });
     }
 
+    /**
+     * Lista todas as pessoas ou uma página, com ETag da coleção. O contador de escritas
+     * é lido antes dos dados: uma escrita concorrente só pode deixar a tag mais antiga
+     * que o corpo, o que causa no máximo um 200 a mais.
+     */
     @GetMapping
-    public CompletableFuture<ResponseEntity<List<PersonResponseDto>>> getAllPersons() {
-        log.info("Recebendo requisição para listar todas as pessoas");
+    public CompletableFuture<? extends ResponseEntity<?>> getAllPersons(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        
+        String tag = EntityTags.collection(personUseCase.modificationCount());
+        if (EntityTags.matches(ifNoneMatch, tag)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build());
+        }
+        
+        if (limit != null || after != null) {
+            log.debug("Recebendo requisição para listar pessoas paginadas. limit: {}, after: {}", limit, after);
+            
+            return personUseCase.listPersonsPage(after, limit)
+                    .thenApply(page -> ResponseEntity.ok().eTag(tag).body(page))
+                    .exceptionally(throwable -> {
+                        log.error("Erro ao listar página de pessoas: {}", throwable.getMessage());
+                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                    });
+        }
+        
+        log.debug("Recebendo requisição para listar todas as pessoas");
         
         return personUseCase.listAllPersons()
-                .thenApply(ResponseEntity::ok)
+                .thenApply(persons -> ResponseEntity.ok().eTag(tag).body(persons))
                 .exceptionally(throwable -> {
                     log.error("Erro ao listar pessoas: {}", throwable.getMessage());
                     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
                 });
     }
 
+    /**
+     * Exporta todas as pessoas em NDJSON (um objeto JSON por linha), gravando
+     * cada registro assim que é lido, sem montar a lista em memória.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPersons(
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        
+        log.debug("Recebendo requisição para exportar pessoas. gzip: {}", gzip);
+        
+        StreamingResponseBody body = output -> {
+            ExportGzipStream gzipStream = gzip ? new ExportGzipStream(output) : null;
+            OutputStream target = new BufferedOutputStream(gzipStream != null ? gzipStream : output, EXPORT_BUFFER_SIZE);
+            try {
+                personUseCase.exportPersons(person -> writeLine(target, person));
+                target.flush();
+                if (gzipStream != null) {
+                    gzipStream.finish();
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                if (gzipStream != null) {
+                    gzipStream.release();
+                }
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(APPLICATION_NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * GZIP da exportação que libera o Deflater sem fechar a resposta. Numa falha o trailer
+     * não é gravado, para que o cliente não receba uma exportação truncada como completa.
+     */
+    static final class ExportGzipStream extends GZIPOutputStream {
+
+        ExportGzipStream(OutputStream output) throws IOException {
+            super(output, EXPORT_BUFFER_SIZE);
+        }
+
+        void release() {
+            def.end();
+        }
+    }
+
+    private void writeLine(OutputStream target, PersonResponseDto person) {
+        try {
+            target.write(ndjsonWriter.writeValueAsBytes(person));
+            target.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @GetMapping("/search")
     public CompletableFuture<ResponseEntity<List<PersonResponseDto>>> searchPersonsByName(
-            @RequestParam String name) {
+            @RequestParam String name,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        
+        log.debug("Recebendo requisição para buscar pessoas por nome: {}", name);
         
-        log.info("Recebendo requisição para buscar pessoas por nome: {}", name);
+        String tag = EntityTags.collection(personUseCase.modificationCount());
+        if (EntityTags.matches(ifNoneMatch, tag)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build());
+        }
         
         return personUseCase.searchPersonsByName(name)
-                .thenApply(ResponseEntity::ok)
+                .thenApply(persons -> ResponseEntity.ok().eTag(tag).body(persons))
                 .exceptionally(throwable -> {
                     log.error("Erro ao buscar pessoas por nome {}: {}", name, throwable.getMessage());
                     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -120,7 +300,7 @@ public class PersonController {
 
     @DeleteMapping("/{id}")
     public CompletableFuture<ResponseEntity<Void>> deletePerson(@PathVariable Long id) {
-        log.info("Recebendo requisição para remover pessoa com ID: {}", id);
+        log.debug("Recebendo requisição para remover pessoa com ID: {}", id);
         
         return personUseCase.deletePerson(id)
                 .handle((unused, throwable) -> {
@@ -135,7 +315,7 @@ public class PersonController {
 
     @GetMapping("/count")
     public CompletableFuture<ResponseEntity<Long>> countPersons() {
-        log.info("Recebendo requisição para contar pessoas");
+        log.debug("Recebendo requisição para contar pessoas");
         
         return personUseCase.countPersons()
                 .thenApply(ResponseEntity::ok)
@@ -144,4 +324,16 @@ public class PersonController {
                     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
                 });
     }
+
+    @GetMapping("/stats")
+    public CompletableFuture<ResponseEntity<PersonStatsResponseDto>> getPersonStats() {
+        log.debug("Recebendo requisição para estatísticas de pessoas");
+
+        return personUseCase.getPersonStats()
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(throwable -> {
+                    log.error("Erro ao buscar estatísticas de pessoas: {}", throwable.getMessage());
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                });
+    }
 }
@@ -1,22 +1,38 @@
 package com.sccon.geospatial.personapi.infrastructure.controller;
 
+import com.sccon.geospatial.personapi.application.dto.PageResponseDto;
 import com.sccon.geospatial.personapi.application.dto.PessoaRequestDto;
 import com.sccon.geospatial.personapi.application.dto.PessoaResponseDto;
+import com.sccon.geospatial.personapi.application.dto.SimulacaoFolhaResponseDto;
 import com.sccon.geospatial.personapi.application.mapper.PessoaMapper;
+import com.sccon.geospatial.personapi.application.pagination.KeysetCursor;
 import com.sccon.geospatial.personapi.application.service.PessoaService;
+import com.sccon.geospatial.personapi.domain.exception.VersionConflictException;
 import com.sccon.geospatial.personapi.domain.model.Pessoa;
+import com.sccon.geospatial.personapi.infrastructure.config.IndicadoresPessoaScheduler;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/person")
@@ -24,18 +40,79 @@ public class PessoaController {
 
     private static final Logger log = LoggerFactory.getLogger(PessoaController.class);
     
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    
     private final PessoaService pessoaService;
     private final PessoaMapper pessoaMapper;
+    private final Executor requestExecutor;
     
     @Autowired
-    public PessoaController(PessoaService pessoaService, PessoaMapper pessoaMapper) {
+    public PessoaController(PessoaService pessoaService, PessoaMapper pessoaMapper,
+                            @Qualifier("requestExecutor") Executor requestExecutor) {
         this.pessoaService = pessoaService;
         this.pessoaMapper = pessoaMapper;
+        this.requestExecutor = requestExecutor;
     }
 
+    /**
+     * GET /person - Lista todas as pessoas ordenadas por nome, ou uma página
+     * ordenada por ID quando {@code limit} ou {@code after} são informados, ou as pessoas de
+     * um filtro por intervalo: nascimento ({@code bornAfter}/{@code bornBefore}), admissão
+     * ({@code admittedAfter}/{@code admittedBefore}), idade ({@code ageMin}/{@code ageMax} no
+     * formato {@code output}) ou mês de aniversário ({@code birthMonth}). Os limites são
+     * inclusivos e os filtros não se combinam. A ETag da coleção vem do contador de escritas,
+     * lido antes dos dados, e do dia corrente no filtro por idade
+     */
     @GetMapping
-    public CompletableFuture<ResponseEntity<List<PessoaResponseDto>>> listarTodasPessoas() {
-        log.info("Recebendo requisição GET /person");
+    public CompletableFuture<? extends ResponseEntity<?>> listarTodasPessoas(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate admittedAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate admittedBefore,
+            @RequestParam(required = false) Long ageMin,
+            @RequestParam(required = false) Long ageMax,
+            @RequestParam(defaultValue = "years") String output,
+            @RequestParam(required = false) Integer birthMonth,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        
+        boolean porNascimento = bornAfter != null || bornBefore != null;
+        boolean porAdmissao = admittedAfter != null || admittedBefore != null;
+        boolean porIdade = ageMin != null || ageMax != null;
+        boolean porAniversario = birthMonth != null;
+        
+        // Quem está numa faixa de idade muda a cada dia sem nenhuma escrita
+        String tag = porIdade
+                ? EntityTags.collection(pessoaService.contarModificacoes(), LocalDate.now())
+                : EntityTags.collection(pessoaService.contarModificacoes());
+        if (EntityTags.matches(ifNoneMatch, tag)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build());
+        }
+        
+        int filtros = (porNascimento ? 1 : 0) + (porAdmissao ? 1 : 0) + (porIdade ? 1 : 0) + (porAniversario ? 1 : 0);
+        if (filtros > 0) {
+            if (filtros > 1 || limit != null || after != null) {
+                log.warn("Filtros combinados em GET /person não são suportados");
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+            }
+            if (porNascimento) {
+                return listarFiltradas(() -> pessoaService.listarPorNascimento(bornAfter, bornBefore), tag);
+            }
+            if (porAdmissao) {
+                return listarFiltradas(() -> pessoaService.listarPorAdmissao(admittedAfter, admittedBefore), tag);
+            }
+            if (porIdade) {
+                return listarFiltradas(() -> pessoaService.listarPorIdade(ageMin, ageMax, output), tag);
+            }
+            return listarFiltradas(() -> pessoaService.listarAniversariantes(birthMonth), tag);
+        }
+        
+        if (limit != null || after != null) {
+            return listarPaginaPessoas(after, limit, tag);
+        }
+        
+        log.debug("Recebendo requisição GET /person");
         
         return CompletableFuture.supplyAsync(() -> {
             try {
@@ -44,37 +121,98 @@ public class PessoaController {
                         .map(pessoaMapper::toResponseDto)
                         .toList();
                 
-                return ResponseEntity.ok(responseDtos);
+                return ResponseEntity.ok().eTag(tag).body(responseDtos);
             } catch (Exception e) {
                 log.error("Erro ao listar pessoas: {}", e.getMessage());
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
             }
-        });
+        }, requestExecutor);
+    }
+
+    private CompletableFuture<ResponseEntity<List<PessoaResponseDto>>> listarFiltradas(
+            Supplier<List<Pessoa>> consulta, String tag) {
+        
+        log.debug("Recebendo requisição GET /person com filtro por intervalo");
+        
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                List<PessoaResponseDto> responseDtos = consulta.get().stream()
+                        .map(pessoaMapper::toResponseDto)
+                        .toList();
+                
+                return ResponseEntity.ok().eTag(tag).body(responseDtos);
+            } catch (IllegalArgumentException e) {
+                log.warn("Filtro inválido em GET /person: {}", e.getMessage());
+                return ResponseEntity.badRequest().build();
+            } catch (Exception e) {
+                log.error("Erro ao listar pessoas filtradas: {}", e.getMessage());
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+        }, requestExecutor);
+    }
+
+    private CompletableFuture<ResponseEntity<PageResponseDto<PessoaResponseDto>>> listarPaginaPessoas(
+            String after, Integer limit, String tag) {
+        
+        Long aposId = KeysetCursor.decode(after);
+        int limite = KeysetCursor.limit(limit);
+        log.debug("Recebendo requisição GET /person?limit={}&after={}", limite, after);
+        
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                // Busca um registro a mais para saber se existe próxima página
+                List<Pessoa> pessoas = pessoaService.listarPagina(aposId, limite + 1);
+                boolean temMais = pessoas.size() > limite;
+                List<Pessoa> pagina = temMais ? pessoas.subList(0, limite) : pessoas;
+                
+                List<PessoaResponseDto> responseDtos = pagina.stream()
+                        .map(pessoaMapper::toResponseDto)
+                        .toList();
+                String proximoCursor = temMais ? KeysetCursor.encode(pagina.get(pagina.size() - 1).getId()) : null;
+                
+                return ResponseEntity.ok().eTag(tag).body(new PageResponseDto<>(responseDtos, proximoCursor));
+            } catch (Exception e) {
+                log.error("Erro ao listar página de pessoas: {}", e.getMessage());
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+        }, requestExecutor);
     }
 
+    /**
+     * GET /person/{id} - Busca pessoa por ID com ETag forte (ID e versão); se o
+     * {@code If-None-Match} já traz a versão atual, responde 304 sem mapear a pessoa
+     */
     @GetMapping("/{id}")
-    public CompletableFuture<ResponseEntity<PessoaResponseDto>> buscarPessoaPorId(@PathVariable Long id) {
-        log.info("Recebendo requisição GET /person/{}", id);
+    public CompletableFuture<ResponseEntity<PessoaResponseDto>> buscarPessoaPorId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("Recebendo requisição GET /person/{}", id);
         
         return CompletableFuture.supplyAsync(() -> {
             try {
                 Optional<Pessoa> pessoa = pessoaService.buscarPorId(id);
-                if (pessoa.isPresent()) {
-                    PessoaResponseDto responseDto = pessoaMapper.toResponseDto(pessoa.get());
-                    return ResponseEntity.ok(responseDto);
-                } else {
+                if (pessoa.isEmpty()) {
                     return ResponseEntity.notFound().build();
                 }
+                Long versao = pessoa.get().getVersao();
+                if (versao == null) {
+                    return ResponseEntity.ok(pessoaMapper.toResponseDto(pessoa.get()));
+                }
+                String tag = EntityTags.entity(id, versao);
+                if (EntityTags.matches(ifNoneMatch, tag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).build();
+                }
+                return ResponseEntity.ok().eTag(tag).body(pessoaMapper.toResponseDto(pessoa.get()));
             } catch (Exception e) {
                 log.error("Erro ao buscar pessoa por ID {}: {}", id, e.getMessage());
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
             }
-        });
+        }, requestExecutor);
     }
 
     @PostMapping
     public CompletableFuture<ResponseEntity<PessoaResponseDto>> criarPessoa(@Valid @RequestBody PessoaRequestDto requestDto) {
-        log.info("Recebendo requisição POST /person para pessoa: {}", requestDto.getNome());
+        log.debug("Recebendo requisição POST /person para pessoa: {}", requestDto.getNome());
         
         return CompletableFuture.supplyAsync(() -> {
             try {
@@ -90,7 +228,7 @@ public class PessoaController {
                 log.error("Erro ao criar pessoa: {}", e.getMessage());
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
-        });
+        }, requestExecutor);
     }
 
     /**
@@ -98,7 +236,7 @@ public class PessoaController {
      */
     @DeleteMapping("/{id}")
     public CompletableFuture<ResponseEntity<Void>> removerPessoa(@PathVariable Long id) {
-        log.info("Recebendo requisição DELETE /person/{}", id);
+        log.debug("Recebendo requisição DELETE /person/{}", id);
         
         return CompletableFuture.supplyAsync(() -> {
             try {
@@ -111,23 +249,33 @@ public class PessoaController {
                 log.error("Erro ao remover pessoa com ID {}: {}", id, e.getMessage());
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
             }
-        });
+        }, requestExecutor);
     }
 
+    /**
+     * PUT /person/{id} - Atualiza pessoa; com {@code If-Match}, responde 412 se a versão
+     * atual não for a da ETag informada
+     */
     @PutMapping("/{id}")
     public CompletableFuture<ResponseEntity<PessoaResponseDto>> atualizarPessoa(
             @PathVariable Long id, 
-            @Valid @RequestBody PessoaRequestDto requestDto) {
+            @Valid @RequestBody PessoaRequestDto requestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         
-        log.info("Recebendo requisição PUT /person/{}", id);
+        log.debug("Recebendo requisição PUT /person/{}", id);
         
         return CompletableFuture.supplyAsync(() -> {
             try {
                 Pessoa pessoa = pessoaMapper.toEntity(requestDto);
-                Pessoa pessoaAtualizada = pessoaService.atualizarPessoa(id, pessoa);
-                PessoaResponseDto responseDto = pessoaMapper.toResponseDto(pessoaAtualizada);
+                Pessoa pessoaAtualizada = pessoaService.atualizarPessoa(id, pessoa, EntityTags.ifMatch(ifMatch, id));
                 
-                return ResponseEntity.ok(responseDto);
+                return comETag(id, pessoaAtualizada);
+            } catch (VersionConflictException e) {
+                log.warn("Versão desatualizada ao atualizar pessoa com ID {}: {}", id, e.getMessage());
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            } catch (ConcurrentModificationException e) {
+                log.warn("Conflito de escrita ao atualizar pessoa com ID {}: {}", id, e.getMessage());
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
             } catch (IllegalStateException e) {
                 log.warn("Pessoa não encontrada para atualização: {}", e.getMessage());
                 return ResponseEntity.notFound().build();
@@ -135,38 +283,51 @@ public class PessoaController {
                 log.error("Erro ao atualizar pessoa com ID {}: {}", id, e.getMessage());
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
-        });
+        }, requestExecutor);
     }
 
-    @PatchMapping("/{id}")
+    /**
+     * PATCH /person/{id} - JSON Merge Patch (RFC 7386): altera os atributos informados numa
+     * única leitura e escrita; com {@code If-Match}, responde 412 se a versão atual não for a
+     * da ETag informada
+     */
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, MERGE_PATCH_JSON})
     public CompletableFuture<ResponseEntity<PessoaResponseDto>> atualizarAtributoPessoa(
             @PathVariable Long id, 
-            @RequestBody Map<String, Object> updates) {
+            @RequestBody Map<String, Object> updates,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         
-        log.info("Recebendo requisição PATCH /person/{}", id);
+        log.debug("Recebendo requisição PATCH /person/{}", id);
         
         return CompletableFuture.supplyAsync(() -> {
             try {
-                Pessoa pessoaAtualizada = null;
-                
-                for (Map.Entry<String, Object> entry : updates.entrySet()) {
-                    pessoaAtualizada = pessoaService.atualizarAtributoPessoa(id, entry.getKey(), entry.getValue());
-                }
-                
-                if (pessoaAtualizada != null) {
-                    PessoaResponseDto responseDto = pessoaMapper.toResponseDto(pessoaAtualizada);
-                    return ResponseEntity.ok(responseDto);
-                } else {
-                    return ResponseEntity.badRequest().build();
-                }
+                Pessoa pessoaAtualizada = pessoaService.atualizarAtributosPessoa(id, updates, EntityTags.ifMatch(ifMatch, id));
+                return comETag(id, pessoaAtualizada);
+            } catch (VersionConflictException e) {
+                log.warn("Versão desatualizada ao atualizar pessoa com ID {}: {}", id, e.getMessage());
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            } catch (ConcurrentModificationException e) {
+                log.warn("Conflito de escrita ao atualizar pessoa com ID {}: {}", id, e.getMessage());
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
             } catch (IllegalStateException e) {
                 log.warn("Pessoa não encontrada para atualização: {}", e.getMessage());
                 return ResponseEntity.notFound().build();
+            } catch (IllegalArgumentException e) {
+                log.warn("Patch inválido para pessoa com ID {}: {}", id, e.getMessage());
+                return ResponseEntity.badRequest().build();
             } catch (Exception e) {
                 log.error("Erro ao atualizar pessoa com ID {}: {}", id, e.getMessage());
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
-        });
+        }, requestExecutor);
+    }
+
+    private ResponseEntity<PessoaResponseDto> comETag(Long id, Pessoa pessoa) {
+        PessoaResponseDto responseDto = pessoaMapper.toResponseDto(pessoa);
+        if (pessoa.getVersao() == null) {
+            return ResponseEntity.ok(responseDto);
+        }
+        return ResponseEntity.ok().eTag(EntityTags.entity(id, pessoa.getVersao())).body(responseDto);
     }
 
     @GetMapping("/{id}/age")
@@ -174,12 +335,12 @@ public class PessoaController {
             @PathVariable Long id, 
             @RequestParam String output) {
         
-        log.info("Recebendo requisição GET /person/{}/age?output={}", id, output);
+        log.debug("Recebendo requisição GET /person/{}/age?output={}", id, output);
         
         return CompletableFuture.supplyAsync(() -> {
             try {
                 long idade = pessoaService.calcularIdade(id, output);
-                return ResponseEntity.ok(idade);
+                return ResponseEntity.ok().cacheControl(ateMeiaNoite()).body(idade);
             } catch (IllegalStateException e) {
                 log.warn("Pessoa não encontrada: {}", e.getMessage());
                 return ResponseEntity.notFound().build();
@@ -190,7 +351,7 @@ public class PessoaController {
                 log.error("Erro ao calcular idade da pessoa com ID {}: {}", id, e.getMessage());
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
             }
-        });
+        }, requestExecutor);
     }
 
     @GetMapping("/{id}/salary")
@@ -198,12 +359,12 @@ public class PessoaController {
             @PathVariable Long id, 
             @RequestParam String output) {
         
-        log.info("Recebendo requisição GET /person/{}/salary?output={}", id, output);
+        log.debug("Recebendo requisição GET /person/{}/salary?output={}", id, output);
         
         return CompletableFuture.supplyAsync(() -> {
             try {
                 double salario = pessoaService.calcularSalario(id, output);
-                return ResponseEntity.ok(salario);
+                return ResponseEntity.ok().cacheControl(ateMeiaNoite()).body(salario);
             } catch (IllegalStateException e) {
                 log.warn("Pessoa não encontrada: {}", e.getMessage());
                 return ResponseEntity.notFound().build();
@@ -214,6 +375,43 @@ public class PessoaController {
                 log.error("Erro ao calcular salário da pessoa com ID {}: {}", id, e.getMessage());
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
             }
-        });
+        }, requestExecutor);
+    }
+
+    /**
+     * Simula a folha de pagamento de todas as pessoas trocando os parâmetros do cálculo de
+     * salário; parâmetros omitidos mantêm os valores atuais. {@code raisePercentage} é fração
+     * ({@code 0.15} para 15%), de -1 (exclusive) a 1, com até 4 casas decimais; os valores em
+     * dinheiro aceitam até 12 dígitos inteiros e 2 casas decimais. Fora disso, 400.
+     */
+    @GetMapping("/payroll/simulation")
+    public CompletableFuture<ResponseEntity<SimulacaoFolhaResponseDto>> simularFolha(
+            @RequestParam(required = false) BigDecimal initialSalary,
+            @RequestParam(required = false) BigDecimal raisePercentage,
+            @RequestParam(required = false) BigDecimal fixedRaise,
+            @RequestParam(required = false) BigDecimal minimumWage) {
+        
+        log.debug("Recebendo requisição GET /person/payroll/simulation?initialSalary={}&raisePercentage={}&fixedRaise={}&minimumWage={}",
+                initialSalary, raisePercentage, fixedRaise, minimumWage);
+        
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return ResponseEntity.ok(pessoaService.simularFolha(initialSalary, raisePercentage, fixedRaise, minimumWage));
+            } catch (IllegalArgumentException e) {
+                log.warn("Parâmetros inválidos para simulação de folha: {}", e.getMessage());
+                return ResponseEntity.badRequest().build();
+            } catch (Exception e) {
+                log.error("Erro ao simular folha de pagamento: {}", e.getMessage());
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+        }, requestExecutor);
+    }
+
+    /**
+     * Idade e salário só mudam na virada do dia ou numa escrita da pessoa: o cache do cliente
+     * vale até a próxima meia-noite, quando a visão de indicadores é recalculada.
+     */
+    private static CacheControl ateMeiaNoite() {
+        return CacheControl.maxAge(Math.max(1, IndicadoresPessoaScheduler.ateMeiaNoite().toSeconds()), TimeUnit.SECONDS);
     }
 }
@@ -0,0 +1,188 @@
+package com.sccon.geospatial.personapi.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Instrumenta uma implementação de interface com um proxy dinâmico que publica, por
+ * operação (método da interface):
+ * <ul>
+ *   <li>{@value #TIMER}: timer com histograma de percentis, do qual o backend de métricas
+ *       calcula p50, p99 e p999; opcionalmente também com esses percentis já calculados</li>
+ *   <li>{@value #ERRORS}: contador de falhas, com o tipo da exceção</li>
+ *   <li>{@value #ACTIVE}: gauge de chamadas em andamento</li>
+ * </ul>
+ * Todos com as tags {@code layer}, {@code component}, {@code operation} e {@code store}.
+ * Os medidores são criados na montagem do proxy; cada chamada custa a busca do método
+ * num mapa, duas leituras do relógio e o registro no timer. Operações que retornam
+ * {@link CompletableFuture} são medidas até a conclusão do future.
+ * <p>
+ * Os percentis calculados na aplicação custam mais que o resto da medição somado
+ * (ver {@code OperationMetricsBenchmark}), por isso ficam desligados por padrão.
+ */
+public final class OperationMetrics {
+
+    public static final String TIMER = "personapi.operation";
+    public static final String ERRORS = "personapi.operation.errors";
+    public static final String ACTIVE = "personapi.operation.active";
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private OperationMetrics() {
+    }
+
+    /**
+     * @param type  interface instrumentada; só os métodos dela passam pelos medidores
+     * @param layer camada da operação (repository, service, usecase)
+     * @param store armazenamento por trás do componente (memory, jpa, map, columnar)
+     * @param clientPercentiles publica também p50, p99 e p999 calculados na aplicação
+     */
+    public static <T> T instrument(MeterRegistry registry, Class<T> type, T target, String layer, String store,
+                                   boolean clientPercentiles) {
+        Tags common = Tags.of("layer", layer, "component", type.getSimpleName(), "store", store);
+
+        // Sobrecargas compartilham os medidores da operação de mesmo nome
+        Map<String, Operation> byName = new HashMap<>();
+        Map<Method, Operation> operations = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            operations.put(method, byName.computeIfAbsent(method.getName(),
+                    name -> new Operation(registry, common.and("operation", name), clientPercentiles)));
+        }
+
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new MeteredInvocationHandler(target, operations, registry.config().clock()));
+        return type.cast(proxy);
+    }
+
+    private static final class Operation {
+
+        private final MeterRegistry registry;
+        private final Tags tags;
+        private final Timer timer;
+        private final AtomicInteger active = new AtomicInteger();
+
+        Operation(MeterRegistry registry, Tags tags, boolean clientPercentiles) {
+            this.registry = registry;
+            this.tags = tags;
+            Timer.Builder builder = Timer.builder(TIMER)
+                    .tags(tags)
+                    .publishPercentileHistogram();
+            if (clientPercentiles) {
+                builder.publishPercentiles(PERCENTILES);
+            }
+            this.timer = builder.register(registry);
+            Gauge.builder(ACTIVE, active, AtomicInteger::get)
+                    .tags(tags)
+                    .strongReference(true)
+                    .register(registry);
+        }
+
+        void finish(long elapsedNanos, Throwable failure) {
+            timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            active.decrementAndGet();
+            if (failure != null) {
+                // Falhas são raras: o contador por tipo de exceção é resolvido no registro
+                registry.counter(ERRORS, tags.and("exception", unwrap(failure).getClass().getSimpleName())).increment();
+            }
+        }
+
+        private static Throwable unwrap(Throwable failure) {
+            Throwable current = failure;
+            while ((current instanceof CompletionException || current instanceof ExecutionException)
+                    && current.getCause() != null) {
+                current = current.getCause();
+            }
+            return current;
+        }
+    }
+
+    private static final class MeteredInvocationHandler implements InvocationHandler {
+
+        private final Object target;
+        private final Map<Method, Operation> operations;
+        private final Clock clock;
+
+        MeteredInvocationHandler(Object target, Map<Method, Operation> operations, Clock clock) {
+            this.target = target;
+            this.operations = operations;
+            this.clock = clock;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Operation operation = operations.get(method);
+            if (operation == null) {
+                return invokeUnmetered(proxy, method, args);
+            }
+
+            operation.active.incrementAndGet();
+            long start = clock.monotonicTime();
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                operation.finish(clock.monotonicTime() - start, e.getCause());
+                throw e.getCause();
+            } catch (Throwable e) {
+                operation.finish(clock.monotonicTime() - start, e);
+                throw e;
+            }
+
+            if (result instanceof CompletableFuture<?> future) {
+                future.whenComplete((value, failure) -> operation.finish(clock.monotonicTime() - start, failure));
+            } else {
+                operation.finish(clock.monotonicTime() - start, null);
+            }
+            return result;
+        }
+
+        /**
+         * Métodos de Object: identidade do próprio proxy, sem medição.
+         */
+        private Object invokeUnmetered(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    if (method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    break;
+                case "hashCode":
+                    if (method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    break;
+                case "toString":
+                    if (method.getParameterCount() == 0) {
+                        return "Metered(" + target + ")";
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.sccon.geospatial.personapi.infrastructure.metrics;
+
+import com.sccon.geospatial.personapi.application.service.PessoaService;
+import com.sccon.geospatial.personapi.application.usecase.PersonUseCase;
+import com.sccon.geospatial.personapi.domain.repository.PessoaRepository;
+import com.sccon.geospatial.personapi.domain.service.PersonService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envolve o repositório de Pessoa, os serviços e o caso de uso com {@link OperationMetrics}.
+ * Roda por último, depois dos proxies de transação e assíncronos, e só troca beans
+ * injetados pela interface. O {@code PersonRepository} é instrumentado em
+ * {@code PersonRepositoryConfig}, pois as implementações concretas também são injetadas
+ * diretamente (mapa em memória, durabilidade).
+ */
+@Component
+@ConditionalOnProperty(name = "person-api.metrics.operations.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OperationMetricsPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String personStore;
+    private final String pessoaStore;
+    private final boolean clientPercentiles;
+
+    public OperationMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+        this.meterRegistry = meterRegistry;
+        this.personStore = environment.getProperty("person-api.person.storage", "memory");
+        this.pessoaStore = environment.getProperty("person-api.pessoa.storage", "map");
+        this.clientPercentiles = environment.getProperty("person-api.metrics.operations.client-percentiles",
+                Boolean.class, false);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof PessoaRepository repository) {
+            return instrument(PessoaRepository.class, repository, "repository", pessoaStore, beanName);
+        }
+        if (bean instanceof PessoaService service) {
+            return instrument(PessoaService.class, service, "service", pessoaStore, beanName);
+        }
+        if (bean instanceof PersonService service) {
+            return instrument(PersonService.class, service, "service", personStore, beanName);
+        }
+        if (bean instanceof PersonUseCase useCase) {
+            return instrument(PersonUseCase.class, useCase, "usecase", personStore, beanName);
+        }
+        return bean;
+    }
+
+    private <T> Object instrument(Class<T> type, T bean, String layer, String store, String beanName) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return bean;
+        }
+        log.debug("Métricas de operação ativas para o bean {} ({}, {})", beanName, layer, store);
+        return OperationMetrics.instrument(registry, type, bean, layer, store, clientPercentiles);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
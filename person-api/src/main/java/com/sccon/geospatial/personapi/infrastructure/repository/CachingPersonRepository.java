@@ -0,0 +1,251 @@
+package com.sccon.geospatial.personapi.infrastructure.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.model.PersonAggregates;
+import com.sccon.geospatial.personapi.domain.repository.PersonRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.index.CpfIndex;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cache de leitura na frente de um {@link PersonRepository} (o JPA, em
+ * {@code person-api.person.storage=jpa}) para {@code findById}, {@code findByCpf} e
+ * {@code existsByCpf}.
+ * <p>
+ * O Caffeine limita o cache por tamanho com a política W-TinyLFU, e cada entrada expira
+ * por TTL; IDs e CPFs inexistentes também são guardados (cache negativo), com TTL
+ * próprio. O cache de CPF guarda apenas o ID, e a pessoa lida por ele é conferida
+ * contra o CPF pedido, então uma troca de CPF nunca devolve a pessoa errada.
+ * <p>
+ * Escritas invalidam as chaves afetadas na hora e de novo ao fim da transação
+ * (commit ou rollback), para que uma leitura concorrente da versão anterior ou de
+ * uma versão não confirmada não permaneça no cache. As pessoas são copiadas na
+ * entrada e na saída: alterar uma entidade devolvida não altera o cache.
+ */
+@Slf4j
+public class CachingPersonRepository implements PersonRepository {
+
+    private final PersonRepository delegate;
+    private final Cache<Long, Optional<Person>> byId;
+    private final Cache<Long, Optional<Long>> idByCpf;
+
+    public CachingPersonRepository(PersonRepository delegate, long maximumSize, Duration ttl, Duration negativeTtl) {
+        this.delegate = delegate;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PositiveNegativeExpiry<Long, Person>(ttl, negativeTtl))
+                .recordStats()
+                .build();
+        this.idByCpf = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PositiveNegativeExpiry<Long, Long>(ttl, negativeTtl))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Publica acertos, falhas, taxa de acerto, remoções e latência de carga de cada cache,
+     * com as tags {@code cache=persons.byId} e {@code cache=persons.byCpf}.
+     */
+    public void bindMetrics(MeterRegistry registry) {
+        bind(registry, byId, "persons.byId");
+        bind(registry, idByCpf, "persons.byCpf");
+    }
+
+    private static void bind(MeterRegistry registry, Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+        // O binder só publica a latência de carga para LoadingCache; aqui a carga é por get(chave, função)
+        FunctionTimer.builder("cache.load.duration", cache,
+                        c -> c.stats().loadCount(), c -> c.stats().totalLoadTime(), TimeUnit.NANOSECONDS)
+                .tag("cache", name)
+                .description("Tempo de carga do repositório nas falhas do cache")
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .description("Fração das leituras atendidas pelo cache")
+                .register(registry);
+    }
+
+    @Override
+    public Optional<Person> findById(Long id) {
+        log.debug("Buscando pessoa por ID com cache: {}", id);
+        return byId.get(id, key -> delegate.findById(key).map(CachingPersonRepository::copy))
+                .map(CachingPersonRepository::copy);
+    }
+
+    @Override
+    public Optional<Person> findByCpf(String cpf) {
+        log.debug("Buscando pessoa por CPF com cache: {}", cpf);
+        long key = CpfIndex.toKey(cpf);
+        if (key == CpfIndex.INVALID_KEY) {
+            return delegate.findByCpf(cpf).map(CachingPersonRepository::copy);
+        }
+
+        Optional<Long> id = idByCpf.get(key, k -> delegate.findByCpf(cpf).map(Person::getId));
+        if (id.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Person> person = findById(id.get());
+        if (person.isPresent() && CpfIndex.toKey(person.get().getCpf()) == key) {
+            return person;
+        }
+
+        // A pessoa mudou de CPF ou foi removida depois que o ID foi guardado; a próxima leitura recarrega
+        idByCpf.invalidate(key);
+        return delegate.findByCpf(cpf).map(CachingPersonRepository::copy);
+    }
+
+    @Override
+    public boolean existsByCpf(String cpf) {
+        return findByCpf(cpf).isPresent();
+    }
+
+    @Override
+    public Person save(Person person) {
+        Optional<Person> previous = person.getId() == null ? Optional.empty() : byId.getIfPresent(person.getId());
+        Person saved = delegate.save(person);
+        invalidate(saved.getId(), previous, saved.getCpf());
+        return saved;
+    }
+
+    @Override
+    public List<Person> saveAll(List<Person> persons) {
+        List<Person> saved = delegate.saveAll(persons);
+        for (Person person : saved) {
+            invalidate(person.getId(), byId.getIfPresent(person.getId()), person.getCpf());
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Person> replace(Person current, Person updated) {
+        Optional<Person> saved = delegate.replace(current, updated);
+        if (saved.isPresent()) {
+            invalidate(current.getId(), Optional.of(current), saved.get().getCpf());
+        } else {
+            // A versão em cache perdeu a disputa: a releitura do chamador precisa ir ao banco
+            byId.invalidate(current.getId());
+        }
+        return saved;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        Optional<Person> previous = byId.getIfPresent(id);
+        delegate.deleteById(id);
+        invalidate(id, previous, null);
+    }
+
+    /**
+     * Remove o ID e os CPFs antigo e novo agora e novamente ao fim da transação corrente.
+     * {@code previous} é a entrada que estava no cache (null se não havia).
+     */
+    private void invalidate(Long id, Optional<Person> previous, String newCpf) {
+        Long previousCpf = previous == null || previous.isEmpty() ? null : CpfIndex.toKey(previous.get().getCpf());
+        Long currentCpf = newCpf == null ? null : CpfIndex.toKey(newCpf);
+
+        Runnable evict = () -> {
+            byId.invalidate(id);
+            if (previousCpf != null) {
+                idByCpf.invalidate(previousCpf);
+            }
+            if (currentCpf != null) {
+                idByCpf.invalidate(currentCpf);
+            }
+        };
+        evict.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    @Override
+    public List<Person> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Person> findPageAfterId(Long afterId, int limit) {
+        return delegate.findPageAfterId(afterId, limit);
+    }
+
+    @Override
+    public List<Person> findByNameContainingIgnoreCase(String name) {
+        return delegate.findByNameContainingIgnoreCase(name);
+    }
+
+    @Override
+    public Stream<Person> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public Set<String> findExistingCpfs(Collection<String> cpfs) {
+        return delegate.findExistingCpfs(cpfs);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public PersonAggregates aggregates() {
+        return delegate.aggregates();
+    }
+
+    @Override
+    public long modificationCount() {
+        return delegate.modificationCount();
+    }
+
+    private static Person copy(Person person) {
+        return new Person(person.getId(), person.getName(), person.getCpf(), person.getPhone(),
+                person.getEmail(), person.getCreatedAt(), person.getUpdatedAt(), person.getVersion(),
+                person.getCpfKey(), person.getEmailDomain(), person.getAreaCode());
+    }
+
+    /**
+     * TTL de entradas presentes e TTL (em geral menor) de entradas negativas.
+     */
+    private record PositiveNegativeExpiry<K, V>(Duration ttl, Duration negativeTtl)
+            implements Expiry<K, Optional<V>> {
+
+        @Override
+        public long expireAfterCreate(K key, Optional<V> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Optional<V> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Optional<V> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
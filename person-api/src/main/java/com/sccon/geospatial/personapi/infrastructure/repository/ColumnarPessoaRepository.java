@@ -0,0 +1,501 @@
+package com.sccon.geospatial.personapi.infrastructure.repository;
+
+import com.sccon.geospatial.personapi.domain.model.Pessoa;
+import com.sccon.geospatial.personapi.domain.repository.PessoaRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.index.DiaIndex;
+import com.sccon.geospatial.personapi.infrastructure.repository.index.LongIntHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Repositório de pessoas em colunas primitivas: ID e versão em {@code long[]}, datas como
+ * epoch-day em {@code int[]} e nomes em UTF-8 num único {@code byte[]}. Não há
+ * objeto por linha; o {@link Pessoa} é montado apenas quando lido.
+ * <p>
+ * As linhas ficam densas: a remoção move a última linha para o buraco. A ordem por
+ * ID é mantida incrementalmente e a ordem por nome é recalculada sob demanda após escritas.
+ * Ativado com {@code person-api.pessoa.storage=columnar}.
+ */
+@Repository
+@ConditionalOnProperty(name = "person-api.pessoa.storage", havingValue = "columnar")
+@Slf4j
+public class ColumnarPessoaRepository implements PessoaRepository {
+
+    private static final int CAPACIDADE_INICIAL = 16;
+    private static final int DATA_NULA = Integer.MIN_VALUE;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Collator collator = Collator.getInstance(Locale.forLanguageTag("pt-BR"));
+    // Maior ID já emitido ou recebido explicitamente, como no InMemoryPessoaRepository
+    private final AtomicLong idGenerator = new AtomicLong(0);
+    // Incrementado sob a trava de escrita; base do ETag das listagens
+    private final AtomicLong modificacoes = new AtomicLong();
+
+    private final LongIntHashMap linhaPorId = new LongIntHashMap(CAPACIDADE_INICIAL);
+    private long[] ids = new long[CAPACIDADE_INICIAL];
+    private long[] versoes = new long[CAPACIDADE_INICIAL];
+    private int[] nascimentos = new int[CAPACIDADE_INICIAL];
+    private int[] admissoes = new int[CAPACIDADE_INICIAL];
+    private int[] nomeInicios = new int[CAPACIDADE_INICIAL];
+    private int[] nomeTamanhos = new int[CAPACIDADE_INICIAL];
+    private int linhas;
+
+    // Tabela de nomes: bytes UTF-8 concatenados; trechos de nomes sobrescritos viram lixo até a compactação
+    private byte[] nomes = new byte[CAPACIDADE_INICIAL * 16];
+    private int nomesUsados;
+    private int nomesLixo;
+
+    // IDs em ordem crescente, mantidos a cada inserção e remoção
+    private long[] idsOrdenados = new long[CAPACIDADE_INICIAL];
+
+    // Linhas em ordem de nome (collation pt-BR); null quando uma escrita invalidou a ordem
+    private volatile int[] linhasPorNome = new int[0];
+
+    @Override
+    public Pessoa save(Pessoa pessoa) {
+        log.debug("Salvando pessoa no armazenamento colunar: {}", pessoa.getNome());
+
+        lock.writeLock().lock();
+        try {
+            gravar(pessoa);
+            modificacoes.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.debug("Pessoa salva no armazenamento colunar com ID: {}", pessoa.getId());
+        return pessoa;
+    }
+
+    /**
+     * Grava o lote sob uma única aquisição da trava de escrita. Linhas novas com IDs
+     * crescentes viram appends nas colunas; a ordem por nome é recalculada uma vez.
+     */
+    @Override
+    public List<Pessoa> saveAll(List<Pessoa> pessoas) {
+        log.debug("Salvando lote de {} pessoas no armazenamento colunar", pessoas.size());
+
+        lock.writeLock().lock();
+        try {
+            reservar(linhas + pessoas.size());
+            for (Pessoa pessoa : pessoas) {
+                gravar(pessoa);
+            }
+            modificacoes.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Lote de {} pessoas salvo no armazenamento colunar", pessoas.size());
+        return pessoas;
+    }
+
+    /**
+     * As pessoas lidas são montadas a cada leitura, então a comparação é pela versão da
+     * linha, sob a trava de escrita que já protege as colunas.
+     */
+    @Override
+    public Optional<Pessoa> replace(Pessoa atual, Pessoa nova) {
+        nova.setId(atual.getId());
+
+        lock.writeLock().lock();
+        try {
+            int linha = linhaPorId.get(atual.getId());
+            if (linha == LongIntHashMap.MISSING || !Objects.equals(versoes[linha], atual.getVersao())) {
+                return Optional.empty();
+            }
+            gravar(nova);
+            modificacoes.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.debug("Pessoa atualizada no armazenamento colunar com ID: {} (versão {})", nova.getId(), nova.getVersao());
+        return Optional.of(nova);
+    }
+
+    @Override
+    public Optional<Pessoa> findById(Long id) {
+        log.debug("Buscando pessoa por ID no armazenamento colunar: {}", id);
+
+        lock.readLock().lock();
+        try {
+            int linha = linhaPorId.get(id);
+            return linha == LongIntHashMap.MISSING ? Optional.empty() : Optional.of(montar(linha));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Pessoa> findAllOrderByNome() {
+        log.debug("Buscando todas as pessoas ordenadas por nome no armazenamento colunar");
+
+        lock.readLock().lock();
+        try {
+            int[] ordem = linhasPorNome;
+            if (ordem == null) {
+                ordem = ordenarPorNome();
+                linhasPorNome = ordem;
+            }
+
+            List<Pessoa> pessoas = new ArrayList<>(ordem.length);
+            for (int linha : ordem) {
+                pessoas.add(montar(linha));
+            }
+            return pessoas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Pessoa> findPageAfterId(Long afterId, int limit) {
+        log.debug("Buscando página de pessoas no armazenamento colunar após ID: {} (limite {})", afterId, limit);
+
+        lock.readLock().lock();
+        try {
+            int inicio = afterId == null ? 0 : posicaoApos(afterId);
+            int fim = (int) Math.min(linhas, (long) inicio + limit);
+
+            List<Pessoa> page = new ArrayList<>(Math.max(0, fim - inicio));
+            for (int i = inicio; i < fim; i++) {
+                page.add(montar(linhaPorId.get(idsOrdenados[i])));
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Varredura da coluna de epoch-days: sem índice próprio, mas só compara inteiros e
+     * monta as pessoas do intervalo.
+     */
+    @Override
+    public List<Pessoa> findByDataNascimentoBetween(LocalDate de, LocalDate ate) {
+        log.debug("Buscando pessoas no armazenamento colunar nascidas entre {} e {}", de, ate);
+        return buscarEntre(() -> nascimentos, de, ate);
+    }
+
+    @Override
+    public List<Pessoa> findByDataAdmissaoBetween(LocalDate de, LocalDate ate) {
+        log.debug("Buscando pessoas no armazenamento colunar admitidas entre {} e {}", de, ate);
+        return buscarEntre(() -> admissoes, de, ate);
+    }
+
+    @Override
+    public List<Pessoa> findByAniversarioBetween(MonthDay de, MonthDay ate) {
+        log.debug("Buscando aniversariantes no armazenamento colunar entre {} e {}", de, ate);
+        int inicio = DiaIndex.mesDia(de);
+        int fim = DiaIndex.mesDia(ate);
+
+        lock.readLock().lock();
+        try {
+            List<Integer> encontradas = new ArrayList<>();
+            for (int linha = 0; linha < linhas; linha++) {
+                int dia = nascimentos[linha];
+                if (dia != DATA_NULA && DiaIndex.mesDiaEntre(DiaIndex.mesDia(LocalDate.ofEpochDay(dia)), inicio, fim)) {
+                    encontradas.add(linha);
+                }
+            }
+            // Ordem de mês e dia a partir do início do intervalo, como no repositório em mapa
+            encontradas.sort(Comparator
+                    .comparingInt((Integer linha) -> {
+                        int mesDia = DiaIndex.mesDia(LocalDate.ofEpochDay(nascimentos[linha]));
+                        return mesDia < inicio ? mesDia + 10_000 : mesDia;
+                    })
+                    .thenComparingLong(linha -> ids[linha]));
+            return montar(encontradas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A coluna é lida sob a trava: as colunas são realocadas quando crescem.
+     */
+    private List<Pessoa> buscarEntre(Supplier<int[]> coluna, LocalDate de, LocalDate ate) {
+        long inicio = de == null ? Long.MIN_VALUE : de.toEpochDay();
+        long fim = ate == null ? Long.MAX_VALUE : ate.toEpochDay();
+
+        lock.readLock().lock();
+        try {
+            int[] dias = coluna.get();
+            List<Integer> encontradas = new ArrayList<>();
+            for (int linha = 0; linha < linhas; linha++) {
+                int dia = dias[linha];
+                if (dia != DATA_NULA && dia >= inicio && dia <= fim) {
+                    encontradas.add(linha);
+                }
+            }
+            encontradas.sort(Comparator.comparingInt((Integer linha) -> dias[linha]).thenComparingLong(linha -> ids[linha]));
+            return montar(encontradas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Pessoa> montar(List<Integer> linhasEncontradas) {
+        List<Pessoa> pessoas = new ArrayList<>(linhasEncontradas.size());
+        for (int linha : linhasEncontradas) {
+            pessoas.add(montar(linha));
+        }
+        return pessoas;
+    }
+
+    /**
+     * Cópia direta da coluna de admissões, sem montar nenhuma {@link Pessoa}.
+     */
+    @Override
+    public int[] findAllDataAdmissaoEpochDay() {
+        log.debug("Lendo coluna de admissões do armazenamento colunar");
+
+        lock.readLock().lock();
+        try {
+            int[] copia = Arrays.copyOf(admissoes, linhas);
+            int total = 0;
+            for (int dia : copia) {
+                if (dia != DATA_NULA) {
+                    copia[total++] = dia;
+                }
+            }
+            return total == copia.length ? copia : Arrays.copyOf(copia, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        log.debug("Verificando existência de pessoa por ID no armazenamento colunar: {}", id);
+
+        lock.readLock().lock();
+        try {
+            return linhaPorId.get(id) != LongIntHashMap.MISSING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        log.debug("Removendo pessoa por ID do armazenamento colunar: {}", id);
+
+        lock.writeLock().lock();
+        try {
+            int linha = linhaPorId.remove(id);
+            if (linha == LongIntHashMap.MISSING) {
+                log.warn("Pessoa não encontrada para remoção com ID: {}", id);
+                return;
+            }
+
+            nomesLixo += Math.max(0, nomeTamanhos[linha]);
+            int ultima = --linhas;
+            if (linha != ultima) {
+                ids[linha] = ids[ultima];
+                versoes[linha] = versoes[ultima];
+                nascimentos[linha] = nascimentos[ultima];
+                admissoes[linha] = admissoes[ultima];
+                nomeInicios[linha] = nomeInicios[ultima];
+                nomeTamanhos[linha] = nomeTamanhos[ultima];
+                linhaPorId.put(ids[linha], linha);
+            }
+
+            int posicao = Arrays.binarySearch(idsOrdenados, 0, linhas + 1, id);
+            System.arraycopy(idsOrdenados, posicao + 1, idsOrdenados, posicao, linhas - posicao);
+            linhasPorNome = null;
+            compactarNomesSeNecessario();
+            modificacoes.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Pessoa removida do armazenamento colunar com ID: {}", id);
+    }
+
+    @Override
+    public long count() {
+        log.debug("Contando total de pessoas no armazenamento colunar");
+
+        lock.readLock().lock();
+        try {
+            return linhas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Long getNextId() {
+        Long nextId = idGenerator.incrementAndGet();
+
+        log.debug("Próximo ID disponível: {}", nextId);
+        return nextId;
+    }
+
+    @Override
+    public long modificationCount() {
+        return modificacoes.get();
+    }
+
+    private void gravar(Pessoa pessoa) {
+        if (pessoa.getId() == null) {
+            do {
+                pessoa.setId(idGenerator.incrementAndGet());
+            } while (linhaPorId.get(pessoa.getId()) != LongIntHashMap.MISSING);
+        } else {
+            idGenerator.accumulateAndGet(pessoa.getId(), Math::max);
+        }
+
+        int linha = linhaPorId.get(pessoa.getId());
+        if (linha == LongIntHashMap.MISSING) {
+            linha = novaLinha(pessoa.getId());
+            versoes[linha] = 0;
+            gravarNome(linha, pessoa.getNome());
+        } else {
+            versoes[linha]++;
+            if (!Objects.equals(nome(linha), pessoa.getNome())) {
+                nomesLixo += Math.max(0, nomeTamanhos[linha]);
+                gravarNome(linha, pessoa.getNome());
+                linhasPorNome = null;
+            }
+        }
+        pessoa.setVersao(versoes[linha]);
+        gravarDatas(linha, pessoa);
+    }
+
+    private int novaLinha(long id) {
+        if (linhas == ids.length) {
+            reservar(ids.length << 1);
+        }
+
+        // Inserção em ordem crescente de ID é o caso comum e vira um append
+        int posicao = linhas == 0 || id > idsOrdenados[linhas - 1]
+                ? linhas
+                : -Arrays.binarySearch(idsOrdenados, 0, linhas, id) - 1;
+        System.arraycopy(idsOrdenados, posicao, idsOrdenados, posicao + 1, linhas - posicao);
+        idsOrdenados[posicao] = id;
+
+        int linha = linhas++;
+        ids[linha] = id;
+        linhaPorId.put(id, linha);
+        linhasPorNome = null;
+        return linha;
+    }
+
+    /**
+     * Garante espaço para {@code capacidade} linhas em todas as colunas.
+     */
+    private void reservar(int capacidade) {
+        if (capacidade > ids.length) {
+            ids = Arrays.copyOf(ids, capacidade);
+            versoes = Arrays.copyOf(versoes, capacidade);
+            nascimentos = Arrays.copyOf(nascimentos, capacidade);
+            admissoes = Arrays.copyOf(admissoes, capacidade);
+            nomeInicios = Arrays.copyOf(nomeInicios, capacidade);
+            nomeTamanhos = Arrays.copyOf(nomeTamanhos, capacidade);
+            idsOrdenados = Arrays.copyOf(idsOrdenados, capacidade);
+        }
+    }
+
+    private void gravarDatas(int linha, Pessoa pessoa) {
+        nascimentos[linha] = epochDay(pessoa.getDataNascimento());
+        admissoes[linha] = epochDay(pessoa.getDataAdmissao());
+    }
+
+    private void gravarNome(int linha, String nome) {
+        if (nome == null) {
+            nomeTamanhos[linha] = -1;
+            return;
+        }
+        byte[] bytes = nome.getBytes(StandardCharsets.UTF_8);
+        if (nomesUsados + bytes.length > nomes.length) {
+            nomes = Arrays.copyOf(nomes, Math.max(nomes.length << 1, nomesUsados + bytes.length));
+        }
+        System.arraycopy(bytes, 0, nomes, nomesUsados, bytes.length);
+        nomeInicios[linha] = nomesUsados;
+        nomeTamanhos[linha] = bytes.length;
+        nomesUsados += bytes.length;
+        compactarNomesSeNecessario();
+    }
+
+    /**
+     * Reescreve a tabela de nomes quando mais da metade dela é lixo de renomeações e remoções.
+     */
+    private void compactarNomesSeNecessario() {
+        if (nomesLixo < 4096 || nomesLixo < nomesUsados / 2) {
+            return;
+        }
+        byte[] compactados = new byte[Math.max(CAPACIDADE_INICIAL, (nomesUsados - nomesLixo) * 3 / 2)];
+        int usados = 0;
+        for (int linha = 0; linha < linhas; linha++) {
+            int tamanho = nomeTamanhos[linha];
+            if (tamanho > 0) {
+                System.arraycopy(nomes, nomeInicios[linha], compactados, usados, tamanho);
+                nomeInicios[linha] = usados;
+                usados += tamanho;
+            }
+        }
+        nomes = compactados;
+        nomesUsados = usados;
+        nomesLixo = 0;
+    }
+
+    private String nome(int linha) {
+        int tamanho = nomeTamanhos[linha];
+        return tamanho < 0 ? null : new String(nomes, nomeInicios[linha], tamanho, StandardCharsets.UTF_8);
+    }
+
+    private Pessoa montar(int linha) {
+        Pessoa pessoa = new Pessoa(ids[linha], nome(linha), data(nascimentos[linha]), data(admissoes[linha]));
+        pessoa.setVersao(versoes[linha]);
+        return pessoa;
+    }
+
+    private int[] ordenarPorNome() {
+        CollationKey[] chaves = new CollationKey[linhas];
+        Integer[] ordem = new Integer[linhas];
+        // Collator não é thread-safe
+        synchronized (collator) {
+            for (int linha = 0; linha < linhas; linha++) {
+                String nome = nome(linha);
+                chaves[linha] = collator.getCollationKey(nome == null ? "" : nome);
+                ordem[linha] = linha;
+            }
+        }
+        Arrays.sort(ordem, (a, b) -> {
+            int comparacao = chaves[a].compareTo(chaves[b]);
+            return comparacao != 0 ? comparacao : Long.compare(ids[a], ids[b]);
+        });
+
+        int[] linhasOrdenadas = new int[linhas];
+        for (int i = 0; i < linhas; i++) {
+            linhasOrdenadas[i] = ordem[i];
+        }
+        return linhasOrdenadas;
+    }
+
+    private int posicaoApos(long afterId) {
+        int posicao = Arrays.binarySearch(idsOrdenados, 0, linhas, afterId);
+        return posicao >= 0 ? posicao + 1 : -posicao - 1;
+    }
+
+    private static int epochDay(LocalDate data) {
+        return data == null ? DATA_NULA : Math.toIntExact(data.toEpochDay());
+    }
+
+    private static LocalDate data(int epochDay) {
+        return epochDay == DATA_NULA ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -1,28 +1,66 @@
 package com.sccon.geospatial.personapi.infrastructure.repository;
 
 import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.model.PersonAggregates;
 import com.sccon.geospatial.personapi.domain.repository.PersonRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.index.AggregateCounters;
+import com.sccon.geospatial.personapi.infrastructure.repository.index.CpfIndex;
+import com.sccon.geospatial.personapi.infrastructure.repository.index.HeapFootprint;
+import com.sccon.geospatial.personapi.infrastructure.repository.index.TrigramIndex;
+import com.sccon.geospatial.personapi.infrastructure.repository.persistence.PersonJournal;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 
 @Repository
-@Primary
 @Slf4j
 public class InMemoryPersonRepository implements PersonRepository {
 
+    private static final int STRIPES = 64;
+    static final int HEAP_SAMPLE_SIZE = 256;
+
     private final Map<Long, Person> personMap = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Long> orderedIds = new ConcurrentSkipListSet<>();
     private final AtomicLong idGenerator = new AtomicLong(1);
+    // Incrementado depois de cada escrita; base do ETag das listagens
+    private final AtomicLong modifications = new AtomicLong();
+    private final CpfIndex cpfIndex = new CpfIndex();
+    private final TrigramIndex nameIndex = new TrigramIndex();
+    private final AggregateCounters aggregateCounters = new AggregateCounters();
+
+    // Travas por faixa de ID: mantêm a ordem do journal igual à ordem das alterações de cada pessoa
+    private final Object[] stripes = new Object[STRIPES];
+    private volatile PersonJournal journal = PersonJournal.NONE;
+
+    public InMemoryPersonRepository() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Passa a registrar cada escrita no journal informado (durabilidade opcional).
+     */
+    public void attachJournal(PersonJournal journal) {
+        this.journal = journal;
+    }
 
     @Override
     public Person save(Person person) {
+        journal.sync(saveUnsynced(person));
+        return person;
+    }
+
+    private long saveUnsynced(Person person) {
         log.debug("Salvando pessoa no mapa em memória: {}", person.getName());
         
         if (person.getId() == null) {
@@ -37,10 +75,149 @@ public class InMemoryPersonRepository implements PersonRepository {
             person.setUpdatedAt(LocalDateTime.now());
         }
         
-        personMap.put(person.getId(), person);
-        log.info("Pessoa salva no mapa com ID: {}", person.getId());
+        long position;
+        synchronized (stripe(person.getId())) {
+            nextVersion(person);
+            index(person);
+            position = journal.saved(person);
+        }
+        modifications.incrementAndGet();
+        log.debug("Pessoa salva no mapa com ID: {}", person.getId());
         
-        return person;
+        return position;
+    }
+
+    /**
+     * Compara pela identidade do objeto gravado: {@code Person.equals} considera só ID e CPF,
+     * o que impede usar {@code ConcurrentHashMap.replace(k, old, new)}. A comparação e a troca
+     * ficam sob a trava da faixa do ID, a mesma que mantém o journal na ordem das alterações;
+     * escritas em IDs de faixas diferentes não se bloqueiam e leituras nunca esperam.
+     */
+    @Override
+    public Optional<Person> replace(Person current, Person updated) {
+        Long id = current.getId();
+        updated.setId(id);
+        updated.setCreatedAt(current.getCreatedAt());
+        updated.setUpdatedAt(LocalDateTime.now());
+
+        long position;
+        synchronized (stripe(id)) {
+            if (personMap.get(id) != current) {
+                return Optional.empty();
+            }
+            nextVersion(updated);
+            index(updated);
+            position = journal.saved(updated);
+        }
+        journal.sync(position);
+        modifications.incrementAndGet();
+        log.debug("Pessoa atualizada no mapa com ID: {} (versão {})", id, updated.getVersion());
+        return Optional.of(updated);
+    }
+
+    /**
+     * Insere uma pessoa recuperada do disco sem registrá-la no journal nem alterar
+     * suas datas. Pode ser chamado em paralelo durante a recuperação.
+     */
+    public void restore(Person person) {
+        synchronized (stripe(person.getId())) {
+            index(person);
+        }
+        idGenerator.accumulateAndGet(person.getId() + 1, Math::max);
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * Reaplica uma remoção recuperada do disco sem registrá-la no journal.
+     */
+    public void restoreDelete(Long id) {
+        synchronized (stripe(id)) {
+            if (personMap.remove(id) != null) {
+                unindex(id);
+            }
+        }
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * Versão da pessoa gravada: 0 na criação, a versão atual + 1 nas atualizações.
+     * Chamado com a trava da faixa do ID.
+     */
+    private void nextVersion(Person person) {
+        Person existing = personMap.get(person.getId());
+        Long current = existing == null ? null : existing.getVersion();
+        person.setVersion(current == null ? 0L : current + 1);
+    }
+
+    private void index(Person person) {
+        personMap.put(person.getId(), person);
+        orderedIds.add(person.getId());
+        cpfIndex.put(person.getId(), person.getCpf());
+        nameIndex.put(person.getId(), person.getName());
+        aggregateCounters.put(person);
+    }
+
+    private void unindex(Long id) {
+        orderedIds.remove(id);
+        cpfIndex.remove(id);
+        nameIndex.remove(id);
+        aggregateCounters.remove(id);
+    }
+
+    private Object stripe(Long id) {
+        return stripes[stripeIndex(id)];
+    }
+
+    private static int stripeIndex(Long id) {
+        return Math.floorMod(Long.hashCode(id), STRIPES);
+    }
+
+    /**
+     * Grava o lote sem log por pessoa: as pessoas são agrupadas por faixa de trava
+     * (preservando a ordem de cada ID) e as faixas são indexadas em paralelo.
+     */
+    @Override
+    public List<Person> saveAll(List<Person> persons) {
+        log.debug("Salvando lote de {} pessoas no mapa em memória", persons.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<List<Person>> byStripe = new ArrayList<>(STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            byStripe.add(new ArrayList<>());
+        }
+        for (Person person : persons) {
+            if (person.getId() == null) {
+                person.setId(idGenerator.getAndIncrement());
+                person.setCreatedAt(now);
+            } else {
+                Person existingPerson = personMap.get(person.getId());
+                if (existingPerson != null) {
+                    person.setCreatedAt(existingPerson.getCreatedAt());
+                }
+                idGenerator.accumulateAndGet(person.getId() + 1, Math::max);
+            }
+            person.setUpdatedAt(now);
+            byStripe.get(stripeIndex(person.getId())).add(person);
+        }
+
+        long position = IntStream.range(0, STRIPES).parallel()
+                .mapToLong(stripe -> {
+                    long last = 0;
+                    synchronized (stripes[stripe]) {
+                        for (Person person : byStripe.get(stripe)) {
+                            nextVersion(person);
+                            index(person);
+                            last = Math.max(last, journal.saved(person));
+                        }
+                    }
+                    return last;
+                })
+                .max()
+                .orElse(0);
+        // Um único sync para o lote inteiro
+        journal.sync(position);
+        modifications.incrementAndGet();
+        log.info("Lote de {} pessoas salvo no mapa", persons.size());
+        return persons;
     }
 
     @Override
@@ -53,9 +230,8 @@ public class InMemoryPersonRepository implements PersonRepository {
     @Override
     public Optional<Person> findByCpf(String cpf) {
         log.debug("Buscando pessoa por CPF no mapa: {}", cpf);
-        return personMap.values().stream()
-                .filter(person -> Objects.equals(person.getCpf(), cpf))
-                .findFirst();
+        Long id = cpfIndex.findId(cpf);
+        return id == null ? Optional.empty() : Optional.ofNullable(personMap.get(id));
     }
 
     @Override
@@ -64,28 +240,72 @@ public class InMemoryPersonRepository implements PersonRepository {
         return new ArrayList<>(personMap.values());
     }
 
+    @Override
+    public List<Person> findPageAfterId(Long afterId, int limit) {
+        log.debug("Buscando página de pessoas no mapa após ID: {} (limite {})", afterId, limit);
+        NavigableSet<Long> ids = afterId == null ? orderedIds : orderedIds.tailSet(afterId, false);
+
+        List<Person> page = new ArrayList<>(Math.min(limit, ids.size()));
+        for (Long id : ids) {
+            if (page.size() >= limit) {
+                break;
+            }
+            Person person = personMap.get(id);
+            if (person != null) {
+                page.add(person);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public Stream<Person> streamAll() {
+        log.debug("Percorrendo todas as pessoas do mapa em modo streaming");
+        // Iterador fracamente consistente: não copia o mapa e tolera escritas concorrentes
+        return orderedIds.stream()
+                .map(personMap::get)
+                .filter(Objects::nonNull);
+    }
+
     @Override
     public List<Person> findByNameContainingIgnoreCase(String name) {
         log.debug("Buscando pessoas por nome no mapa: {}", name);
-        return personMap.values().stream()
-                .filter(person -> person.getName() != null && 
-                        person.getName().toLowerCase().contains(name.toLowerCase()))
+        return nameIndex.search(name).stream()
+                .map(personMap::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
     @Override
     public boolean existsByCpf(String cpf) {
         log.debug("Verificando existência de pessoa por CPF no mapa: {}", cpf);
-        return personMap.values().stream()
-                .anyMatch(person -> Objects.equals(person.getCpf(), cpf));
+        return cpfIndex.findId(cpf) != null;
+    }
+
+    @Override
+    public Set<String> findExistingCpfs(Collection<String> cpfs) {
+        log.debug("Verificando existência de {} CPFs no mapa", cpfs.size());
+        return cpfs.stream()
+                .filter(cpf -> cpfIndex.findId(cpf) != null)
+                .collect(Collectors.toSet());
     }
 
     @Override
     public void deleteById(Long id) {
         log.debug("Removendo pessoa por ID do mapa: {}", id);
-        Person removed = personMap.remove(id);
+        Person removed;
+        long position = 0;
+        synchronized (stripe(id)) {
+            removed = personMap.remove(id);
+            if (removed != null) {
+                unindex(id);
+                position = journal.deleted(id);
+            }
+        }
         if (removed != null) {
-            log.info("Pessoa removida do mapa com ID: {}", id);
+            journal.sync(position);
+            modifications.incrementAndGet();
+            log.debug("Pessoa removida do mapa com ID: {}", id);
         } else {
             log.warn("Pessoa não encontrada para remoção com ID: {}", id);
         }
@@ -97,15 +317,103 @@ public class InMemoryPersonRepository implements PersonRepository {
         return personMap.size();
     }
 
-    public Map<Long, Person> getPersonMap() {
-        return new HashMap<>(personMap);
+    @Override
+    public PersonAggregates aggregates() {
+        log.debug("Lendo agregados de pessoas dos contadores em memória");
+        return aggregateCounters.snapshot();
+    }
+
+    @Override
+    public long modificationCount() {
+        return modifications.get();
+    }
+
+    /**
+     * Resumo do mapa com o heap estimado por amostragem: até {@link #HEAP_SAMPLE_SIZE}
+     * IDs espalhados pela faixa de IDs, cada um localizado por busca no skip list,
+     * de modo que o custo independe do tamanho do mapa.
+     */
+    public MemoryMapStatistics statistics() {
+        log.debug("Calculando estatísticas do mapa por amostragem");
+        long entries = personMap.size();
+        Long minId = firstId();
+        Long maxId = lastId();
+        if (minId == null || maxId == null) {
+            return new MemoryMapStatistics(entries, null, null, idGenerator.get(), 0, 0, 0);
+        }
+
+        long sampled = 0;
+        long sampledBytes = 0;
+        for (Long id : sampleIds(entries, minId, maxId)) {
+            long bytes = retainedBytes(id);
+            if (bytes > 0) {
+                sampled++;
+                sampledBytes += bytes;
+            }
+        }
+
+        long perEntry = sampled == 0 ? 0 : sampledBytes / sampled;
+        return new MemoryMapStatistics(entries, minId, maxId, idGenerator.get(),
+                (int) sampled, perEntry, perEntry * entries);
     }
 
-    public Map<String, Object> getStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalPersons", personMap.size());
-        stats.put("nextId", idGenerator.get());
-        stats.put("ids", new ArrayList<>(personMap.keySet()));
-        return stats;
+    /**
+     * Todos os IDs quando cabem na amostra; senão, o primeiro ID a partir de cada
+     * uma de {@link #HEAP_SAMPLE_SIZE} posições igualmente espaçadas entre o menor e o maior.
+     */
+    private Collection<Long> sampleIds(long entries, long minId, long maxId) {
+        if (entries <= HEAP_SAMPLE_SIZE) {
+            return orderedIds.stream().limit(HEAP_SAMPLE_SIZE).toList();
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        double step = (double) (maxId - minId) / (HEAP_SAMPLE_SIZE - 1);
+        for (int i = 0; i < HEAP_SAMPLE_SIZE; i++) {
+            Long id = orderedIds.ceiling(minId + (long) (step * i));
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private Long firstId() {
+        try {
+            return orderedIds.first();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    private Long lastId() {
+        try {
+            return orderedIds.last();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Heap estimado de uma entrada: a pessoa e seus campos, as entradas no mapa e no
+     * skip list de IDs e a parte do ID em cada índice secundário.
+     */
+    private long retainedBytes(Long id) {
+        Person person = personMap.get(id);
+        if (person == null) {
+            return 0;
+        }
+        return HeapFootprint.HASH_ENTRY + HeapFootprint.SKIP_LIST_ENTRY
+                + HeapFootprint.object(8, 0)
+                + HeapFootprint.boxedLong(person.getId())
+                + HeapFootprint.string(person.getName())
+                + HeapFootprint.string(person.getCpf())
+                + HeapFootprint.string(person.getPhone())
+                + HeapFootprint.string(person.getEmail())
+                + HeapFootprint.localDateTime(person.getCreatedAt())
+                + HeapFootprint.localDateTime(person.getUpdatedAt())
+                + HeapFootprint.boxedLong(person.getVersion())
+                + cpfIndex.retainedBytes(id)
+                + nameIndex.retainedBytes(id)
+                + aggregateCounters.retainedBytes(id);
     }
 }
@@ -2,34 +2,161 @@ package com.sccon.geospatial.personapi.infrastructure.repository;
 
 import com.sccon.geospatial.personapi.domain.model.Pessoa;
 import com.sccon.geospatial.personapi.domain.repository.PessoaRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.index.DiaIndex;
+import com.sccon.geospatial.personapi.infrastructure.repository.index.NomeIndex;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.MonthDay;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 @Repository
+@ConditionalOnProperty(name = "person-api.pessoa.storage", havingValue = "map", matchIfMissing = true)
 @Slf4j
 public class InMemoryPessoaRepository implements PessoaRepository {
 
+    private static final int STRIPES = 64;
+
     private final Map<Long, Pessoa> pessoaMap = new ConcurrentHashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(1);
+    private final ConcurrentSkipListSet<Long> orderedIds = new ConcurrentSkipListSet<>();
+    // Maior ID já emitido ou recebido explicitamente; parte de zero porque o mapa nasce vazio
+    private final AtomicLong idGenerator = new AtomicLong(0);
+    private final NomeIndex nomeIndex = new NomeIndex();
+    // Nascimento e admissão em epoch-day; aniversário em mês-dia
+    private final DiaIndex nascimentoIndex = new DiaIndex();
+    private final DiaIndex admissaoIndex = new DiaIndex();
+    private final DiaIndex aniversarioIndex = new DiaIndex();
+    // Incrementado depois de cada escrita; base do ETag das listagens
+    private final AtomicLong modificacoes = new AtomicLong();
+    // Travas por faixa de ID: cada escrita muda o mapa, orderedIds e os índices do ID sob a
+    // mesma trava, para que uma gravação e uma remoção concorrentes não os deixem divergentes
+    private final Object[] stripes = new Object[STRIPES];
+
+    public InMemoryPessoaRepository() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
 
     @Override
     public Pessoa save(Pessoa pessoa) {
         log.debug("Salvando pessoa no mapa em memória: {}", pessoa.getNome());
         
         if (pessoa.getId() == null) {
-            pessoa.setId(getNextId());
+            pessoa.setVersao(0L);
+            boolean gravada;
+            do {
+                pessoa.setId(getNextId());
+                synchronized (stripe(pessoa.getId())) {
+                    gravada = pessoaMap.putIfAbsent(pessoa.getId(), pessoa) == null;
+                    if (gravada) {
+                        orderedIds.add(pessoa.getId());
+                        indexar(pessoa.getId());
+                    }
+                }
+            } while (!gravada);
+        } else {
+            idGenerator.accumulateAndGet(pessoa.getId(), Math::max);
+            gravar(pessoa);
         }
         
-        pessoaMap.put(pessoa.getId(), pessoa);
-        log.info("Pessoa salva no mapa com ID: {}", pessoa.getId());
+        modificacoes.incrementAndGet();
+        log.debug("Pessoa salva no mapa com ID: {}", pessoa.getId());
         
         return pessoa;
     }
 
+    /**
+     * IDs são atribuídos em sequência; os mapas e índices, que são concorrentes,
+     * são preenchidos em paralelo.
+     */
+    @Override
+    public List<Pessoa> saveAll(List<Pessoa> pessoas) {
+        log.debug("Salvando lote de {} pessoas no mapa em memória", pessoas.size());
+        for (Pessoa pessoa : pessoas) {
+            if (pessoa.getId() == null) {
+                pessoa.setId(idGenerator.incrementAndGet());
+            } else {
+                idGenerator.accumulateAndGet(pessoa.getId(), Math::max);
+            }
+        }
+
+        pessoas.parallelStream().forEach(this::gravar);
+        modificacoes.incrementAndGet();
+        log.info("Lote de {} pessoas salvo no mapa", pessoas.size());
+        return pessoas;
+    }
+
+    /**
+     * Substitui a pessoa do ID atomicamente, com a versão seguinte à gravada
+     * (0 se o ID é novo), e atualiza orderedIds e os índices sob a trava da faixa.
+     */
+    private void gravar(Pessoa pessoa) {
+        synchronized (stripe(pessoa.getId())) {
+            pessoaMap.compute(pessoa.getId(), (id, atual) -> {
+                Long versao = atual == null ? null : atual.getVersao();
+                pessoa.setVersao(versao == null ? 0L : versao + 1);
+                return pessoa;
+            });
+            orderedIds.add(pessoa.getId());
+            indexar(pessoa.getId());
+        }
+    }
+
+    private Object stripe(Long id) {
+        return stripes[Math.floorMod(Long.hashCode(id), STRIPES)];
+    }
+
+    /**
+     * Alinha os índices do ID com a pessoa gravada no mapa neste instante; ausente do mapa,
+     * o ID sai dos índices. Chamado com a trava da faixa do ID, a mesma de toda escrita no
+     * mapa, então o índice nunca fica num nome ou data já substituídos.
+     */
+    private void indexar(Long id) {
+        Pessoa pessoa = pessoaMap.get(id);
+        if (pessoa == null) {
+            nomeIndex.remover(id);
+            nascimentoIndex.remover(id);
+            admissaoIndex.remover(id);
+            aniversarioIndex.remover(id);
+            return;
+        }
+        LocalDate nascimento = pessoa.getDataNascimento();
+        nomeIndex.indexar(id, pessoa.getNome());
+        nascimentoIndex.indexar(id, nascimento == null ? null : nascimento.toEpochDay());
+        admissaoIndex.indexar(id, pessoa.getDataAdmissao() == null ? null : pessoa.getDataAdmissao().toEpochDay());
+        aniversarioIndex.indexar(id, nascimento == null ? null : (long) DiaIndex.mesDia(nascimento));
+    }
+
+    /**
+     * Compare-and-set sob a trava da faixa do ID: a troca só acontece se o valor gravado ainda
+     * for a mesma instância lida. {@code Pessoa.equals} compara só o ID, então a comparação
+     * por identidade é feita em {@code computeIfPresent}.
+     */
+    @Override
+    public Optional<Pessoa> replace(Pessoa atual, Pessoa nova) {
+        Long id = atual.getId();
+        nova.setId(id);
+        nova.setVersao(atual.getVersao() == null ? 0L : atual.getVersao() + 1);
+
+        synchronized (stripe(id)) {
+            Pessoa gravada = pessoaMap.computeIfPresent(id, (k, valor) -> valor == atual ? nova : valor);
+            if (gravada != nova) {
+                return Optional.empty();
+            }
+            indexar(id);
+        }
+        modificacoes.incrementAndGet();
+        log.debug("Pessoa atualizada no mapa com ID: {} (versão {})", id, nova.getVersao());
+        return Optional.of(nova);
+    }
+
     @Override
     public Optional<Pessoa> findById(Long id) {
         log.debug("Buscando pessoa por ID no mapa: {}", id);
@@ -40,11 +167,101 @@ public class InMemoryPessoaRepository implements PessoaRepository {
     @Override
     public List<Pessoa> findAllOrderByNome() {
         log.debug("Buscando todas as pessoas ordenadas por nome");
-        return pessoaMap.values().stream()
-                .sorted(Comparator.comparing(Pessoa::getNome))
+        return nomeIndex.idsOrdenados().stream()
+                .map(pessoaMap::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
+    @Override
+    public List<Pessoa> findPageAfterId(Long afterId, int limit) {
+        log.debug("Buscando página de pessoas no mapa após ID: {} (limite {})", afterId, limit);
+        NavigableSet<Long> ids = afterId == null ? orderedIds : orderedIds.tailSet(afterId, false);
+
+        List<Pessoa> page = new ArrayList<>(Math.min(limit, ids.size()));
+        for (Long id : ids) {
+            if (page.size() >= limit) {
+                break;
+            }
+            Pessoa pessoa = pessoaMap.get(id);
+            if (pessoa != null) {
+                page.add(pessoa);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<Pessoa> findByDataNascimentoBetween(LocalDate de, LocalDate ate) {
+        log.debug("Buscando pessoas no mapa nascidas entre {} e {}", de, ate);
+        return buscar(nascimentoIndex.ids(epochDay(de, Long.MIN_VALUE), epochDay(ate, Long.MAX_VALUE)),
+                pessoa -> entre(pessoa.getDataNascimento(), de, ate));
+    }
+
+    @Override
+    public List<Pessoa> findByDataAdmissaoBetween(LocalDate de, LocalDate ate) {
+        log.debug("Buscando pessoas no mapa admitidas entre {} e {}", de, ate);
+        return buscar(admissaoIndex.ids(epochDay(de, Long.MIN_VALUE), epochDay(ate, Long.MAX_VALUE)),
+                pessoa -> entre(pessoa.getDataAdmissao(), de, ate));
+    }
+
+    @Override
+    public List<Pessoa> findByAniversarioBetween(MonthDay de, MonthDay ate) {
+        log.debug("Buscando aniversariantes no mapa entre {} e {}", de, ate);
+        int inicio = DiaIndex.mesDia(de);
+        int fim = DiaIndex.mesDia(ate);
+        Predicate<Pessoa> confere = pessoa -> pessoa.getDataNascimento() != null
+                && DiaIndex.mesDiaEntre(DiaIndex.mesDia(pessoa.getDataNascimento()), inicio, fim);
+        if (inicio <= fim) {
+            return buscar(aniversarioIndex.ids(inicio, fim), confere);
+        }
+        
+        List<Pessoa> pessoas = new ArrayList<>(buscar(aniversarioIndex.ids(inicio, Long.MAX_VALUE), confere));
+        pessoas.addAll(buscar(aniversarioIndex.ids(Long.MIN_VALUE, fim), confere));
+        return pessoas;
+    }
+
+    /**
+     * Lê as pessoas dos IDs do índice. O índice é atualizado depois do mapa, então a
+     * pessoa lida é conferida de novo: uma escrita concorrente pode tê-la tirado do intervalo.
+     */
+    private List<Pessoa> buscar(Collection<Long> ids, Predicate<Pessoa> confere) {
+        List<Pessoa> pessoas = new ArrayList<>();
+        for (Long id : ids) {
+            Pessoa pessoa = pessoaMap.get(id);
+            if (pessoa != null && confere.test(pessoa)) {
+                pessoas.add(pessoa);
+            }
+        }
+        return pessoas;
+    }
+
+    private static long epochDay(LocalDate data, long seNula) {
+        return data == null ? seNula : data.toEpochDay();
+    }
+
+    private static boolean entre(LocalDate data, LocalDate de, LocalDate ate) {
+        return data != null && (de == null || !data.isBefore(de)) && (ate == null || !data.isAfter(ate));
+    }
+
+    @Override
+    public int[] findAllDataAdmissaoEpochDay() {
+        log.debug("Lendo datas de admissão do mapa");
+        int[] admissoes = new int[pessoaMap.size()];
+        int total = 0;
+        for (Pessoa pessoa : pessoaMap.values()) {
+            if (pessoa.getDataAdmissao() == null) {
+                continue;
+            }
+            // A iteração pode ver pessoas gravadas depois da leitura do tamanho
+            if (total == admissoes.length) {
+                admissoes = Arrays.copyOf(admissoes, Math.max(16, total * 2));
+            }
+            admissoes[total++] = Math.toIntExact(pessoa.getDataAdmissao().toEpochDay());
+        }
+        return total == admissoes.length ? admissoes : Arrays.copyOf(admissoes, total);
+    }
+
     @Override
     public boolean existsById(Long id) {
         log.debug("Verificando existência de pessoa por ID no mapa: {}", id);
@@ -54,9 +271,17 @@ public class InMemoryPessoaRepository implements PessoaRepository {
     @Override
     public void deleteById(Long id) {
         log.debug("Removendo pessoa por ID do mapa: {}", id);
-        Pessoa removed = pessoaMap.remove(id);
+        Pessoa removed;
+        synchronized (stripe(id)) {
+            removed = pessoaMap.remove(id);
+            if (removed != null) {
+                orderedIds.remove(id);
+                indexar(id);
+            }
+        }
         if (removed != null) {
-            log.info("Pessoa removida do mapa com ID: {}", id);
+            modificacoes.incrementAndGet();
+            log.debug("Pessoa removida do mapa com ID: {}", id);
         } else {
             log.warn("Pessoa não encontrada para remoção com ID: {}", id);
         }
@@ -68,20 +293,23 @@ public class InMemoryPessoaRepository implements PessoaRepository {
         return pessoaMap.size();
     }
 
+    /**
+     * Reserva o próximo ID sem varrer o mapa. IDs explícitos recebidos em
+     * {@link #save(Pessoa)} avançam o gerador, mantendo a sequência monotônica.
+     */
     @Override
     public Long getNextId() {
-        Long maxId = pessoaMap.keySet().stream()
-                .mapToLong(Long::longValue)
-                .max()
-                .orElse(0L);
-        
-        Long nextId = maxId + 1;
-        idGenerator.set(nextId + 1);
+        Long nextId = idGenerator.incrementAndGet();
         
         log.debug("Próximo ID disponível: {}", nextId);
         return nextId;
     }
 
+    @Override
+    public long modificationCount() {
+        return modificacoes.get();
+    }
+
     public Map<Long, Pessoa> getPessoaMap() {
         return new HashMap<>(pessoaMap);
     }
@@ -0,0 +1,17 @@
+package com.sccon.geospatial.personapi.infrastructure.repository;
+
+/**
+ * Resumo do mapa em memória: contagem, faixa de IDs e heap retido estimado a
+ * partir de uma amostra de entradas (não lista IDs nem percorre o mapa inteiro).
+ *
+ * @param entries                 pessoas no mapa
+ * @param minId                   menor ID presente, ou null com o mapa vazio
+ * @param maxId                   maior ID presente, ou null com o mapa vazio
+ * @param nextId                  próximo ID a ser gerado
+ * @param sampledEntries          entradas efetivamente medidas na amostra
+ * @param estimatedBytesPerEntry  média do heap retido por entrada, incluindo os índices
+ * @param estimatedTotalBytes     média extrapolada para todas as entradas
+ */
+public record MemoryMapStatistics(long entries, Long minId, Long maxId, long nextId,
+                                  int sampledEntries, long estimatedBytesPerEntry, long estimatedTotalBytes) {
+}
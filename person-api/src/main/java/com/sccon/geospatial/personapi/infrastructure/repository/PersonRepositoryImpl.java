@@ -1,29 +1,85 @@
 package com.sccon.geospatial.personapi.infrastructure.repository;
 
 import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.model.PersonAggregates;
 import com.sccon.geospatial.personapi.domain.repository.PersonRepository;
+import com.sccon.geospatial.personapi.domain.validation.PersonValidator;
 import com.sccon.geospatial.personapi.infrastructure.repository.jpa.PersonJpaRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @Slf4j
 public class PersonRepositoryImpl implements PersonRepository {
 
     private final PersonJpaRepository jpaRepository;
+    private final EntityManager entityManager;
+    // Escritas confirmadas por esta instância; base do ETag das listagens
+    private final AtomicLong modifications = new AtomicLong();
 
-    public PersonRepositoryImpl(PersonJpaRepository jpaRepository) {
+    public PersonRepositoryImpl(PersonJpaRepository jpaRepository, EntityManager entityManager) {
         this.jpaRepository = jpaRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
     public Person save(Person person) {
         log.debug("Salvando pessoa: {}", person.getName());
-        return jpaRepository.save(person);
+        Person saved = jpaRepository.save(person);
+        modified();
+        return saved;
+    }
+
+    /**
+     * Grava o lote em batches JDBC (hibernate.jdbc.batch_size) e limpa o contexto
+     * de persistência, para que importações grandes não acumulem entidades gerenciadas.
+     */
+    @Override
+    public List<Person> saveAll(List<Person> persons) {
+        log.debug("Salvando lote de {} pessoas", persons.size());
+        List<Person> saved = jpaRepository.saveAll(persons);
+        entityManager.flush();
+        entityManager.clear();
+        modified();
+        return saved;
+    }
+
+    /**
+     * Compara a versão lida com a gravada e aplica a alteração na entidade gerenciada; a
+     * disputa com transações concorrentes é decidida pelo {@code @Version} no UPDATE do flush.
+     */
+    @Override
+    public Optional<Person> replace(Person current, Person updated) {
+        log.debug("Atualizando pessoa condicionalmente. ID: {}, versão: {}", current.getId(), current.getVersion());
+        Optional<Person> stored = jpaRepository.findById(current.getId());
+        if (stored.isEmpty() || !Objects.equals(stored.get().getVersion(), current.getVersion())) {
+            return Optional.empty();
+        }
+
+        Person managed = stored.get();
+        managed.setName(updated.getName());
+        managed.setCpf(updated.getCpf());
+        managed.setPhone(updated.getPhone());
+        managed.setEmail(updated.getEmail());
+        Person saved = jpaRepository.saveAndFlush(managed);
+        modified();
+        return Optional.of(saved);
     }
 
     @Override
@@ -35,7 +91,8 @@ public class PersonRepositoryImpl implements PersonRepository {
     @Override
     public Optional<Person> findByCpf(String cpf) {
         log.debug("Buscando pessoa por CPF: {}", cpf);
-        return jpaRepository.findByCpf(cpf);
+        long key = PersonValidator.cpfKey(cpf);
+        return key == PersonValidator.INVALID_CPF_KEY ? Optional.empty() : jpaRepository.findByCpfKey(key);
     }
 
     @Override
@@ -44,6 +101,20 @@ public class PersonRepositoryImpl implements PersonRepository {
         return jpaRepository.findAll();
     }
 
+    @Override
+    public List<Person> findPageAfterId(Long afterId, int limit) {
+        log.debug("Buscando página de pessoas após ID: {} (limite {})", afterId, limit);
+        return jpaRepository.findPageAfterId(afterId == null ? 0L : afterId, Limit.of(limit));
+    }
+
+    @Override
+    public Stream<Person> streamAll() {
+        log.debug("Percorrendo todas as pessoas com cursor do banco");
+        // Desanexa cada entidade para que o contexto de persistência não cresça com o export
+        return jpaRepository.streamAll()
+                .peek(entityManager::detach);
+    }
+
     @Override
     public List<Person> findByNameContainingIgnoreCase(String name) {
         log.debug("Buscando pessoas por nome: {}", name);
@@ -53,13 +124,35 @@ public class PersonRepositoryImpl implements PersonRepository {
     @Override
     public boolean existsByCpf(String cpf) {
         log.debug("Verificando existência de pessoa por CPF: {}", cpf);
-        return jpaRepository.existsByCpf(cpf);
+        long key = PersonValidator.cpfKey(cpf);
+        return key != PersonValidator.INVALID_CPF_KEY && jpaRepository.existsByCpfKey(key);
+    }
+
+    @Override
+    public Set<String> findExistingCpfs(Collection<String> cpfs) {
+        log.debug("Verificando existência de {} CPFs", cpfs.size());
+        if (cpfs.isEmpty()) {
+            return Set.of();
+        }
+        // Consulta pelas chaves normalizadas e devolve os CPFs como foram pedidos
+        Set<Long> keys = cpfs.stream()
+                .map(PersonValidator::cpfKey)
+                .filter(key -> key != PersonValidator.INVALID_CPF_KEY)
+                .collect(Collectors.toSet());
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> existingKeys = jpaRepository.findExistingCpfKeys(keys);
+        return cpfs.stream()
+                .filter(cpf -> existingKeys.contains(PersonValidator.cpfKey(cpf)))
+                .collect(Collectors.toSet());
     }
 
     @Override
     public void deleteById(Long id) {
         log.debug("Removendo pessoa por ID: {}", id);
         jpaRepository.deleteById(id);
+        modified();
     }
 
     @Override
@@ -67,4 +160,42 @@ public class PersonRepositoryImpl implements PersonRepository {
         log.debug("Contando total de pessoas");
         return jpaRepository.count();
     }
+
+    @Override
+    public PersonAggregates aggregates() {
+        log.debug("Calculando agregados de pessoas com COUNT/GROUP BY");
+        return new PersonAggregates(jpaRepository.count(),
+                toCounts(jpaRepository.countByEmailDomain()),
+                toCounts(jpaRepository.countByAreaCode()));
+    }
+
+    @Override
+    public long modificationCount() {
+        return modifications.get();
+    }
+
+    /**
+     * Conta a escrita depois do commit da transação corrente (na hora, se não houver
+     * transação), para que um ETag de listagem nunca descreva dados não confirmados.
+     */
+    private void modified() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    modifications.incrementAndGet();
+                }
+            });
+        } else {
+            modifications.incrementAndGet();
+        }
+    }
+
+    private static Map<String, Long> toCounts(List<Object[]> rows) {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
 }
@@ -0,0 +1,86 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.index;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.model.PersonAggregates;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores incrementais dos agregados de pessoas, mantidos com LongAdder
+ * a cada escrita. A leitura custa O(domínios + DDDs), independente do total de linhas.
+ */
+public class AggregateCounters {
+
+    private final LongAdder total = new LongAdder();
+    private final Map<String, LongAdder> byEmailDomain = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byAreaCode = new ConcurrentHashMap<>();
+
+    // Facetas já contabilizadas por ID, para desfazer a contagem quando a entidade muda no lugar
+    private final Map<Long, Facets> countedById = new ConcurrentHashMap<>();
+
+    public void put(Person person) {
+        Facets facets = new Facets(PersonAggregates.emailDomainOf(person.getEmail()),
+                PersonAggregates.areaCodeOf(person.getPhone()));
+        Facets previous = countedById.put(person.getId(), facets);
+
+        if (previous == null) {
+            total.increment();
+        } else if (previous.equals(facets)) {
+            return;
+        } else {
+            adjust(previous, -1);
+        }
+        adjust(facets, 1);
+    }
+
+    public void remove(Long id) {
+        Facets previous = countedById.remove(id);
+        if (previous != null) {
+            total.decrement();
+            adjust(previous, -1);
+        }
+    }
+
+    /**
+     * Heap estimado das facetas guardadas para o ID; os contadores são por faceta,
+     * não por pessoa, e não entram na conta.
+     */
+    public long retainedBytes(Long id) {
+        Facets facets = countedById.get(id);
+        if (facets == null) {
+            return 0;
+        }
+        return HeapFootprint.HASH_ENTRY + HeapFootprint.object(2, 0)
+                + HeapFootprint.string(facets.emailDomain()) + HeapFootprint.string(facets.areaCode());
+    }
+
+    public PersonAggregates snapshot() {
+        return new PersonAggregates(total.sum(), snapshot(byEmailDomain), snapshot(byAreaCode));
+    }
+
+    private void adjust(Facets facets, int delta) {
+        if (facets.emailDomain() != null) {
+            byEmailDomain.computeIfAbsent(facets.emailDomain(), key -> new LongAdder()).add(delta);
+        }
+        if (facets.areaCode() != null) {
+            byAreaCode.computeIfAbsent(facets.areaCode(), key -> new LongAdder()).add(delta);
+        }
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((key, counter) -> {
+            long value = counter.sum();
+            if (value > 0) {
+                values.put(key, value);
+            }
+        });
+        return values;
+    }
+
+    private record Facets(String emailDomain, String areaCode) {
+    }
+}
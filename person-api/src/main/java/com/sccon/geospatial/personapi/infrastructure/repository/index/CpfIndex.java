@@ -0,0 +1,122 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.index;
+
+import com.sccon.geospatial.personapi.domain.validation.PersonValidator;
+
+/**
+ * Índice secundário de CPF para o repositório em memória.
+ * O CPF é normalizado para os seus 11 dígitos e guardado como long,
+ * permitindo busca e verificação de unicidade em O(1).
+ * <p>
+ * Os dois sentidos ficam em {@link LongLongHashMap}s primitivos, sem caixas de Long, divididos
+ * em segmentos com trava própria: CPF → ID segmentado pelo CPF e ID → CPF pelo ID. Escritas
+ * do mesmo ID chegam em série, sob a trava de faixa do repositório.
+ */
+public class CpfIndex {
+
+    public static final long INVALID_KEY = PersonValidator.INVALID_CPF_KEY;
+
+    private static final int SEGMENTS = 64;
+    private static final int SEGMENT_INITIAL_SIZE = 256;
+
+    private final LongLongHashMap[] idByCpf = new LongLongHashMap[SEGMENTS];
+    private final LongLongHashMap[] cpfById = new LongLongHashMap[SEGMENTS];
+
+    public CpfIndex() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            idByCpf[i] = new LongLongHashMap(SEGMENT_INITIAL_SIZE);
+            cpfById[i] = new LongLongHashMap(SEGMENT_INITIAL_SIZE);
+        }
+    }
+
+    /**
+     * Converte o CPF (com ou sem máscara) para a chave numérica do índice.
+     * @return os 11 dígitos como long, ou {@link #INVALID_KEY} se o CPF não tiver 11 dígitos
+     * @see PersonValidator#cpfKey(CharSequence)
+     */
+    public static long toKey(CharSequence cpf) {
+        return PersonValidator.cpfKey(cpf);
+    }
+
+    public Long findId(String cpf) {
+        long key = toKey(cpf);
+        if (key == INVALID_KEY) {
+            return null;
+        }
+        LongLongHashMap segment = segment(idByCpf, key);
+        long id;
+        synchronized (segment) {
+            id = segment.get(key);
+        }
+        return id == LongLongHashMap.MISSING ? null : id;
+    }
+
+    /**
+     * Indexa (ou reindexa) o CPF da pessoa. O CPF anterior do mesmo ID é
+     * descartado, o que cobre alterações feitas diretamente na entidade.
+     */
+    public void put(Long id, String cpf) {
+        long key = toKey(cpf);
+        LongLongHashMap ids = segment(cpfById, id);
+        long previous;
+        synchronized (ids) {
+            previous = key == INVALID_KEY ? ids.remove(id) : ids.put(id, key);
+        }
+
+        if (previous != LongLongHashMap.MISSING && previous != key) {
+            removeIfMapped(previous, id);
+        }
+        if (key != INVALID_KEY) {
+            LongLongHashMap cpfs = segment(idByCpf, key);
+            synchronized (cpfs) {
+                cpfs.put(key, id);
+            }
+        }
+    }
+
+    public void remove(Long id) {
+        LongLongHashMap ids = segment(cpfById, id);
+        long previous;
+        synchronized (ids) {
+            previous = ids.remove(id);
+        }
+        if (previous != LongLongHashMap.MISSING) {
+            removeIfMapped(previous, id);
+        }
+    }
+
+    /**
+     * Remove o CPF só se ainda apontar para o ID: outro ID pode tê-lo assumido nesse meio tempo.
+     */
+    private void removeIfMapped(long key, long id) {
+        LongLongHashMap cpfs = segment(idByCpf, key);
+        synchronized (cpfs) {
+            if (cpfs.get(key) == id) {
+                cpfs.remove(key);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (LongLongHashMap segment : idByCpf) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private static LongLongHashMap segment(LongLongHashMap[] segments, long key) {
+        return segments[Math.floorMod(Long.hashCode(key), SEGMENTS)];
+    }
+
+    /**
+     * Heap estimado das duas entradas primitivas do ID no índice.
+     */
+    public long retainedBytes(Long id) {
+        LongLongHashMap ids = segment(cpfById, id);
+        synchronized (ids) {
+            return ids.get(id) == LongLongHashMap.MISSING ? 0 : 2 * LongLongHashMap.BYTES_PER_ENTRY;
+        }
+    }
+}
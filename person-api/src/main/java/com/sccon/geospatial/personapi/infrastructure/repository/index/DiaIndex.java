@@ -0,0 +1,91 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.index;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice ordenado por um dia codificado como inteiro: epoch-day para intervalos de datas,
+ * ou mês-dia ({@link #mesDia(LocalDate)}) para aniversários. Uma consulta por intervalo é
+ * uma descida no skip list mais o percurso dos IDs encontrados, sem varrer o repositório.
+ */
+public class DiaIndex {
+
+    private final ConcurrentSkipListMap<Chave, Long> idsPorDia = new ConcurrentSkipListMap<>();
+    private final Map<Long, Chave> chavePorId = new ConcurrentHashMap<>();
+
+    /**
+     * Mês e dia como inteiro ordenável: 406 para 6 de abril.
+     */
+    public static int mesDia(LocalDate data) {
+        return data.getMonthValue() * 100 + data.getDayOfMonth();
+    }
+
+    public static int mesDia(MonthDay mesDia) {
+        return mesDia.getMonthValue() * 100 + mesDia.getDayOfMonth();
+    }
+
+    /**
+     * Se o mês-dia está entre {@code de} e {@code ate}, inclusive; com {@code de > ate}
+     * o intervalo atravessa a virada do ano.
+     */
+    public static boolean mesDiaEntre(int mesDia, int de, int ate) {
+        return de <= ate ? mesDia >= de && mesDia <= ate : mesDia >= de || mesDia <= ate;
+    }
+
+    /**
+     * A troca da chave acontece dentro de {@code chavePorId.compute}, como em {@link NomeIndex}:
+     * indexações concorrentes do mesmo ID não deixam duas chaves para ele.
+     *
+     * @param dia chave do dia; null retira o ID do índice
+     */
+    public void indexar(Long id, Long dia) {
+        if (dia == null) {
+            remover(id);
+            return;
+        }
+
+        Chave chave = new Chave(dia, id);
+        chavePorId.compute(id, (k, anterior) -> {
+            if (chave.equals(anterior)) {
+                return anterior;
+            }
+            if (anterior != null) {
+                idsPorDia.remove(anterior);
+            }
+            idsPorDia.put(chave, id);
+            return chave;
+        });
+    }
+
+    public void remover(Long id) {
+        chavePorId.computeIfPresent(id, (k, anterior) -> {
+            idsPorDia.remove(anterior);
+            return null;
+        });
+    }
+
+    /**
+     * IDs com dia entre {@code de} e {@code ate}, inclusive, em ordem de dia e ID; a visão
+     * é fracamente consistente com escritas concorrentes.
+     */
+    public Collection<Long> ids(long de, long ate) {
+        if (de > ate) {
+            return List.of();
+        }
+        return idsPorDia.subMap(new Chave(de, Long.MIN_VALUE), true, new Chave(ate, Long.MAX_VALUE), true).values();
+    }
+
+    private record Chave(long dia, long id) implements Comparable<Chave> {
+
+        @Override
+        public int compareTo(Chave outra) {
+            int comparacao = Long.compare(dia, outra.dia);
+            return comparacao != 0 ? comparacao : Long.compare(id, outra.id);
+        }
+    }
+}
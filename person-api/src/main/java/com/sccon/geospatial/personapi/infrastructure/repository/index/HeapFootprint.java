@@ -0,0 +1,80 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.index;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estimativa analítica do heap retido pelos objetos do repositório em memória, para
+ * uma JVM de 64 bits com referências comprimidas (cabeçalho de 12 bytes, referência
+ * de 4 bytes, alinhamento de 8). Não usa instrumentação nem percorre grafos: os
+ * valores são aproximados e servem para extrapolar o consumo a partir de uma amostra.
+ */
+public final class HeapFootprint {
+
+    public static final int HEADER = 12;
+    public static final int REFERENCE = 4;
+    private static final int ARRAY_HEADER = HEADER + 4;
+
+    /**
+     * Nó de ConcurrentHashMap (hash, key, val, next) mais a fatia média da tabela:
+     * com fator de carga 0,75 e tamanho potência de 2, cerca de duas posições por entrada.
+     */
+    public static final long HASH_ENTRY = align(HEADER + 4 + 3 * REFERENCE) + 2 * REFERENCE;
+
+    /**
+     * Nó de ConcurrentSkipListSet mais meio nó de índice por entrada, em média
+     * (um quarto dos nós ganha níveis, cada nível com probabilidade 1/2).
+     */
+    public static final long SKIP_LIST_ENTRY = align(HEADER + 3 * REFERENCE) + align(HEADER + 3 * REFERENCE) / 2;
+
+    public static final long BOXED_LONG = align(HEADER + 8);
+
+    // LocalDateTime -> LocalDate (int, short, short) + LocalTime (3 bytes, int)
+    public static final long LOCAL_DATE_TIME = align(HEADER + 2 * REFERENCE)
+            + align(HEADER + 4 + 2 + 2) + align(HEADER + 3 + 4);
+
+    private HeapFootprint() {
+    }
+
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    public static long object(int references, int primitiveBytes) {
+        return align(HEADER + (long) references * REFERENCE + primitiveBytes);
+    }
+
+    /**
+     * String compacta: objeto (value, hash, coder, hashIsZero) mais o byte[]
+     * com 1 byte por caractere em Latin-1 ou 2 bytes em UTF-16.
+     */
+    public static long string(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int bytesPerChar = isLatin1(value) ? 1 : 2;
+        return object(1, 4 + 1 + 1) + align(ARRAY_HEADER + (long) value.length() * bytesPerChar);
+    }
+
+    /**
+     * Long encaixotado; valores do cache de Long.valueOf (-128 a 127) são compartilhados.
+     */
+    public static long boxedLong(Long value) {
+        if (value == null || (value >= -128 && value <= 127)) {
+            return 0;
+        }
+        return BOXED_LONG;
+    }
+
+    public static long localDateTime(LocalDateTime value) {
+        return value == null ? 0 : LOCAL_DATE_TIME;
+    }
+
+    private static boolean isLatin1(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
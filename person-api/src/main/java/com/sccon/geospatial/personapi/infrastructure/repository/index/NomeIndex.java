@@ -0,0 +1,71 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.index;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice ordenado por nome segundo a collation pt-BR.
+ * A chave de collation é calculada uma vez por escrita, e a listagem
+ * ordenada é apenas um percurso do índice, sem ordenação.
+ */
+public class NomeIndex {
+
+    private final Collator collator = Collator.getInstance(Locale.forLanguageTag("pt-BR"));
+
+    private final ConcurrentSkipListMap<Chave, Long> idsPorNome = new ConcurrentSkipListMap<>();
+    private final Map<Long, Chave> chavePorId = new ConcurrentHashMap<>();
+
+    /**
+     * A troca da chave do ID acontece dentro de {@code chavePorId.compute}, que serializa
+     * as escritas do mesmo ID: duas indexações concorrentes não deixam duas chaves para ele.
+     * Um nome que não mudou mantém a chave, sem sumir da listagem nem por um instante.
+     */
+    public void indexar(Long id, String nome) {
+        Chave chave = new Chave(chaveDeCollation(nome), id);
+        chavePorId.compute(id, (k, anterior) -> {
+            if (chave.equals(anterior)) {
+                return anterior;
+            }
+            if (anterior != null) {
+                idsPorNome.remove(anterior);
+            }
+            idsPorNome.put(chave, id);
+            return chave;
+        });
+    }
+
+    public void remover(Long id) {
+        chavePorId.computeIfPresent(id, (k, anterior) -> {
+            idsPorNome.remove(anterior);
+            return null;
+        });
+    }
+
+    /**
+     * IDs em ordem de nome; a visão é fracamente consistente com escritas concorrentes.
+     */
+    public Collection<Long> idsOrdenados() {
+        return idsPorNome.values();
+    }
+
+    private CollationKey chaveDeCollation(String nome) {
+        // Collator não é thread-safe
+        synchronized (collator) {
+            return collator.getCollationKey(nome == null ? "" : nome);
+        }
+    }
+
+    private record Chave(CollationKey nome, long id) implements Comparable<Chave> {
+
+        @Override
+        public int compareTo(Chave outra) {
+            int comparacao = nome.compareTo(outra.nome);
+            return comparacao != 0 ? comparacao : Long.compare(id, outra.id);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.index;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de trigramas para busca por substring no nome.
+ * Os nomes são normalizados (minúsculas e sem acentos) uma única vez na escrita,
+ * e a busca intersecta as listas de IDs de cada trigrama da consulta
+ * em vez de percorrer o mapa inteiro.
+ */
+public class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, String> foldedById = new ConcurrentHashMap<>();
+
+    /**
+     * Remove acentos e converte para minúsculas ("João" -> "joao").
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(Character.toLowerCase(c));
+            }
+        }
+        return folded.toString();
+    }
+
+    public void put(Long id, String value) {
+        String folded = fold(value);
+        String previous = foldedById.put(id, folded);
+
+        if (previous != null) {
+            if (previous.equals(folded)) {
+                return;
+            }
+            unlink(id, previous);
+        }
+        for (String gram : grams(folded)) {
+            // A inclusão fica dentro do compute: fora dele, poderia cair num conjunto que
+            // unlink acabou de esvaziar e tirar do mapa, e a posting se perderia
+            postings.compute(gram, (key, ids) -> {
+                Set<Long> posting = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                posting.add(id);
+                return posting;
+            });
+        }
+    }
+
+    public void remove(Long id) {
+        String previous = foldedById.remove(id);
+        if (previous != null) {
+            unlink(id, previous);
+        }
+    }
+
+    /**
+     * Heap estimado do ID no índice: o valor normalizado e uma entrada por trigrama
+     * nos conjuntos de postings. Os trigramas em si são compartilhados entre IDs.
+     */
+    public long retainedBytes(Long id) {
+        String folded = foldedById.get(id);
+        if (folded == null) {
+            return 0;
+        }
+        return HeapFootprint.HASH_ENTRY + HeapFootprint.string(folded)
+                + grams(folded).size() * HeapFootprint.HASH_ENTRY;
+    }
+
+    /**
+     * Retorna os IDs cujo valor contém o termo informado, ignorando caixa e acentos.
+     */
+    public List<Long> search(String term) {
+        String query = fold(term);
+
+        if (query.length() < GRAM) {
+            return scan(query, foldedById.keySet());
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> smallest = lists.get(0);
+        List<Set<Long>> others = lists.subList(1, lists.size());
+        List<Long> candidates = new ArrayList<>();
+        for (Long id : smallest) {
+            if (others.stream().allMatch(ids -> ids.contains(id))) {
+                candidates.add(id);
+            }
+        }
+
+        // Trigramas em comum não garantem a substring completa; confirma o casamento
+        return scan(query, candidates);
+    }
+
+    private List<Long> scan(String query, Collection<Long> ids) {
+        List<Long> matches = new ArrayList<>();
+        for (Long id : ids) {
+            String folded = foldedById.get(id);
+            if (folded != null && folded.contains(query)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    private void unlink(Long id, String folded) {
+        for (String gram : grams(folded)) {
+            postings.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static Set<String> grams(String folded) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            grams.add(folded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
@@ -1,22 +1,63 @@
 package com.sccon.geospatial.personapi.infrastructure.repository.jpa;
 
 import com.sccon.geospatial.personapi.domain.model.Person;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface PersonJpaRepository extends JpaRepository<Person, Long> {
 
-    Optional<Person> findByCpf(String cpf);
+    /**
+     * Buscas por CPF usam a chave normalizada ({@code cpf_key}), com índice único: o CPF
+     * com ou sem máscara encontra a mesma pessoa.
+     */
+    Optional<Person> findByCpfKey(Long cpfKey);
 
     List<Person> findByNameContainingIgnoreCase(String name);
 
-    boolean existsByCpf(String cpf);
+    boolean existsByCpfKey(Long cpfKey);
+
+    @Query("SELECT p.cpfKey FROM Person p WHERE p.cpfKey IN :cpfKeys")
+    Set<Long> findExistingCpfKeys(@Param("cpfKeys") Collection<Long> cpfKeys);
+
+    @Query("SELECT p FROM Person p WHERE p.id > :afterId ORDER BY p.id")
+    List<Person> findPageAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Cursor do Hibernate (ScrollableResults) lido em lotes de fetch size; requer transação aberta.
+     */
+    @Query("SELECT p FROM Person p ORDER BY p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Person> streamAll();
+
+    /**
+     * Contagem por domínio de email agregada no banco; cada linha é [domínio, total]. O domínio
+     * é gravado junto com a pessoa por {@code PersonAggregates.emailDomainOf}.
+     */
+    @Query("SELECT p.emailDomain, COUNT(p) FROM Person p WHERE p.emailDomain IS NOT NULL GROUP BY p.emailDomain")
+    List<Object[]> countByEmailDomain();
+
+    /**
+     * Contagem por DDD agregada no banco; o DDD é gravado junto com a pessoa por
+     * {@code PersonAggregates.areaCodeOf} (só telefones com 10 ou 11 dígitos têm DDD).
+     */
+    @Query("SELECT p.areaCode, COUNT(p) FROM Person p WHERE p.areaCode IS NOT NULL GROUP BY p.areaCode")
+    List<Object[]> countByAreaCode();
 
     @Query("SELECT p FROM Person p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Person> findByCustomNameSearch(@Param("name") String name);
@@ -0,0 +1,24 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.persistence;
+
+/**
+ * Quando uma escrita registrada no log é forçada para o disco.
+ */
+public enum FsyncMode {
+
+    /**
+     * Cada escrita grava e força o log antes de retornar.
+     */
+    EVERY_WRITE,
+
+    /**
+     * Escritas concorrentes aguardam uma janela curta e compartilham um único fsync;
+     * cada escrita ainda só retorna depois de durável.
+     */
+    GROUP,
+
+    /**
+     * As escritas retornam imediatamente; o log é gravado e forçado periodicamente,
+     * podendo perder o último intervalo em caso de queda.
+     */
+    ASYNC
+}
@@ -0,0 +1,249 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.persistence;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Durabilidade opcional do {@link InMemoryPersonRepository}: na inicialização carrega o
+ * snapshot mais recente e reaplica o log; depois registra cada escrita no log e
+ * grava snapshots compactados periodicamente, descartando os segmentos já cobertos.
+ * Ativado com {@code person-api.durability.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "person-api.durability.enabled", havingValue = "true")
+@Slf4j
+public class PersonDurabilityManager implements PersonJournal {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    // Registros do log reaplicados por lote; limita a memória da recuperação
+    private static final int REPLAY_BATCH = 1 << 16;
+    private static final int REPLAY_PARTITIONS = 64;
+
+    private final InMemoryPersonRepository repository;
+    private final Path directory;
+    private final FsyncMode fsyncMode;
+    private final long groupCommitWindowMicros;
+    private final long asyncFlushIntervalMillis;
+    private final long snapshotIntervalSeconds;
+
+    private final LongAdder writesSinceSnapshot = new LongAdder();
+    private ScheduledExecutorService scheduler;
+    private WriteAheadLog writeAheadLog;
+
+    public PersonDurabilityManager(InMemoryPersonRepository repository,
+                                   @Value("${person-api.durability.directory:data}") Path directory,
+                                   @Value("${person-api.durability.fsync:group}") FsyncMode fsyncMode,
+                                   @Value("${person-api.durability.group-commit-window-micros:100}") long groupCommitWindowMicros,
+                                   @Value("${person-api.durability.async-flush-interval-ms:50}") long asyncFlushIntervalMillis,
+                                   @Value("${person-api.durability.snapshot-interval-seconds:300}") long snapshotIntervalSeconds) {
+        this.repository = repository;
+        this.directory = directory;
+        this.fsyncMode = fsyncMode;
+        this.groupCommitWindowMicros = groupCommitWindowMicros;
+        this.asyncFlushIntervalMillis = asyncFlushIntervalMillis;
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        long nextSegment = recover();
+
+        writeAheadLog = new WriteAheadLog(directory, nextSegment, fsyncMode, groupCommitWindowMicros);
+        repository.attachJournal(this);
+
+        scheduler = Executors.newScheduledThreadPool(2,
+                Thread.ofPlatform().name("person-durability-", 0).daemon().factory());
+        if (fsyncMode == FsyncMode.ASYNC) {
+            scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                    asyncFlushIntervalMillis, asyncFlushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        if (snapshotIntervalSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::snapshotQuietly,
+                    snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+        log.info("Durabilidade do repositório de pessoas ativa em {} (fsync: {}, segmento: {})",
+                directory.toAbsolutePath(), fsyncMode, nextSegment);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        repository.attachJournal(PersonJournal.NONE);
+        if (scheduler != null) {
+            // Sem interrupção: interromper uma thread no meio de FileChannel.write fecha o canal
+            scheduler.shutdown();
+            try {
+                if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("Tarefas de durabilidade não terminaram em {} s", SHUTDOWN_TIMEOUT_SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+        log.info("Log de escrita do repositório de pessoas fechado");
+    }
+
+    @Override
+    public long saved(Person person) {
+        writesSinceSnapshot.increment();
+        return writeAheadLog.append(PersonRecordCodec.encodeSave(person));
+    }
+
+    @Override
+    public long deleted(Long id) {
+        writesSinceSnapshot.increment();
+        return writeAheadLog.append(PersonRecordCodec.encodeDelete(id));
+    }
+
+    @Override
+    public void sync(long position) {
+        writeAheadLog.awaitDurable(position);
+    }
+
+    /**
+     * Grava um snapshot do estado atual e remove os segmentos e snapshots que ele substitui.
+     * Escritas concorrentes continuam no novo segmento; a iteração fracamente consistente
+     * pode incluí-las, o que é inofensivo porque a reaplicação do log é idempotente.
+     *
+     * @return quantidade de pessoas gravadas no snapshot
+     */
+    public synchronized long snapshot() throws IOException {
+        long startedAt = System.nanoTime();
+        writesSinceSnapshot.reset();
+        long segment = writeAheadLog.rotate();
+
+        long count;
+        try (Stream<Person> persons = repository.streamAll()) {
+            count = PersonSnapshotStore.write(directory, segment, persons.iterator());
+        }
+
+        for (long older : PersonSnapshotStore.snapshots(directory)) {
+            if (older < segment) {
+                Files.deleteIfExists(PersonSnapshotStore.snapshotPath(directory, older));
+            }
+        }
+        for (long older : WriteAheadLog.segments(directory)) {
+            if (older < segment) {
+                Files.deleteIfExists(WriteAheadLog.segmentPath(directory, older));
+            }
+        }
+        log.info("Snapshot {} gravado com {} pessoas em {} ms", segment, count,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return count;
+    }
+
+    /**
+     * Carrega o snapshot válido mais recente e reaplica os segmentos posteriores.
+     *
+     * @return número do segmento em que o log deve continuar
+     */
+    private long recover() throws IOException {
+        long startedAt = System.nanoTime();
+        long base = 0;
+        long restored = 0;
+
+        List<Long> snapshots = PersonSnapshotStore.snapshots(directory);
+        for (long snapshot : snapshots) {
+            try {
+                restored = PersonSnapshotStore.load(PersonSnapshotStore.snapshotPath(directory, snapshot), repository::restore);
+                base = snapshot;
+                break;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Snapshot {} ignorado: {}", snapshot, e.getMessage());
+            }
+        }
+
+        ParallelReplay replay = new ParallelReplay();
+        long lastSegment = WriteAheadLog.replay(directory, base, replay);
+        replay.drain();
+
+        log.info("Recuperação concluída: snapshot {} com {} pessoas, log até o segmento {}, total {} pessoas em {} ms",
+                base, restored, lastSegment, repository.count(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return Math.max(lastSegment + 1, Math.max(base, 1));
+    }
+
+    /**
+     * Reaplica o log em paralelo: os registros lidos em ordem são acumulados em lotes, e cada
+     * lote é dividido por ID em partições aplicadas em paralelo. A ordem que importa é a de
+     * cada pessoa, e ela é mantida dentro da partição; um lote termina antes do seguinte.
+     */
+    private final class ParallelReplay implements Consumer<PersonRecordCodec.PersonRecord> {
+
+        private final List<List<PersonRecordCodec.PersonRecord>> partitions = new ArrayList<>(REPLAY_PARTITIONS);
+        private int buffered;
+
+        ParallelReplay() {
+            for (int i = 0; i < REPLAY_PARTITIONS; i++) {
+                partitions.add(new ArrayList<>());
+            }
+        }
+
+        @Override
+        public void accept(PersonRecordCodec.PersonRecord record) {
+            Long id = record.type() == PersonRecordCodec.SAVE ? record.person().getId() : record.id();
+            partitions.get(Math.floorMod(Long.hashCode(id), REPLAY_PARTITIONS)).add(record);
+            if (++buffered == REPLAY_BATCH) {
+                drain();
+            }
+        }
+
+        void drain() {
+            if (buffered == 0) {
+                return;
+            }
+            partitions.parallelStream().forEach(partition -> {
+                for (PersonRecordCodec.PersonRecord record : partition) {
+                    if (record.type() == PersonRecordCodec.SAVE) {
+                        repository.restore(record.person());
+                    } else {
+                        repository.restoreDelete(record.id());
+                    }
+                }
+                partition.clear();
+            });
+            buffered = 0;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            writeAheadLog.flush();
+        } catch (UncheckedIOException e) {
+            log.error("Erro ao gravar o log de escrita: {}", e.getMessage(), e);
+        }
+    }
+
+    private void snapshotQuietly() {
+        if (writesSinceSnapshot.sum() == 0) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Erro ao gravar snapshot: {}", e.getMessage(), e);
+        }
+    }
+}
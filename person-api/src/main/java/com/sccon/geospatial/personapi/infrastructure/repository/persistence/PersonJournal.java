@@ -0,0 +1,36 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.persistence;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+
+/**
+ * Registro das escritas do repositório em memória. {@link #saved} e {@link #deleted}
+ * são chamados junto da alteração no mapa e devem ser rápidos; a espera pela
+ * durabilidade fica em {@link #sync(long)}, fora de qualquer trava do repositório.
+ */
+public interface PersonJournal {
+
+    PersonJournal NONE = new PersonJournal() {
+        @Override
+        public long saved(Person person) {
+            return 0;
+        }
+
+        @Override
+        public long deleted(Long id) {
+            return 0;
+        }
+
+        @Override
+        public void sync(long position) {
+        }
+    };
+
+    /**
+     * @return posição do registro no journal, a ser passada para {@link #sync(long)}
+     */
+    long saved(Person person);
+
+    long deleted(Long id);
+
+    void sync(long position);
+}
@@ -0,0 +1,169 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.persistence;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binário dos registros de pessoa, comum ao log e aos snapshots:
+ * <pre>
+ *     [int tamanho][int crc32c][byte tipo][long id][campos, se SAVE]
+ * </pre>
+ * Strings são gravadas como tamanho UTF-8 (-1 para null) seguido dos bytes,
+ * e datas como segundos e nanos UTC, seguidas da versão (long, {@code Long.MIN_VALUE}
+ * para null). Registros gravados antes da versão existir terminam nas datas e são lidos
+ * com versão null. Um registro incompleto ou com CRC divergente marca o fim dos dados
+ * válidos.
+ */
+public final class PersonRecordCodec {
+
+    public static final byte SAVE = 1;
+    public static final byte DELETE = 2;
+
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final long NULL_VERSION = Long.MIN_VALUE;
+
+    private PersonRecordCodec() {
+    }
+
+    public static byte[] encodeSave(Person person) {
+        byte[] name = utf8(person.getName());
+        byte[] cpf = utf8(person.getCpf());
+        byte[] phone = utf8(person.getPhone());
+        byte[] email = utf8(person.getEmail());
+
+        int payload = 1 + Long.BYTES
+                + stringBytes(name) + stringBytes(cpf) + stringBytes(phone) + stringBytes(email)
+                + 2 * (Long.BYTES + Integer.BYTES) + Long.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload);
+        buffer.position(HEADER_BYTES);
+        buffer.put(SAVE).putLong(person.getId());
+        putString(buffer, name);
+        putString(buffer, cpf);
+        putString(buffer, phone);
+        putString(buffer, email);
+        putTime(buffer, person.getCreatedAt());
+        putTime(buffer, person.getUpdatedAt());
+        buffer.putLong(person.getVersion() == null ? NULL_VERSION : person.getVersion());
+        return seal(buffer);
+    }
+
+    public static byte[] encodeDelete(Long id) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 1 + Long.BYTES);
+        buffer.position(HEADER_BYTES);
+        buffer.put(DELETE).putLong(id);
+        return seal(buffer);
+    }
+
+    /**
+     * Lê o próximo registro a partir da posição atual do buffer, avançando-a.
+     *
+     * @return o registro, ou null se os bytes restantes não formam um registro íntegro
+     *         (nesse caso a posição não é alterada)
+     */
+    public static PersonRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int length = buffer.getInt(start);
+        int checksum = buffer.getInt(start + Integer.BYTES);
+        if (length <= 0 || length > buffer.remaining() - HEADER_BYTES) {
+            return null;
+        }
+
+        ByteBuffer payload = buffer.slice(start + HEADER_BYTES, length);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        byte type = payload.get();
+        long id = payload.getLong();
+        PersonRecord record;
+        if (type == DELETE) {
+            record = new PersonRecord(DELETE, id, null);
+        } else if (type == SAVE) {
+            Person person = new Person();
+            person.setId(id);
+            person.setName(getString(payload));
+            person.setCpf(getString(payload));
+            person.setPhone(getString(payload));
+            person.setEmail(getString(payload));
+            person.setCreatedAt(getTime(payload));
+            person.setUpdatedAt(getTime(payload));
+            if (payload.remaining() >= Long.BYTES) {
+                long version = payload.getLong();
+                person.setVersion(version == NULL_VERSION ? null : version);
+            }
+            record = new PersonRecord(SAVE, id, person);
+        } else {
+            return null;
+        }
+
+        buffer.position(start + HEADER_BYTES + length);
+        return record;
+    }
+
+    private static byte[] seal(ByteBuffer buffer) {
+        int length = buffer.position() - HEADER_BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_BYTES, length);
+        buffer.putInt(0, length).putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringBytes(byte[] value) {
+        return Integer.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        // Buffers mapeados (snapshots) são diretos e não expõem array
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putTime(ByteBuffer buffer, LocalDateTime time) {
+        if (time == null) {
+            buffer.putLong(NULL_TIME).putInt(0);
+        } else {
+            buffer.putLong(time.toEpochSecond(ZoneOffset.UTC)).putInt(time.getNano());
+        }
+    }
+
+    private static LocalDateTime getTime(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return seconds == NULL_TIME ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * Registro decodificado; {@code person} é null para remoções.
+     */
+    public record PersonRecord(byte type, long id, Person person) {
+    }
+}
@@ -0,0 +1,207 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.persistence;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Snapshots compactados {@code snapshot-<n>.bin}: o estado completo do repositório
+ * equivalente a todos os segmentos do log anteriores a {@code n}.
+ * <p>
+ * O arquivo é gravado por uma janela de memória mapeada e dividido em blocos
+ * independentes, para que a carga decodifique os blocos em paralelo:
+ * <pre>
+ *     [int MAGIC][int VERSION] ([int bytes][int registros][registros...])* [int 0][int 0]
+ * </pre>
+ * A gravação usa um arquivo temporário renomeado atomicamente ao final, então
+ * um snapshot visível está sempre completo. O mesmo formato é aceito como arquivo
+ * binário de carga inicial.
+ */
+public final class PersonSnapshotStore {
+
+    private static final int MAGIC = 0x50534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int BLOCK_BYTES = 1 << 20;
+    private static final long MAP_WINDOW_BYTES = 64L << 20;
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private PersonSnapshotStore() {
+    }
+
+    static Path snapshotPath(Path directory, long segment) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, segment, SUFFIX));
+    }
+
+    /**
+     * Segmentos dos snapshots existentes, do mais recente para o mais antigo.
+     */
+    static List<Long> snapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted((a, b) -> Long.compare(b, a))
+                    .toList();
+        }
+    }
+
+    /**
+     * Grava o snapshot que substitui os segmentos anteriores a {@code segment}.
+     *
+     * @return quantidade de pessoas gravadas
+     */
+    static long write(Path directory, long segment, Iterator<Person> persons) throws IOException {
+        Path temporary = directory.resolve(snapshotPath(directory, segment).getFileName() + ".tmp");
+        long count = 0;
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedWriter writer = new MappedWriter(channel);
+            writer.put(ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip());
+
+            ByteBuffer block = ByteBuffer.allocate(HEADER_BYTES + BLOCK_BYTES);
+            block.position(HEADER_BYTES);
+            int blockRecords = 0;
+            while (persons.hasNext()) {
+                byte[] record = PersonRecordCodec.encodeSave(persons.next());
+                if (block.remaining() < record.length) {
+                    writer.put(sealBlock(block, blockRecords));
+                    block.clear().position(HEADER_BYTES);
+                    blockRecords = 0;
+                }
+                block.put(record);
+                blockRecords++;
+                count++;
+            }
+            if (blockRecords > 0) {
+                writer.put(sealBlock(block, blockRecords));
+            }
+            writer.put(ByteBuffer.allocate(HEADER_BYTES).putInt(0).putInt(0).flip());
+            writer.finish();
+        }
+
+        Files.move(temporary, snapshotPath(directory, segment),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    /**
+     * Carrega o snapshot decodificando os blocos em paralelo; o consumidor deve ser thread-safe.
+     *
+     * @return quantidade de pessoas carregadas
+     * @throws IOException se o arquivo estiver incompleto ou corrompido
+     */
+    public static long load(Path file, Consumer<Person> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = readAt(channel, 0);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Snapshot com cabeçalho inválido: " + file);
+            }
+
+            List<long[]> blocks = new ArrayList<>();
+            long position = HEADER_BYTES;
+            while (true) {
+                ByteBuffer blockHeader = readAt(channel, position);
+                int bytes = blockHeader.getInt();
+                if (bytes == 0) {
+                    break;
+                }
+                if (bytes < 0 || position + HEADER_BYTES + bytes > channel.size()) {
+                    throw new IOException("Snapshot incompleto: " + file);
+                }
+                blocks.add(new long[]{position + HEADER_BYTES, bytes, blockHeader.getInt()});
+                position += HEADER_BYTES + bytes;
+            }
+
+            LongAdder loaded = new LongAdder();
+            try {
+                blocks.parallelStream().forEach(block -> {
+                    MappedByteBuffer buffer = map(channel, block[0], block[1]);
+                    for (long i = 0; i < block[2]; i++) {
+                        PersonRecordCodec.PersonRecord record = PersonRecordCodec.decode(buffer);
+                        if (record == null || record.person() == null) {
+                            throw new UncheckedIOException(new IOException("Registro corrompido no snapshot: " + file));
+                        }
+                        sink.accept(record.person());
+                        loaded.increment();
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return loaded.sum();
+        }
+    }
+
+    private static ByteBuffer sealBlock(ByteBuffer block, int records) {
+        block.putInt(0, block.position() - HEADER_BYTES).putInt(Integer.BYTES, records);
+        return block.flip();
+    }
+
+    private static ByteBuffer readAt(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Snapshot incompleto na posição " + position);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Grava sequencialmente por janelas mapeadas de {@link #MAP_WINDOW_BYTES};
+     * ao final trunca o arquivo no tamanho real e força para o disco.
+     */
+    private static final class MappedWriter {
+
+        private final FileChannel channel;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        MappedWriter(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.window = channel.map(FileChannel.MapMode.READ_WRITE, 0, MAP_WINDOW_BYTES);
+        }
+
+        void put(ByteBuffer bytes) throws IOException {
+            if (window.remaining() < bytes.remaining()) {
+                window.force();
+                windowStart += window.position();
+                window = channel.map(FileChannel.MapMode.READ_WRITE, windowStart,
+                        Math.max(MAP_WINDOW_BYTES, bytes.remaining()));
+            }
+            window.put(bytes);
+        }
+
+        void finish() throws IOException {
+            window.force();
+            channel.truncate(windowStart + window.position());
+            channel.force(true);
+        }
+    }
+}
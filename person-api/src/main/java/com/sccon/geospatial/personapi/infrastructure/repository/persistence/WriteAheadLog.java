@@ -0,0 +1,256 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Log de escrita antecipada em segmentos {@code wal-<n>.log}, somente append.
+ * <p>
+ * Os registros são acumulados em memória e gravados por quem precisar da
+ * durabilidade: a primeira thread que entra em {@link #awaitDurable(long)} grava
+ * e força tudo o que foi acumulado até ali, e as que chegaram durante o fsync
+ * encontram sua posição já durável (group commit). As posições são contadas em
+ * bytes desde a abertura do log, independentemente do segmento.
+ * <p>
+ * Uma falha de gravação ou de fsync inutiliza o log até que ele seja reaberto: a posição
+ * durável não avança e toda operação seguinte falha, em vez de gravar sobre um buffer
+ * parcialmente escrito ou declarar durável o que não chegou ao disco.
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final FsyncMode fsyncMode;
+    private final long groupCommitWindowNanos;
+
+    private final Object appendLock = new Object();
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private long appendedPosition;
+
+    private final Object flushLock = new Object();
+    private ByteBuffer writing = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private FileChannel channel;
+    private long segment;
+    private volatile long durablePosition;
+    // Primeira falha de gravação; a partir dela o log recusa operações até ser reaberto
+    private volatile IOException failure;
+
+    public WriteAheadLog(Path directory, long segment, FsyncMode fsyncMode, long groupCommitWindowMicros)
+            throws IOException {
+        this.directory = directory;
+        this.fsyncMode = fsyncMode;
+        this.groupCommitWindowNanos = TimeUnit.MICROSECONDS.toNanos(groupCommitWindowMicros);
+        this.segment = segment;
+        this.channel = openSegment(segment);
+    }
+
+    /**
+     * Acumula o registro e retorna a posição do log que o torna durável.
+     */
+    public long append(byte[] record) {
+        synchronized (appendLock) {
+            checkUsable();
+            if (pending.remaining() < record.length) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() << 1, pending.position() + record.length));
+                pending.flip();
+                larger.put(pending);
+                pending = larger;
+            }
+            pending.put(record);
+            appendedPosition += record.length;
+            return appendedPosition;
+        }
+    }
+
+    /**
+     * Bloqueia até que a posição informada esteja gravada e forçada em disco.
+     * No modo {@link FsyncMode#ASYNC} retorna imediatamente.
+     */
+    public void awaitDurable(long position) {
+        if (fsyncMode == FsyncMode.ASYNC || durablePosition >= position) {
+            return;
+        }
+        synchronized (flushLock) {
+            if (durablePosition >= position) {
+                return;
+            }
+            if (fsyncMode == FsyncMode.GROUP && groupCommitWindowNanos > 0) {
+                // Janela para que escritas concorrentes entrem no mesmo fsync
+                LockSupport.parkNanos(groupCommitWindowNanos);
+            }
+            flushLocked();
+        }
+    }
+
+    /**
+     * Grava e força tudo o que foi acumulado; usado pelo flush periódico do modo assíncrono.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            flushLocked();
+        }
+    }
+
+    /**
+     * Fecha o segmento atual e passa a gravar no seguinte.
+     *
+     * @return o número do novo segmento; todos os registros acumulados até aqui
+     *         estão nos segmentos anteriores
+     */
+    public long rotate() throws IOException {
+        synchronized (flushLock) {
+            flushLocked();
+            channel.close();
+            segment++;
+            channel = openSegment(segment);
+            log.debug("Log de escrita rotacionado para o segmento {}", segment);
+            return segment;
+        }
+    }
+
+    public long durablePosition() {
+        return durablePosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (flushLock) {
+            try {
+                if (failure == null) {
+                    flushLocked();
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private void flushLocked() {
+        checkUsable();
+        long upTo;
+        synchronized (appendLock) {
+            if (pending.position() == 0) {
+                return;
+            }
+            ByteBuffer full = pending;
+            pending = writing;
+            writing = full;
+            upTo = appendedPosition;
+        }
+
+        writing.flip();
+        try {
+            while (writing.hasRemaining()) {
+                channel.write(writing);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+            restoreUnwritten();
+            log.error("Log de escrita desativado após falha no segmento {}", segment, e);
+            throw new UncheckedIOException("Falha ao gravar o log de escrita", e);
+        }
+        writing.clear();
+        durablePosition = upTo;
+    }
+
+    /**
+     * Devolve os bytes não gravados para a frente do buffer pendente e troca o buffer de
+     * gravação por um limpo, de modo que nenhum buffer pela metade volte a ser usado.
+     */
+    private void restoreUnwritten() {
+        synchronized (appendLock) {
+            ByteBuffer restored = ByteBuffer.allocate(Math.max(INITIAL_BUFFER_BYTES, writing.remaining() + pending.position()));
+            restored.put(writing);
+            pending.flip();
+            restored.put(pending);
+            pending = restored;
+            writing = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+        }
+    }
+
+    private void checkUsable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Log de escrita desativado após falha de gravação; reabra o log", failure);
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        return FileChannel.open(segmentPath(directory, number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    static Path segmentPath(Path directory, long number) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Números dos segmentos existentes, em ordem crescente.
+     */
+    static List<Long> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Reaplica, em ordem, os registros dos segmentos a partir de {@code fromSegment}.
+     * Um registro incompleto ou corrompido (queda no meio de uma gravação) encerra
+     * o segmento, que é truncado no último registro íntegro.
+     *
+     * @return o maior número de segmento encontrado, ou {@code fromSegment - 1} se não houver nenhum
+     */
+    static long replay(Path directory, long fromSegment, Consumer<PersonRecordCodec.PersonRecord> sink)
+            throws IOException {
+        long last = fromSegment - 1;
+        for (long number : segments(directory)) {
+            if (number < fromSegment) {
+                continue;
+            }
+            last = number;
+            Path path = segmentPath(directory, number);
+            try (FileChannel segmentChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = segmentChannel.size();
+                if (size == 0) {
+                    continue;
+                }
+                MappedByteBuffer buffer = segmentChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                long records = 0;
+                PersonRecordCodec.PersonRecord record;
+                while ((record = PersonRecordCodec.decode(buffer)) != null) {
+                    sink.accept(record);
+                    records++;
+                }
+                if (buffer.position() < size) {
+                    log.warn("Segmento {} truncado em {} de {} bytes (registro incompleto ou corrompido)",
+                            number, buffer.position(), size);
+                    segmentChannel.truncate(buffer.position());
+                }
+                log.info("Segmento {} do log reaplicado: {} registros", number, records);
+            }
+        }
+        return last;
+    }
+}
@@ -0,0 +1,181 @@
+package com.sccon.geospatial.personapi.infrastructure.seed;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Leitura paralela de arquivos CSV de carga inicial.
+ * <p>
+ * O arquivo é mapeado em memória e dividido em trechos de tamanho parecido; cada
+ * trecho começa na primeira linha completa após o seu início nominal e termina na
+ * última linha que começa antes do fim nominal, então toda linha pertence a um único
+ * trecho. Os trechos são convertidos e validados no pool comum, e o resultado
+ * preserva a ordem do arquivo.
+ * <p>
+ * Formato: UTF-8, campos separados por vírgula e sem aspas, primeira linha de cabeçalho
+ * (ignorada), linhas vazias ignoradas.
+ */
+final class CsvChunkReader {
+
+    private static final long MIN_CHUNK_BYTES = 1L << 20;
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+    // Mantém cada trecho mapeado abaixo do limite de 2 GB de um MappedByteBuffer
+    private static final long MAX_CHUNK_BYTES = Integer.MAX_VALUE - 2L * MAX_LINE_BYTES;
+    private static final byte SEPARATOR = ',';
+
+    private CsvChunkReader() {
+    }
+
+    /**
+     * Converte (e valida) os campos de uma linha.
+     */
+    @FunctionalInterface
+    interface LineParser<T> {
+
+        /**
+         * @throws IllegalArgumentException se a linha for inválida; a mensagem vai para o relatório
+         */
+        T parse(String[] fields);
+    }
+
+    static <T> SeedBatch<T> read(Path file, int columns, LineParser<T> parser) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long byProcessors = Runtime.getRuntime().availableProcessors() * 4L;
+            long bySize = Math.max(1, size / MIN_CHUNK_BYTES);
+            int chunks = (int) Math.max(Math.min(byProcessors, bySize), (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+
+            List<Chunk<T>> parsed;
+            try {
+                parsed = IntStream.range(0, chunks).parallel()
+                        .mapToObj(i -> parseChunk(channel, size, size * i / chunks, size * (i + 1) / chunks,
+                                i == 0, columns, parser))
+                        .toList();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            // Linha 1 é o cabeçalho; os números de linha de cada trecho são deslocados pelos anteriores
+            List<T> rows = new ArrayList<>(parsed.stream().mapToInt(chunk -> chunk.rows.size()).sum());
+            SortedMap<Long, String> errors = new TreeMap<>();
+            long rejected = 0;
+            long lineOffset = 1;
+            for (Chunk<T> chunk : parsed) {
+                rows.addAll(chunk.rows);
+                for (int e = 0; e < chunk.errorLines.size() && errors.size() < SeedBatch.MAX_REPORTED_ERRORS; e++) {
+                    errors.put(lineOffset + chunk.errorLines.get(e), chunk.errorMessages.get(e));
+                }
+                rejected += chunk.errorLines.size();
+                lineOffset += chunk.lines;
+            }
+            return new SeedBatch<>(rows, lineOffset - 1, rejected, errors);
+        }
+    }
+
+    private static <T> Chunk<T> parseChunk(FileChannel channel, long size, long start, long end,
+                                           boolean first, int columns, LineParser<T> parser) {
+        Chunk<T> chunk = new Chunk<>();
+        if (start >= end && !first) {
+            return chunk;
+        }
+
+        // Um byte antes do início nominal decide se o trecho começa numa linha completa
+        long mapStart = first ? 0 : start - 1;
+        long mapEnd = Math.min(size, end + MAX_LINE_BYTES);
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int limit = buffer.limit();
+        int nominalEnd = (int) (end - mapStart);
+        int position = first ? 0 : nextLine(buffer, 0, limit);
+        if (first && position < limit) {
+            // Cabeçalho
+            position = nextLine(buffer, position, limit);
+        }
+
+        byte[] scratch = new byte[256];
+        String[] fields = new String[columns];
+        while (position < limit && position < nominalEnd) {
+            int lineEnd = indexOf(buffer, (byte) '\n', position, limit);
+            if (lineEnd < 0) {
+                if (mapEnd < size) {
+                    throw new UncheckedIOException(new IOException(
+                            "Linha maior que " + MAX_LINE_BYTES + " bytes na posição " + (mapStart + position)));
+                }
+                lineEnd = limit;
+            }
+            int contentEnd = lineEnd > position && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            chunk.lines++;
+
+            if (contentEnd > position) {
+                try {
+                    scratch = split(buffer, position, contentEnd, fields, scratch);
+                    chunk.rows.add(parser.parse(fields.clone()));
+                } catch (IllegalArgumentException e) {
+                    chunk.errorLines.add(chunk.lines);
+                    chunk.errorMessages.add(e.getMessage());
+                }
+            }
+            position = lineEnd + 1;
+        }
+        return chunk;
+    }
+
+    private static byte[] split(MappedByteBuffer buffer, int from, int to, String[] fields, byte[] scratch) {
+        int field = 0;
+        int fieldStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || buffer.get(i) == SEPARATOR) {
+                if (field == fields.length) {
+                    throw new IllegalArgumentException("Esperadas " + fields.length + " colunas");
+                }
+                int length = i - fieldStart;
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length << 1)];
+                }
+                buffer.get(fieldStart, scratch, 0, length);
+                fields[field++] = new String(scratch, 0, length, StandardCharsets.UTF_8).trim();
+                fieldStart = i + 1;
+            }
+        }
+        if (field != fields.length) {
+            throw new IllegalArgumentException("Esperadas " + fields.length + " colunas");
+        }
+        return scratch;
+    }
+
+    private static int nextLine(MappedByteBuffer buffer, int from, int limit) {
+        int newline = indexOf(buffer, (byte) '\n', from, limit);
+        return newline < 0 ? limit : newline + 1;
+    }
+
+    private static int indexOf(MappedByteBuffer buffer, byte value, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Chunk<T> {
+        private final List<T> rows = new ArrayList<>();
+        private final List<Long> errorLines = new ArrayList<>();
+        private final List<String> errorMessages = new ArrayList<>();
+        private long lines;
+    }
+}
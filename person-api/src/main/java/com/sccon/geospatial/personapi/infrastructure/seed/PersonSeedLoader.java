@@ -0,0 +1,115 @@
+package com.sccon.geospatial.personapi.infrastructure.seed;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.repository.PersonRepository;
+import com.sccon.geospatial.personapi.domain.service.PersonService;
+import com.sccon.geospatial.personapi.infrastructure.repository.index.CpfIndex;
+import com.sccon.geospatial.personapi.infrastructure.repository.persistence.PersonSnapshotStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Carga inicial de pessoas a partir de arquivo, sem passar pela API:
+ * <ul>
+ *     <li>{@code .csv}: colunas {@code name,cpf,phone,email}, com cabeçalho;</li>
+ *     <li>qualquer outra extensão: binário no formato de snapshot do {@link PersonSnapshotStore},
+ *     o que permite semear uma instância com o snapshot de outra.</li>
+ * </ul>
+ * A conversão e a validação rodam em paralelo por trecho do arquivo mapeado; a
+ * unicidade de CPF é verificada em seguida e as pessoas aceitas são gravadas num
+ * único {@link PersonRepository#saveAll(List)}.
+ */
+@Component
+@Slf4j
+public class PersonSeedLoader {
+
+    private static final int COLUMNS = 4;
+
+    private final PersonRepository personRepository;
+    private final PersonService personService;
+
+    public PersonSeedLoader(PersonRepository personRepository, PersonService personService) {
+        this.personRepository = personRepository;
+        this.personService = personService;
+    }
+
+    public SeedResult load(Path file) throws IOException {
+        long startedAt = System.nanoTime();
+        log.info("Carregando pessoas do arquivo {}", file.toAbsolutePath());
+
+        SeedBatch<Person> batch = file.getFileName().toString().endsWith(".csv")
+                ? CsvChunkReader.read(file, COLUMNS, this::parse)
+                : readSnapshot(file);
+        batch.errors().forEach((line, message) -> log.warn("Registro {} rejeitado: {}", line, message));
+
+        List<Person> accepted = withUniqueCpfs(batch.rows());
+        personRepository.saveAll(accepted);
+
+        return new SeedResult(file, batch.lines(), accepted.size(),
+                batch.rejected() + batch.rows().size() - accepted.size(), System.nanoTime() - startedAt);
+    }
+
+    private Person parse(String[] fields) {
+        Person person = new Person();
+        person.setName(fields[0]);
+        person.setCpf(fields[1]);
+        person.setPhone(fields[2].isEmpty() ? null : fields[2]);
+        person.setEmail(fields[3].isEmpty() ? null : fields[3]);
+        personService.validatePerson(person);
+        return person;
+    }
+
+    /**
+     * Os blocos do snapshot são decodificados e validados em paralelo; a ordem por ID é refeita ao final.
+     * Os erros são indexados pelo ID do registro.
+     */
+    private SeedBatch<Person> readSnapshot(Path file) throws IOException {
+        Queue<Person> valid = new ConcurrentLinkedQueue<>();
+        SortedMap<Long, String> errors = new ConcurrentSkipListMap<>();
+        LongAdder rejected = new LongAdder();
+
+        long read = PersonSnapshotStore.load(file, person -> {
+            try {
+                personService.validatePerson(person);
+                valid.add(person);
+            } catch (IllegalArgumentException e) {
+                rejected.increment();
+                if (errors.size() < SeedBatch.MAX_REPORTED_ERRORS) {
+                    errors.put(person.getId(), e.getMessage());
+                }
+            }
+        });
+
+        List<Person> rows = new ArrayList<>(valid);
+        rows.sort(Comparator.comparing(Person::getId));
+        return new SeedBatch<>(rows, read, rejected.sum(), errors);
+    }
+
+    /**
+     * Descarta CPFs já cadastrados e repetidos no próprio arquivo (prevalece a primeira ocorrência).
+     */
+    private List<Person> withUniqueCpfs(List<Person> persons) {
+        Set<String> existing = personRepository.count() == 0
+                ? Set.of()
+                : personRepository.findExistingCpfs(persons.stream().map(Person::getCpf).toList());
+
+        Set<Long> seen = new HashSet<>(persons.size() * 2);
+        List<Person> accepted = new ArrayList<>(persons.size());
+        int reported = 0;
+        for (Person person : persons) {
+            if (!existing.contains(person.getCpf()) && seen.add(CpfIndex.toKey(person.getCpf()))) {
+                accepted.add(person);
+            } else if (reported++ < SeedBatch.MAX_REPORTED_ERRORS) {
+                log.warn("Registro rejeitado: já existe uma pessoa com o CPF {}", person.getCpf());
+            }
+        }
+        return accepted;
+    }
+}
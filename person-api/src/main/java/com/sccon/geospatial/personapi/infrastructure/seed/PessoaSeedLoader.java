@@ -0,0 +1,103 @@
+package com.sccon.geospatial.personapi.infrastructure.seed;
+
+import com.sccon.geospatial.personapi.domain.model.Pessoa;
+import com.sccon.geospatial.personapi.domain.repository.PessoaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Carga inicial de pessoas (especificação) a partir de CSV com as colunas
+ * {@code id,nome,dataNascimento,dataAdmissao}: datas ISO ({@code 2000-04-06}) e ID
+ * opcional (vazio recebe o próximo da sequência). Conversão e validação rodam em
+ * paralelo por trecho do arquivo mapeado; as linhas aceitas são gravadas num único
+ * {@link PessoaRepository#saveAll(List)}.
+ */
+@Component
+@Slf4j
+public class PessoaSeedLoader {
+
+    private static final int COLUNAS = 4;
+    private static final int TAMANHO_MAXIMO_NOME = 100;
+
+    private final PessoaRepository pessoaRepository;
+
+    public PessoaSeedLoader(PessoaRepository pessoaRepository) {
+        this.pessoaRepository = pessoaRepository;
+    }
+
+    public SeedResult load(Path arquivo) throws IOException {
+        long inicio = System.nanoTime();
+        log.info("Carregando pessoas do arquivo {}", arquivo.toAbsolutePath());
+
+        if (!arquivo.getFileName().toString().endsWith(".csv")) {
+            throw new IllegalArgumentException("Carga de pessoas aceita apenas arquivos .csv: " + arquivo);
+        }
+        SeedBatch<Pessoa> lote = CsvChunkReader.read(arquivo, COLUNAS, PessoaSeedLoader::converter);
+        lote.errors().forEach((linha, mensagem) -> log.warn("Linha {} rejeitada: {}", linha, mensagem));
+
+        List<Pessoa> aceitas = comIdsUnicos(lote.rows());
+        pessoaRepository.saveAll(aceitas);
+
+        return new SeedResult(arquivo, lote.lines(), aceitas.size(),
+                lote.rejected() + lote.rows().size() - aceitas.size(), System.nanoTime() - inicio);
+    }
+
+    private static Pessoa converter(String[] campos) {
+        Pessoa pessoa = new Pessoa();
+        if (!campos[0].isEmpty()) {
+            try {
+                pessoa.setId(Long.parseLong(campos[0]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("ID inválido: " + campos[0]);
+            }
+        }
+        if (campos[1].isEmpty()) {
+            throw new IllegalArgumentException("Nome é obrigatório");
+        }
+        if (campos[1].length() > TAMANHO_MAXIMO_NOME) {
+            throw new IllegalArgumentException("Nome deve ter no máximo " + TAMANHO_MAXIMO_NOME + " caracteres");
+        }
+        pessoa.setNome(campos[1]);
+        pessoa.setDataNascimento(data(campos[2], "Data de nascimento"));
+        pessoa.setDataAdmissao(data(campos[3], "Data de admissão"));
+        return pessoa;
+    }
+
+    private static LocalDate data(String valor, String campo) {
+        if (valor.isEmpty()) {
+            throw new IllegalArgumentException(campo + " é obrigatória");
+        }
+        try {
+            return LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(campo + " inválida: " + valor);
+        }
+    }
+
+    /**
+     * Descarta IDs já cadastrados e repetidos no próprio arquivo (prevalece a primeira ocorrência).
+     */
+    private List<Pessoa> comIdsUnicos(List<Pessoa> pessoas) {
+        Set<Long> vistos = new HashSet<>();
+        List<Pessoa> aceitas = new ArrayList<>(pessoas.size());
+        int reportadas = 0;
+        for (Pessoa pessoa : pessoas) {
+            Long id = pessoa.getId();
+            if (id == null || (vistos.add(id) && !pessoaRepository.existsById(id))) {
+                aceitas.add(pessoa);
+            } else if (reportadas++ < SeedBatch.MAX_REPORTED_ERRORS) {
+                log.warn("Pessoa rejeitada: ID {} já existe", id);
+            }
+        }
+        return aceitas;
+    }
+}
@@ -0,0 +1,17 @@
+package com.sccon.geospatial.personapi.infrastructure.seed;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Linhas convertidas de um arquivo de carga inicial, em ordem de arquivo.
+ *
+ * @param rows     linhas válidas
+ * @param lines    linhas de dados lidas (sem o cabeçalho)
+ * @param rejected linhas rejeitadas na conversão ou validação
+ * @param errors   primeiros erros, por número de linha do arquivo (limitados a {@link #MAX_REPORTED_ERRORS})
+ */
+record SeedBatch<T>(List<T> rows, long lines, long rejected, SortedMap<Long, String> errors) {
+
+    static final int MAX_REPORTED_ERRORS = 20;
+}
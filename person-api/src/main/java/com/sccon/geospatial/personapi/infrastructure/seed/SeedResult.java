@@ -0,0 +1,24 @@
+package com.sccon.geospatial.personapi.infrastructure.seed;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resumo de uma carga inicial a partir de arquivo.
+ *
+ * @param file         arquivo carregado
+ * @param read         registros lidos
+ * @param loaded       registros gravados no repositório
+ * @param rejected     registros rejeitados (formato, validação ou duplicidade)
+ * @param elapsedNanos duração da carga, da abertura do arquivo à gravação
+ */
+public record SeedResult(Path file, long read, long loaded, long rejected, long elapsedNanos) {
+
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public long rowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : read * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
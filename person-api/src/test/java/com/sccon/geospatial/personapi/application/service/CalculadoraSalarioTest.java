@@ -0,0 +1,94 @@
+package com.sccon.geospatial.personapi.application.service;
+
+import com.sccon.geospatial.personapi.application.service.impl.CalculadoraSalario;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Propriedade: a forma fechada coincide com a recorrência ano a ano
+ * para todo o domínio de 0 a 100 anos de empresa.
+ */
+class CalculadoraSalarioTest {
+
+    private static final BigDecimal SALARIO_INICIAL = new BigDecimal("1558.00");
+    private static final BigDecimal AUMENTO_PORCENTAGEM = new BigDecimal("0.18");
+    private static final BigDecimal AUMENTO_FIXO = new BigDecimal("500.00");
+    private static final BigDecimal SALARIO_MINIMO = new BigDecimal("1302.00");
+
+    private final CalculadoraSalario calculadora =
+            new CalculadoraSalario(SALARIO_INICIAL, AUMENTO_PORCENTAGEM, AUMENTO_FIXO, SALARIO_MINIMO);
+
+    static LongStream anosDeEmpresa() {
+        return LongStream.rangeClosed(0, 100);
+    }
+
+    static LongStream anosNegativos() {
+        return LongStream.of(-1, -2, -10, -100, Integer.MIN_VALUE, Long.MIN_VALUE);
+    }
+
+    private static BigDecimal salarioPorRecorrenciaExata(long anos) {
+        BigDecimal salario = SALARIO_INICIAL;
+        for (int i = 0; i < anos; i++) {
+            salario = salario.add(salario.multiply(AUMENTO_PORCENTAGEM)).add(AUMENTO_FIXO);
+        }
+        return salario;
+    }
+
+    private static double salarioPorLacoOriginal(long anos) {
+        double salario = 1558.00;
+        for (int i = 0; i < anos; i++) {
+            salario = salario + (salario * 0.18) + 500.00;
+        }
+        return salario;
+    }
+
+    @ParameterizedTest
+    @MethodSource("anosDeEmpresa")
+    void salario_DeveSerIgualARecorrenciaExata(long anos) {
+        BigDecimal esperado = salarioPorRecorrenciaExata(anos);
+
+        assertEquals(0, esperado.compareTo(calculadora.salario(anos)));
+        assertEquals(esperado.setScale(2, RoundingMode.HALF_UP), calculadora.salarioCheio(anos));
+        assertEquals(esperado.divide(SALARIO_MINIMO, 2, RoundingMode.CEILING), calculadora.salariosMinimos(anos));
+    }
+
+    @ParameterizedTest
+    @MethodSource("anosDeEmpresa")
+    void salarioCheio_DeveCoincidirComLacoOriginalAoCentavo(long anos) {
+        BigDecimal original = BigDecimal.valueOf(salarioPorLacoOriginal(anos)).setScale(2, RoundingMode.HALF_UP);
+
+        assertEquals(original, calculadora.salarioCheio(anos));
+    }
+
+    @ParameterizedTest
+    @MethodSource("anosNegativos")
+    void salario_ComAnosNegativos_DeveRetornarSalarioInicial(long anos) {
+        assertEquals(0, SALARIO_INICIAL.compareTo(calculadora.salario(anos)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {101, 500, 2_870})
+    void salario_AlemDaTabela_DeveCoincidirComARecorrenciaNaPrecisaoFixa(long anos) {
+        MathContext digitos = new MathContext(50);
+
+        assertEquals(salarioPorRecorrenciaExata(anos).round(digitos), calculadora.salario(anos).round(digitos));
+    }
+
+    @Test
+    void salario_ComTempoDeEmpresaImplausivel_DeveRecusarSemCalcular() {
+        assertThrows(IllegalArgumentException.class, () -> calculadora.salario(900_000_000L));
+        assertThrows(IllegalArgumentException.class, () -> calculadora.salario(Long.MAX_VALUE));
+        // No limite, o custo continua o de uma potência em precisão fixa
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> calculadora.salarioCheio(10_000));
+    }
+}
@@ -0,0 +1,129 @@
+package com.sccon.geospatial.personapi.application.service;
+
+import com.sccon.geospatial.personapi.application.service.impl.CalculadoraSalario;
+import com.sccon.geospatial.personapi.application.service.impl.IndicadoresPessoas;
+import com.sccon.geospatial.personapi.domain.model.Pessoa;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndicadoresPessoasTest {
+
+    private static final LocalDate HOJE = LocalDate.now();
+
+    private final CalculadoraSalario calculadora = new CalculadoraSalario(new BigDecimal("1558.00"),
+            new BigDecimal("0.18"), new BigDecimal("500.00"), new BigDecimal("1302.00"));
+    private final IndicadoresPessoas indicadores = new IndicadoresPessoas(calculadora);
+
+    private static Pessoa pessoa(long id, long versao, LocalDate nascimento, LocalDate admissao) {
+        Pessoa pessoa = new Pessoa(id, "Pessoa " + id, nascimento, admissao);
+        pessoa.setVersao(versao);
+        return pessoa;
+    }
+
+    @Test
+    void reconstruir_DeveCalcularOsMesmosValoresDoCalculoPorRequisicao() {
+        LocalDate nascimento = HOJE.minusYears(30).minusMonths(2).minusDays(5);
+        LocalDate admissao = HOJE.minusYears(3).plusDays(1);
+
+        assertEquals(1, indicadores.reconstruir(List.of(List.of(pessoa(1, 0, nascimento, admissao))), HOJE));
+
+        IndicadoresPessoas.Indicadores lidos = indicadores.buscar(1L, HOJE);
+        assertNotNull(lidos);
+        assertEquals(ChronoUnit.DAYS.between(nascimento, HOJE), lidos.idade(ChronoUnit.DAYS));
+        assertEquals(ChronoUnit.MONTHS.between(nascimento, HOJE), lidos.idade(ChronoUnit.MONTHS));
+        assertEquals(30, lidos.idade(ChronoUnit.YEARS));
+        assertEquals(2, lidos.anosEmpresa());
+        assertEquals(calculadora.salarioCheio(2).doubleValue(), lidos.salarioCheio());
+        assertEquals(calculadora.salariosMinimos(2).doubleValue(), lidos.salariosMinimos());
+    }
+
+    @Test
+    void buscar_EntradaDeOutroDia_DeveSerIgnorada() {
+        indicadores.reconstruir(List.of(List.of(pessoa(1, 0, HOJE.minusYears(20), HOJE.minusYears(1)))), HOJE.minusDays(1));
+
+        assertNull(indicadores.buscar(1L, HOJE));
+        assertNotNull(indicadores.buscar(1L, HOJE.minusDays(1)));
+    }
+
+    @Test
+    void reconstruir_PessoaSemDatas_DeveFicarForaDaVisao() {
+        indicadores.reconstruir(List.of(List.of(pessoa(1, 0, null, HOJE), pessoa(2, 0, HOJE.minusYears(20), HOJE))), HOJE);
+
+        assertNull(indicadores.buscar(1L, HOJE));
+        assertNotNull(indicadores.buscar(2L, HOJE));
+        assertEquals(1, indicadores.tamanho());
+    }
+
+    @Test
+    void reconstruir_EscritasDuranteAReconstrucao_DevemSerReaplicadasNaVisaoNova() {
+        LocalDate admissao = HOJE.minusYears(5);
+        // A fonte devolve o estado lido; as escritas abaixo chegam enquanto o mapa novo é montado
+        indicadores.reconstruir(() -> {
+            indicadores.atualizar(pessoa(1, 1, HOJE.minusYears(40), admissao));
+            indicadores.atualizar(pessoa(3, 0, HOJE.minusYears(25), admissao));
+            indicadores.remover(2L);
+            return List.<Collection<Pessoa>>of(
+                    List.of(pessoa(1, 0, HOJE.minusYears(30), admissao), pessoa(2, 0, HOJE.minusYears(20), admissao))).iterator();
+        }, HOJE);
+
+        assertEquals(40, indicadores.buscar(1L, HOJE).idadeAnos());
+        assertNull(indicadores.buscar(2L, HOJE));
+        assertEquals(25, indicadores.buscar(3L, HOJE).idadeAnos());
+        assertEquals(2, indicadores.tamanho());
+    }
+
+    @Test
+    void atualizar_VersaoAntiga_NaoDeveSobreporAMaisNova() {
+        LocalDate admissao = HOJE.minusYears(5);
+        indicadores.atualizar(pessoa(1, 2, HOJE.minusYears(40), admissao));
+        indicadores.atualizar(pessoa(1, 1, HOJE.minusYears(30), admissao));
+
+        assertEquals(40, indicadores.buscar(1L, HOJE).idadeAnos());
+    }
+
+    @Test
+    void atualizar_DepoisDaRemocao_NaoDeveDevolverAPessoaRemovida() {
+        LocalDate admissao = HOJE.minusYears(5);
+        indicadores.atualizar(pessoa(1, 3, HOJE.minusYears(40), admissao));
+
+        indicadores.remover(1L);
+        // Escrita concorrente à remoção que chega depois dela
+        indicadores.atualizar(pessoa(1, 4, HOJE.minusYears(40), admissao));
+
+        assertNull(indicadores.buscar(1L, HOJE));
+        assertEquals(0, indicadores.tamanho());
+    }
+
+    @Test
+    void reconstruir_DeveLerAFonteUmaPaginaPorVez() {
+        LocalDate admissao = HOJE.minusYears(5);
+        List<List<Pessoa>> paginas = List.of(
+                List.of(pessoa(1, 0, HOJE.minusYears(30), admissao), pessoa(2, 0, HOJE.minusYears(31), admissao)),
+                List.of(pessoa(3, 0, HOJE.minusYears(32), admissao)));
+
+        assertEquals(3, indicadores.reconstruir(paginas, HOJE));
+        assertEquals(32, indicadores.buscar(3L, HOJE).idadeAnos());
+    }
+
+    @Test
+    void reconstruirEAtualizar_ComPessoaQueOCalculoRecusa_DevemPularSoEssaPessoa() {
+        LocalDate admissao = HOJE.minusYears(5);
+        // Tempo de empresa acima do limite da calculadora
+        Pessoa recusada = pessoa(2, 0, HOJE.minusYears(30), HOJE.minusYears(20_000));
+
+        assertEquals(1, indicadores.reconstruir(
+                List.of(List.of(pessoa(1, 0, HOJE.minusYears(30), admissao), recusada)), HOJE));
+        assertNotNull(indicadores.buscar(1L, HOJE));
+        assertNull(indicadores.buscar(2L, HOJE));
+
+        assertDoesNotThrow(() -> indicadores.atualizar(pessoa(2, 1, HOJE.minusYears(30), HOJE.minusYears(20_000))));
+        assertNull(indicadores.buscar(2L, HOJE));
+    }
+}
@@ -1,19 +1,31 @@
 package com.sccon.geospatial.personapi.application.service;
 
+import com.sccon.geospatial.personapi.application.dto.SimulacaoFolhaResponseDto;
 import com.sccon.geospatial.personapi.application.service.impl.PessoaServiceImpl;
+import com.sccon.geospatial.personapi.domain.exception.VersionConflictException;
 import com.sccon.geospatial.personapi.domain.model.Pessoa;
 import com.sccon.geospatial.personapi.domain.repository.PessoaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +49,108 @@ class PessoaServiceTest {
         joseSilva.setDataAdmissao(LocalDate.of(2020, 5, 10));  // 10/05/2020
     }
 
+    @Test
+    void atualizarAtributosPessoa_DeveGravarUmaVezSemAlterarAPessoaLida() {
+        joseSilva.setVersao(4L);
+        when(pessoaRepository.findById(1L)).thenReturn(Optional.of(joseSilva));
+        when(pessoaRepository.replace(same(joseSilva), any(Pessoa.class)))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(1)));
+
+        Pessoa atualizada = pessoaService.atualizarAtributosPessoa(1L,
+                Map.of("nome", "José Souza", "dataAdmissao", LocalDate.of(2021, 1, 1)), versao -> versao == 4L);
+
+        assertEquals("José Souza", atualizada.getNome());
+        assertEquals(LocalDate.of(2021, 1, 1), atualizada.getDataAdmissao());
+        assertEquals(LocalDate.of(2000, 4, 6), atualizada.getDataNascimento());
+        assertEquals("José da Silva", joseSilva.getNome());
+        verify(pessoaRepository, times(1)).replace(any(), any());
+    }
+
+    @Test
+    void atualizarAtributosPessoa_DeveConverterDatasEmTexto() {
+        when(pessoaRepository.findById(1L)).thenReturn(Optional.of(joseSilva));
+        when(pessoaRepository.replace(same(joseSilva), any(Pessoa.class)))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(1)));
+
+        Pessoa atualizada = pessoaService.atualizarAtributosPessoa(1L,
+                Map.of("dataNascimento", "1999-12-31", "DATAADMISSAO", "2022-02-01"), null);
+
+        assertEquals(LocalDate.of(1999, 12, 31), atualizada.getDataNascimento());
+        assertEquals(LocalDate.of(2022, 2, 1), atualizada.getDataAdmissao());
+        assertEquals("José da Silva", atualizada.getNome());
+        verify(pessoaRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void atualizarAtributosPessoa_ComPatchInvalido_NaoDeveLerNemGravar() {
+        Map<String, Object> remocao = new java.util.HashMap<>();
+        remocao.put("nome", null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> pessoaService.atualizarAtributosPessoa(1L, Map.of("dataAdmissao", "10/05/2020"), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> pessoaService.atualizarAtributosPessoa(1L, Map.of("nome", "José", "salario", 1), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> pessoaService.atualizarAtributosPessoa(1L, remocao, null));
+        verify(pessoaRepository, never()).findById(any());
+        verify(pessoaRepository, never()).replace(any(), any());
+    }
+
+    @Test
+    void atualizarAtributosPessoa_ComPatchVazio_DeveDevolverAPessoaSemGravar() {
+        when(pessoaRepository.findById(1L)).thenReturn(Optional.of(joseSilva));
+
+        assertSame(joseSilva, pessoaService.atualizarAtributosPessoa(1L, Map.of(), null));
+        verify(pessoaRepository, never()).replace(any(), any());
+    }
+
+    @Test
+    void atualizarPessoa_ComVersaoDiferenteDoIfMatch_DeveLancarConflito() {
+        joseSilva.setVersao(5L);
+        when(pessoaRepository.findById(1L)).thenReturn(Optional.of(joseSilva));
+
+        VersionConflictException conflito = assertThrows(VersionConflictException.class,
+                () -> pessoaService.atualizarPessoa(1L, new Pessoa(), versao -> versao == 4L));
+
+        assertEquals(5L, conflito.getCurrentVersion());
+        verify(pessoaRepository, never()).replace(any(), any());
+    }
+
+    @Test
+    void atualizarPessoa_QuandoOutraEscritaChegaAntes_DeveReleerETentarDeNovo() {
+        Pessoa releitura = new Pessoa(1L, "José Lima", joseSilva.getDataNascimento(), joseSilva.getDataAdmissao());
+        when(pessoaRepository.findById(1L)).thenReturn(Optional.of(joseSilva), Optional.of(releitura));
+        when(pessoaRepository.replace(same(joseSilva), any(Pessoa.class))).thenReturn(Optional.empty());
+        when(pessoaRepository.replace(same(releitura), any(Pessoa.class)))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(1)));
+
+        Pessoa nova = new Pessoa(null, "José Souza", joseSilva.getDataNascimento(), joseSilva.getDataAdmissao());
+        assertEquals("José Souza", pessoaService.atualizarPessoa(1L, nova).getNome());
+        verify(pessoaRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void listarPorIdade_DeveConsultarSoAFaixaDeNascimentoEConferirAIdade() {
+        LocalDate hoje = LocalDate.now();
+        Pessoa vinteENove = new Pessoa(1L, "A", hoje.minusYears(30).plusDays(1), hoje);
+        Pessoa trinta = new Pessoa(2L, "B", hoje.minusYears(30), hoje);
+        Pessoa quarenta = new Pessoa(3L, "C", hoje.minusYears(41).plusDays(1), hoje);
+        Pessoa quarentaEUm = new Pessoa(4L, "D", hoje.minusYears(41), hoje);
+        when(pessoaRepository.findByDataNascimentoBetween(any(), any()))
+                .thenReturn(List.of(quarentaEUm, quarenta, trinta, vinteENove));
+
+        List<Pessoa> pessoas = pessoaService.listarPorIdade(30L, 40L, "years");
+
+        assertEquals(List.of(quarenta, trinta), pessoas);
+        ArgumentCaptor<LocalDate> de = ArgumentCaptor.forClass(LocalDate.class);
+        ArgumentCaptor<LocalDate> ate = ArgumentCaptor.forClass(LocalDate.class);
+        verify(pessoaRepository).findByDataNascimentoBetween(de.capture(), ate.capture());
+        assertTrue(ChronoUnit.DAYS.between(de.getValue(), hoje.minusYears(41)) <= 3);
+        assertTrue(ChronoUnit.DAYS.between(hoje.minusYears(30), ate.getValue()) <= 3);
+        assertThrows(IllegalArgumentException.class, () -> pessoaService.listarPorIdade(40L, 30L, "years"));
+        assertThrows(IllegalArgumentException.class, () -> pessoaService.listarPorIdade(1L, 2L, "weeks"));
+    }
+
     @Test
     void calcularIdade_DeveRetornarValoresCorretos_ConformeEspecificacao() {
 
@@ -64,6 +178,15 @@ class PessoaServiceTest {
         assertEquals(5.49, salarioMin, 0.01);
     }
 
+    @Test
+    void criarPessoa_ComAdmissaoImplausivel_DeveRecusarSemGravar() {
+        joseSilva.setId(null);
+        joseSilva.setDataAdmissao(LocalDate.of(-900_000_000, 1, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> pessoaService.criarPessoa(joseSilva));
+        verify(pessoaRepository, never()).save(any());
+    }
+
     @Test
     void calcularIdade_ComFormatoInvalido_DeveLancarExcecao() {
 
@@ -93,4 +216,85 @@ class PessoaServiceTest {
             pessoaService.calcularIdade(999L, "years");
         });
     }
+
+    @Test
+    void calcularIdadeESalario_AposRecalcularIndicadores_NaoDevemLerORepositorio() {
+        LocalDate hoje = LocalDate.now();
+        joseSilva.setDataNascimento(hoje.minusYears(25));
+        joseSilva.setDataAdmissao(hoje.minusYears(3));
+        joseSilva.setVersao(0L);
+        when(pessoaRepository.findPageAfterId(null, 10_000)).thenReturn(List.of(joseSilva));
+        when(pessoaRepository.findPageAfterId(1L, 10_000)).thenReturn(List.of());
+
+        assertEquals(1, pessoaService.recalcularIndicadores());
+
+        assertEquals(25, pessoaService.calcularIdade(1L, "years"));
+        assertEquals(ChronoUnit.DAYS.between(hoje.minusYears(25), hoje), pessoaService.calcularIdade(1L, "days"));
+        assertEquals(4346.04, pessoaService.calcularSalario(1L, "full"), 0.01);
+        verify(pessoaRepository, never()).findById(any());
+    }
+
+    @Test
+    void atualizarPessoa_DeveAtualizarOsIndicadoresMaterializados() {
+        LocalDate hoje = LocalDate.now();
+        joseSilva.setVersao(0L);
+        when(pessoaRepository.findById(1L)).thenReturn(Optional.of(joseSilva));
+        when(pessoaRepository.replace(same(joseSilva), any(Pessoa.class))).thenAnswer(invocation -> {
+            Pessoa nova = invocation.getArgument(1);
+            nova.setVersao(1L);
+            return Optional.of(nova);
+        });
+
+        pessoaService.atualizarAtributosPessoa(1L, Map.of("dataNascimento", hoje.minusYears(50)), null);
+
+        assertEquals(50, pessoaService.calcularIdade(1L, "years"));
+        // Só a leitura da atualização; a idade veio da visão
+        verify(pessoaRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void simularFolha_SemParametros_DeveUsarOCalculoAtual() {
+        LocalDate hoje = LocalDate.now();
+        when(pessoaRepository.findAllDataAdmissaoEpochDay())
+                .thenReturn(new int[]{(int) hoje.minusYears(3).toEpochDay(), (int) hoje.toEpochDay()});
+
+        SimulacaoFolhaResponseDto simulacao = pessoaService.simularFolha(null, null, null, null);
+
+        assertEquals(new BigDecimal("0.18"), simulacao.getAumentoPorcentagem());
+        assertEquals(2, simulacao.getPessoas());
+        assertEquals(new BigDecimal("5904.04"), simulacao.getTotalFolha());
+        assertEquals(new BigDecimal("4346.04"), simulacao.getMaiorSalario());
+    }
+
+    @Test
+    void simularFolha_ComEscalaOuMagnitudeExcessiva_DeveLancarExcecaoSemLerORepositorio() {
+        BigDecimal porcentagemLonga = new BigDecimal("0." + "1".repeat(300));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> pessoaService.simularFolha(null, porcentagemLonga, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> pessoaService.simularFolha(null, new BigDecimal("1.5"), null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> pessoaService.simularFolha(new BigDecimal("1558.001"), null, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> pessoaService.simularFolha(null, null, new BigDecimal("1E+1000000"), null));
+        verify(pessoaRepository, never()).findAllDataAdmissaoEpochDay();
+    }
+
+    @Test
+    void simularFolha_ComZerosDecimaisNaoSignificativos_DeveAceitar() {
+        when(pessoaRepository.findAllDataAdmissaoEpochDay()).thenReturn(new int[0]);
+
+        assertDoesNotThrow(() -> pessoaService.simularFolha(new BigDecimal("1558.000000"),
+                new BigDecimal("0.150000"), null, null));
+    }
+
+    @Test
+    void simularFolha_ComParametroInvalido_DeveLancarExcecaoSemLerORepositorio() {
+        assertThrows(IllegalArgumentException.class,
+                () -> pessoaService.simularFolha(null, null, null, BigDecimal.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> pessoaService.simularFolha(null, new BigDecimal("-1"), null, null));
+        verify(pessoaRepository, never()).findAllDataAdmissaoEpochDay();
+    }
 }
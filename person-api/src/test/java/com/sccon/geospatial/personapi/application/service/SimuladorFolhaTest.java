@@ -0,0 +1,131 @@
+package com.sccon.geospatial.personapi.application.service;
+
+import com.sccon.geospatial.personapi.application.dto.FaixaFolhaDto;
+import com.sccon.geospatial.personapi.application.dto.SimulacaoFolhaResponseDto;
+import com.sccon.geospatial.personapi.application.service.impl.CalculadoraSalario;
+import com.sccon.geospatial.personapi.application.service.impl.SimuladorFolha;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class SimuladorFolhaTest {
+
+    private static final CalculadoraSalario CALCULADORA = new CalculadoraSalario(new BigDecimal("1558.00"),
+            new BigDecimal("0.18"), new BigDecimal("500.00"), new BigDecimal("1302.00"));
+
+    // Paralelismo próprio: com um núcleo só o pool comum contaria tudo na thread do teste
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    /**
+     * Admissões diárias de 120 anos atrás até um ano à frente, contadas uma a uma por
+     * {@code ChronoUnit.YEARS.between}; inclui dias 29 de fevereiro dos dois lados.
+     */
+    private static long[] esperado(int[] admissoes, LocalDate hoje) {
+        long[] porAnos = new long[122];
+        for (int admissao : admissoes) {
+            porAnos[(int) Math.max(0, ChronoUnit.YEARS.between(LocalDate.ofEpochDay(admissao), hoje))]++;
+        }
+        return porAnos;
+    }
+
+    // Três voltas pelos dias: passa do tamanho de fatia e exercita a divisão do fork/join
+    private static int[] admissoesDiarias(LocalDate hoje) {
+        int de = (int) hoje.minusYears(120).toEpochDay();
+        int ate = (int) hoje.plusYears(1).toEpochDay();
+        return IntStream.range(0, 3).flatMap(volta -> IntStream.rangeClosed(de, ate)).toArray();
+    }
+
+    private static void assertContagem(SimuladorFolha simulador, LocalDate hoje) {
+        int[] admissoes = admissoesDiarias(hoje);
+        long[] esperado = esperado(admissoes, hoje);
+        long[] contado = simulador.contarPorAnosEmpresa(admissoes, hoje);
+
+        assertEquals(121, contado.length);
+        for (int anos = 0; anos < contado.length; anos++) {
+            assertEquals(esperado[anos], contado[anos], "anos de empresa: " + anos);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2024-02-29", "2023-02-28", "2024-03-01", "2025-12-31", "2026-01-01"})
+    void contagemEscalar_DeveCoincidirComChronoUnit(String hoje) {
+        assertContagem(new SimuladorFolha(false, POOL), LocalDate.parse(hoje));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2024-02-29", "2023-02-28", "2024-03-01", "2025-12-31", "2026-01-01"})
+    void contagemVetorial_DeveCoincidirComChronoUnit(String hoje) {
+        assumeTrue(SimuladorFolha.vetorialDisponivel(), "jdk.incubator.vector não carregado");
+        assertContagem(new SimuladorFolha(true, POOL), LocalDate.parse(hoje));
+    }
+
+    @Test
+    void simular_DeveCalcularTotaisPercentisEDistribuicao() {
+        LocalDate hoje = LocalDate.of(2025, 6, 15);
+        int[] admissoes = new int[10];
+        // 6 pessoas com 0 anos, 3 com 2 anos e 1 com 10 anos de empresa
+        for (int i = 0; i < 6; i++) {
+            admissoes[i] = (int) hoje.minusMonths(i).toEpochDay();
+        }
+        for (int i = 6; i < 9; i++) {
+            admissoes[i] = (int) hoje.minusYears(2).minusDays(i).toEpochDay();
+        }
+        admissoes[9] = (int) hoje.minusYears(10).toEpochDay();
+
+        SimulacaoFolhaResponseDto simulacao = new SimuladorFolha(false).simular(admissoes, hoje, CALCULADORA);
+
+        BigDecimal zero = CALCULADORA.salarioCheio(0);
+        BigDecimal dois = CALCULADORA.salarioCheio(2);
+        BigDecimal dez = CALCULADORA.salarioCheio(10);
+        assertEquals(10, simulacao.getPessoas());
+        assertEquals(zero.multiply(BigDecimal.valueOf(6)).add(dois.multiply(BigDecimal.valueOf(3))).add(dez),
+                simulacao.getTotalFolha());
+        assertEquals(zero, simulacao.getMenorSalario());
+        assertEquals(dez, simulacao.getMaiorSalario());
+        assertEquals(zero, simulacao.getPercentis().get("p50"));
+        assertEquals(dois, simulacao.getPercentis().get("p90"));
+        assertEquals(dez, simulacao.getPercentis().get("p95"));
+
+        assertEquals(3, simulacao.getDistribuicao().size());
+        FaixaFolhaDto faixa = simulacao.getDistribuicao().get(1);
+        assertEquals(2, faixa.getAnosEmpresa());
+        assertEquals(3, faixa.getPessoas());
+        assertEquals(CALCULADORA.salariosMinimos(2), faixa.getSalariosMinimos());
+    }
+
+    @Test
+    void contagem_NaThreadQueChama_DeveCoincidirComADivididaNoPool() {
+        LocalDate hoje = LocalDate.of(2024, 2, 29);
+        int[] admissoes = admissoesDiarias(hoje);
+
+        assertArrayEquals(new SimuladorFolha(false, POOL).contarPorAnosEmpresa(admissoes, hoje),
+                new SimuladorFolha(false, new ForkJoinPool(1)).contarPorAnosEmpresa(admissoes, hoje));
+    }
+
+    @Test
+    void contagem_AdmissaoForaDaTabela_DeveLancarExcecao() {
+        LocalDate hoje = LocalDate.of(2025, 1, 1);
+        int[] admissoes = {(int) hoje.toEpochDay(), (int) LocalDate.of(-1000, 1, 1).toEpochDay()};
+
+        assertThrows(IllegalArgumentException.class, () -> new SimuladorFolha(false).contarPorAnosEmpresa(admissoes, hoje));
+    }
+
+    @Test
+    void simular_SemPessoas_DeveRetornarFolhaZerada() {
+        SimulacaoFolhaResponseDto simulacao = new SimuladorFolha(false).simular(new int[0], LocalDate.now(), CALCULADORA);
+
+        assertEquals(0, simulacao.getPessoas());
+        assertEquals(BigDecimal.ZERO, simulacao.getTotalFolha());
+        assertNull(simulacao.getSalarioMedio());
+        assertTrue(simulacao.getPercentis().isEmpty());
+    }
+}
@@ -1,23 +1,31 @@
 package com.sccon.geospatial.personapi.application.usecase;
 
+import com.sccon.geospatial.personapi.application.dto.BulkImportResponseDto;
 import com.sccon.geospatial.personapi.application.dto.PersonRequestDto;
 import com.sccon.geospatial.personapi.application.dto.PersonResponseDto;
+import com.sccon.geospatial.personapi.application.dto.PersonValidationResponseDto;
+import com.sccon.geospatial.personapi.application.dto.Versioned;
 import com.sccon.geospatial.personapi.application.mapper.PersonMapper;
 import com.sccon.geospatial.personapi.application.usecase.impl.PersonUseCaseImpl;
 import com.sccon.geospatial.personapi.domain.model.Person;
 import com.sccon.geospatial.personapi.domain.service.PersonService;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +41,12 @@ class PersonUseCaseImplTest {
     @Mock
     private PersonMapper personMapper;
 
+    @Mock
+    private Validator validator;
+
+    @Spy
+    private Executor requestExecutor = new SyncTaskExecutor();
+
     @InjectMocks
     private PersonUseCaseImpl personUseCase;
 
@@ -118,6 +132,22 @@ class PersonUseCaseImplTest {
         verify(personMapper, never()).toResponseDto(any());
     }
 
+    @Test
+    void findPersonById_WithMatchingVersion_ShouldSkipMapping() throws Exception {
+
+        person.setVersion(3L);
+        when(personService.findPersonById(1L)).thenReturn(Optional.of(person));
+
+        Versioned<PersonResponseDto> notModified = personUseCase.findPersonById(1L, version -> version == 3L).get().orElseThrow();
+        assertTrue(notModified.isNotModified());
+        assertEquals(3L, notModified.version());
+        verify(personMapper, never()).toResponseDto(any());
+
+        when(personMapper.toResponseDto(person)).thenReturn(personResponseDto);
+        Versioned<PersonResponseDto> modified = personUseCase.findPersonById(1L, version -> version == 2L).get().orElseThrow();
+        assertSame(personResponseDto, modified.body());
+    }
+
     @Test
     void listAllPersons_ShouldReturnListOfPersons() throws Exception {
 
@@ -186,4 +216,61 @@ class PersonUseCaseImplTest {
         verify(personService).updatePerson(personId, person);
         verify(personMapper).toResponseDto(updatedPerson);
     }
+
+    @Test
+    void importPersons_ShouldReportRejectedRowsByPosition() {
+
+        PersonRequestDto duplicatedRequest = new PersonRequestDto();
+        duplicatedRequest.setName("Maria Santos");
+        duplicatedRequest.setCpf("123.456.789-00");
+        Person duplicatedPerson = new Person();
+        duplicatedPerson.setCpf("123.456.789-00");
+
+        when(personMapper.toEntity(personRequestDto)).thenReturn(person);
+        when(personMapper.toEntity(duplicatedRequest)).thenReturn(duplicatedPerson);
+        when(personService.importPersons(List.of(person, duplicatedPerson)))
+                .thenReturn(Map.of(1, "Já existe uma pessoa cadastrada com o CPF: 123.456.789-00"));
+
+        BulkImportResponseDto result = personUseCase.importPersons(
+                Arrays.asList(personRequestDto, duplicatedRequest).iterator());
+
+        assertEquals(2, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals("123.456.789-00", result.getErrors().get(0).getCpf());
+    }
+
+    @Test
+    void importPersons_ShouldNotReportOrRetryWriteFailuresAsInvalidRecords() {
+        when(personMapper.toEntity(personRequestDto)).thenThrow(new IllegalStateException("falha ao mapear"));
+
+        assertThrows(IllegalStateException.class,
+                () -> personUseCase.importPersons(List.of(personRequestDto).iterator()));
+
+        verify(personMapper, times(1)).toEntity(personRequestDto);
+        verify(personService, never()).importPersons(any());
+    }
+
+    @Test
+    void validatePersons_ShouldApplyDomainRulesWithoutSaving() {
+
+        PersonRequestDto validRequest = new PersonRequestDto();
+        validRequest.setName("João Silva");
+        validRequest.setCpf("123.456.789-09");
+        PersonRequestDto wrongCheckDigits = new PersonRequestDto();
+        wrongCheckDigits.setName("Maria Santos");
+        wrongCheckDigits.setCpf("123.456.789-00");
+
+        PersonValidationResponseDto result = personUseCase.validatePersons(
+                Arrays.asList(validRequest, wrongCheckDigits, null).iterator());
+
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getValid());
+        assertEquals(2, result.getInvalid());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals("CPF inválido", result.getErrors().get(0).getMessage());
+        assertEquals("Registro vazio", result.getErrors().get(1).getMessage());
+        verifyNoInteractions(personService);
+    }
 }
@@ -0,0 +1,61 @@
+package com.sccon.geospatial.personapi.domain.service.impl;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonServiceImplTest {
+
+    private InMemoryPersonRepository repository;
+    private PersonServiceImpl personService;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryPersonRepository();
+        personService = new PersonServiceImpl(repository);
+    }
+
+    private Person newPerson(String name, String cpf) {
+        Person person = new Person();
+        person.setName(name);
+        person.setCpf(cpf);
+        return person;
+    }
+
+    @Test
+    void updatePerson_ShouldAcceptOwnCpfInAnotherFormat() {
+        Person saved = personService.createPerson(newPerson("João Silva", "123.456.789-09"));
+
+        Person updated = personService.updatePerson(saved.getId(), newPerson("João da Silva", "12345678909"));
+
+        assertEquals("João da Silva", updated.getName());
+        assertEquals(1L, updated.getVersion());
+    }
+
+    @Test
+    void updatePerson_ShouldRejectCpfOfAnotherPersonInAnotherFormat() {
+        personService.createPerson(newPerson("Maria Santos", "529.982.247-25"));
+        Person saved = personService.createPerson(newPerson("João Silva", "123.456.789-09"));
+
+        assertThrows(IllegalStateException.class,
+                () -> personService.updatePerson(saved.getId(), newPerson("João Silva", "52998224725")));
+    }
+
+    @Test
+    void importPersons_ShouldRejectSameCpfWithAndWithoutMaskInOneBatch() {
+        Map<Integer, String> errors = personService.importPersons(List.of(
+                newPerson("João Silva", "123.456.789-09"),
+                newPerson("João da Silva", "12345678909")));
+
+        assertEquals(Set.of(1), errors.keySet());
+        assertEquals(1, repository.count());
+        assertEquals("João Silva", repository.findByCpf("12345678909").orElseThrow().getName());
+    }
+}
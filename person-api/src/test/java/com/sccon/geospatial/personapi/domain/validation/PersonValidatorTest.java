@@ -0,0 +1,81 @@
+package com.sccon.geospatial.personapi.domain.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonValidatorTest {
+
+    private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
+
+    @Test
+    void isValidCpf_ShouldIgnoreAnyNonDigitLikeThePreviousValidation() {
+        assertTrue(PersonValidator.isValidCpf("123/456/789-09"));
+        assertTrue(PersonValidator.isValidCpf("123.456.789/09"));
+        assertTrue(PersonValidator.isValidCpf("CPF: 123 456 789 09"));
+        assertFalse(PersonValidator.isValidCpf("123/456/789-00"));
+    }
+
+    @Test
+    void isValidCpf_ShouldCheckVerificationDigits() {
+        assertTrue(PersonValidator.isValidCpf("123.456.789-09"));
+        assertTrue(PersonValidator.isValidCpf("12345678909"));
+        assertTrue(PersonValidator.isValidCpf("987.654.321-00"));
+        assertTrue(PersonValidator.isValidCpf(new StringBuilder("111.222.333-96")));
+
+        assertFalse(PersonValidator.isValidCpf("123.456.789-00"));
+        assertFalse(PersonValidator.isValidCpf("123.456.789-90"));
+        assertFalse(PersonValidator.isValidCpf("111.111.111-11"));
+        assertFalse(PersonValidator.isValidCpf("1234567890"));
+        assertFalse(PersonValidator.isValidCpf("123456789091"));
+        assertFalse(PersonValidator.isValidCpf(null));
+    }
+
+    @Test
+    void isValidPhone_ShouldCountDigitsOnly() {
+        assertTrue(PersonValidator.isValidPhone("(11) 99999-9999"));
+        assertTrue(PersonValidator.isValidPhone("1133334444"));
+
+        assertFalse(PersonValidator.isValidPhone("(11) 9999-999"));
+        assertFalse(PersonValidator.isValidPhone("+55 (11) 99999-9999"));
+    }
+
+    @Test
+    void isValidEmail_ShouldMatchPreviousRegex() {
+        assertTrue(PersonValidator.isValidEmail("joao.silva@email.com"));
+        assertFalse(PersonValidator.isValidEmail("joao@email.c"));
+        assertFalse(PersonValidator.isValidEmail("joao@@email.com"));
+        assertFalse(PersonValidator.isValidEmail("@email.com"));
+
+        // Alfabeto pequeno para gerar tanto emails válidos quanto quase válidos
+        char[] alphabet = "ab1@.-_+ Zç".toCharArray();
+        Random random = new Random(42);
+        StringBuilder email = new StringBuilder();
+        for (int n = 0; n < 200_000; n++) {
+            email.setLength(0);
+            int length = random.nextInt(12);
+            for (int i = 0; i < length; i++) {
+                email.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            assertEquals(EMAIL.matcher(email).matches(), PersonValidator.isValidEmail(email), email::toString);
+        }
+    }
+
+    @Test
+    void firstViolation_ShouldKeepRuleOrderAndMessages() {
+        assertNull(PersonValidator.firstViolation(" João Silva ", "123.456.789-09", "(11) 99999-9999", "joao@email.com"));
+        assertNull(PersonValidator.firstViolation("João Silva", "123.456.789-09", " ", ""));
+
+        assertEquals(PersonValidator.NAME_REQUIRED, PersonValidator.firstViolation("  ", "x", null, null));
+        assertEquals(PersonValidator.NAME_TOO_SHORT, PersonValidator.firstViolation(" J ", null, null, null));
+        assertEquals(PersonValidator.NAME_TOO_LONG, PersonValidator.firstViolation("J".repeat(101), null, null, null));
+        assertEquals(PersonValidator.CPF_REQUIRED, PersonValidator.firstViolation("João Silva", " ", null, null));
+        assertEquals(PersonValidator.CPF_INVALID, PersonValidator.firstViolation("João Silva", "123.456.789-00", null, "x"));
+        assertEquals(PersonValidator.EMAIL_INVALID, PersonValidator.firstViolation("João Silva", "123.456.789-09", "1", "x"));
+        assertEquals(PersonValidator.PHONE_INVALID, PersonValidator.firstViolation("João Silva", "123.456.789-09", "1", null));
+        assertEquals(PersonValidator.NULL_PERSON, PersonValidator.firstViolation(null));
+    }
+}
@@ -0,0 +1,76 @@
+package com.sccon.geospatial.personapi.infrastructure.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditRingBufferTest {
+
+    @Test
+    void offer_ShouldRejectWhenFullUntilConsumerDrains() {
+        AuditRingBuffer ring = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i, AuditAction.CREATE, "/person", String.valueOf(i), 201, 0));
+        }
+
+        assertFalse(ring.offer(4, AuditAction.CREATE, "/person", "4", 201, 0));
+
+        List<String> ids = new ArrayList<>();
+        assertEquals(2, ring.drain(event -> ids.add(event.id), 2));
+        assertTrue(ring.offer(5, AuditAction.DELETE, "/person/{id}", "5", 204, 0));
+        assertEquals(3, ring.drain(event -> ids.add(event.id), 10));
+        assertEquals(List.of("0", "1", "2", "3", "5"), ids);
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    void offer_ShouldNotLoseOrDuplicateEventsFromConcurrentProducers() throws Exception {
+        AuditRingBuffer ring = new AuditRingBuffer(64);
+        int producers = 4;
+        int perProducer = 20_000;
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (!ring.offer(i, AuditAction.UPDATE, "/person/{id}", producer + ":" + i, 200, 0)) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<String> received = new HashSet<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        while (done.getCount() > 0 || ring.size() > 0) {
+            ring.drain(event -> {
+                if (!received.add(event.id)) {
+                    duplicates.incrementAndGet();
+                }
+            }, 32);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(0, duplicates.get());
+        assertEquals(producers * perProducer, received.size() + rejected.get());
+    }
+
+    @Test
+    void constructor_ShouldRequirePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(1000));
+    }
+}
@@ -0,0 +1,129 @@
+package com.sccon.geospatial.personapi.infrastructure.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditTrailTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private AuditTrail trail(Path file, int capacity, double readSampleRate, DataSize maxFileSize) {
+        return new AuditTrail(file, capacity, 16, readSampleRate, maxFileSize, 2,
+                new StaticListableBeanFactory(Map.of("meterRegistry", registry)).getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void record_ShouldWriteWritesAsJsonLinesAndSkipUnsampledReads() throws Exception {
+        Path file = directory.resolve("audit.log");
+        AuditTrail trail = trail(file, 1024, 0.0, DataSize.ofMegabytes(1));
+        trail.start();
+
+        trail.record(AuditAction.CREATE, "/api/v1/persons", null, 201, 1_500_000);
+        trail.record(AuditAction.READ, "/api/v1/persons/{id}", "1", 200, 10_000);
+        trail.record(AuditAction.UPDATE, "/person/{id}", "a\"b", 412, 0);
+        trail.stop();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).matches("\\{\"ts\":\"[^\"]+Z\",\"action\":\"CREATE\",\"resource\":\"/api/v1/persons\","
+                + "\"id\":null,\"status\":201,\"durationMicros\":1500}"), lines.get(0));
+        assertTrue(lines.get(1).contains("\"action\":\"UPDATE\",\"resource\":\"/person/{id}\",\"id\":\"a\\\"b\",\"status\":412"),
+                lines.get(1));
+        assertEquals(2, trail.writtenCount());
+        assertEquals(0, trail.droppedCount());
+    }
+
+    @Test
+    void record_ShouldCountDropsInsteadOfBlockingWhenBufferIsFull() throws Exception {
+        AuditTrail trail = trail(directory.resolve("audit.log"), 2, 1.0, DataSize.ofMegabytes(1));
+
+        // Sem consumidor ativo o anel enche na terceira chamada
+        for (int i = 0; i < 5; i++) {
+            trail.record(AuditAction.READ, "/person/{id}", String.valueOf(i), 200, 0);
+        }
+
+        assertEquals(3, trail.droppedCount());
+        assertEquals(3, registry.get("personapi.audit.dropped").functionCounter().count());
+        assertEquals(2, registry.get("personapi.audit.pending").gauge().value());
+        trail.start();
+        trail.stop();
+        assertEquals(2, trail.writtenCount());
+    }
+
+    @Test
+    void record_ShouldRollFileBySizeKeepingHistory() throws Exception {
+        Path file = directory.resolve("audit.log");
+        AuditTrail trail = trail(file, 1024, 1.0, DataSize.ofBytes(300));
+        trail.start();
+
+        for (int i = 0; i < 50; i++) {
+            trail.record(AuditAction.DELETE, "/person/{id}", String.valueOf(i), 204, 0);
+            if (i % 5 == 4) {
+                // Lotes pequenos para que a rotação aconteça entre gravações
+                long expected = i + 1;
+                while (trail.writtenCount() < expected) {
+                    Thread.sleep(1);
+                }
+            }
+        }
+        trail.stop();
+
+        assertTrue(Files.exists(RollingAuditFile.history(file, 1)));
+        assertTrue(Files.exists(RollingAuditFile.history(file, 2)));
+        assertFalse(Files.exists(RollingAuditFile.history(file, 3)));
+        assertTrue(Files.readAllLines(file).get(Files.readAllLines(file).size() - 1).contains("\"id\":\"49\""));
+    }
+
+    @Test
+    void record_AfterIdle_ShouldWakeTheWriterWithoutWaitingForTheIdleTimeout() throws Exception {
+        AuditTrail trail = trail(directory.resolve("audit.log"), 1024, 1.0, DataSize.ofMegabytes(1));
+        trail.start();
+        Thread.sleep(50);
+
+        long startedAt = System.nanoTime();
+        trail.record(AuditAction.CREATE, "/person", "1", 201, 0);
+        while (trail.writtenCount() < 1 && System.nanoTime() - startedAt < 5_000_000_000L) {
+            Thread.sleep(1);
+        }
+        trail.stop();
+
+        assertEquals(1, trail.writtenCount());
+        assertTrue(System.nanoTime() - startedAt < 500_000_000L);
+    }
+
+    @Test
+    void rollingFile_AfterFailedRoll_ShouldKeepWritingToTheCurrentFile() throws Exception {
+        Path file = directory.resolve("audit.log");
+        // Um diretório não vazio no lugar do histórico faz a rotação falhar
+        Files.createDirectories(RollingAuditFile.history(file, 1).resolve("bloqueio"));
+
+        try (RollingAuditFile rolling = new RollingAuditFile(file, 8, 1)) {
+            rolling.write(ByteBuffer.wrap("primeira\n".getBytes(StandardCharsets.UTF_8)));
+            assertThrows(IOException.class,
+                    () -> rolling.write(ByteBuffer.wrap("perdida\n".getBytes(StandardCharsets.UTF_8))));
+            // O canal continua utilizável: removido o obstáculo, a rotação seguinte dá certo
+            Files.delete(RollingAuditFile.history(file, 1).resolve("bloqueio"));
+            rolling.write(ByteBuffer.wrap("segunda\n".getBytes(StandardCharsets.UTF_8)));
+        }
+
+        assertEquals(List.of("primeira"), Files.readAllLines(RollingAuditFile.history(file, 1)));
+        assertEquals(List.of("segunda"), Files.readAllLines(file));
+    }
+}
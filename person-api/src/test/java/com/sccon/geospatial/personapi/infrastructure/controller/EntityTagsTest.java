@@ -0,0 +1,52 @@
+package com.sccon.geospatial.personapi.infrastructure.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTagsTest {
+
+    @Test
+    void matches_ShouldAcceptListsWildcardAndWeakPrefix() {
+        String tag = EntityTags.entity(1L, 2L);
+
+        assertTrue(EntityTags.matches(tag, tag));
+        assertTrue(EntityTags.matches("\"x\", " + tag, tag));
+        assertTrue(EntityTags.matches("W/" + tag, tag));
+        assertTrue(EntityTags.matches("*", tag));
+        assertFalse(EntityTags.matches(EntityTags.entity(1L, 1L), tag));
+        assertFalse(EntityTags.matches(null, tag));
+    }
+
+    @Test
+    void ifMatch_ShouldAcceptOnlyStrongTagOfCurrentVersion() {
+        Predicate<Long> precondition = EntityTags.ifMatch("\"x\", " + EntityTags.entity(1L, 2L), 1L);
+
+        assertTrue(precondition.test(2L));
+        assertFalse(precondition.test(3L));
+        assertFalse(precondition.test(null));
+        assertFalse(EntityTags.ifMatch("W/" + EntityTags.entity(1L, 2L), 1L).test(2L));
+        assertFalse(EntityTags.ifMatch(EntityTags.entity(1L, 2L), 7L).test(2L));
+        assertNull(EntityTags.ifMatch("*", 1L));
+        assertNull(EntityTags.ifMatch(null, 1L));
+    }
+
+    @Test
+    void entityAndCollectionTags_ShouldNotCollide() {
+        assertNotEquals(EntityTags.entity(1L, 2L), EntityTags.entity(12L, 0L));
+        assertNotEquals(EntityTags.collection(1L), EntityTags.entity(1L, 0L));
+    }
+
+    @Test
+    void collectionTagOfDay_ShouldChangeWithTheDayWithoutWrites() {
+        LocalDate today = LocalDate.of(2026, 3, 1);
+        String tag = EntityTags.collection(5L, today);
+
+        assertFalse(EntityTags.matches(tag, EntityTags.collection(5L, today.plusDays(1))));
+        assertFalse(EntityTags.matches(tag, EntityTags.collection(5L)));
+        assertTrue(EntityTags.matches(tag, EntityTags.collection(5L, today)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.sccon.geospatial.personapi.infrastructure.controller;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MemoryMapController.class)
+class MemoryMapControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemoryPersonRepository repository;
+
+    @TestConfiguration
+    static class TestConfig {
+
+        @Bean
+        public InMemoryPersonRepository inMemoryPersonRepository() {
+            return new InMemoryPersonRepository();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (Person person : repository.findAll()) {
+            repository.deleteById(person.getId());
+        }
+        for (int i = 0; i < 3; i++) {
+            Person person = new Person();
+            person.setName("Pessoa " + i);
+            person.setCpf(String.format("%011d", i + 1));
+            repository.save(person);
+        }
+    }
+
+    @Test
+    void getMemoryMapStats_ShouldReturnSummaryWithoutIds() throws Exception {
+        mockMvc.perform(get("/api/v1/memory-map/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entries").value(3))
+                .andExpect(jsonPath("$.sampledEntries").value(3))
+                .andExpect(jsonPath("$.ids").doesNotExist());
+    }
+
+    @Test
+    void getMemoryMapContent_ShouldPageByCursor() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/v1/memory-map/content").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn();
+        String cursor = com.jayway.jsonpath.JsonPath.read(first.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/api/v1/memory-map/content").param("limit", "2").param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+
+        mockMvc.perform(get("/api/v1/memory-map/content").param("limit", "5000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamMemoryMapContent_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/memory-map/content/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string(matchesPattern("(?s)(\\{\"id\":\\d+,[^\n]*\\}\n){3}")));
+    }
+}
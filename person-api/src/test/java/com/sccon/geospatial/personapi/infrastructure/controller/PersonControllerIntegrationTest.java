@@ -1,8 +1,15 @@
 package com.sccon.geospatial.personapi.infrastructure.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sccon.geospatial.personapi.application.dto.BulkImportResponseDto;
+import com.sccon.geospatial.personapi.application.dto.PageResponseDto;
 import com.sccon.geospatial.personapi.application.dto.PersonRequestDto;
+import com.sccon.geospatial.personapi.application.dto.PersonResponseDto;
+import com.sccon.geospatial.personapi.application.dto.PersonStatsResponseDto;
+import com.sccon.geospatial.personapi.application.dto.PersonValidationResponseDto;
+import com.sccon.geospatial.personapi.application.dto.Versioned;
 import com.sccon.geospatial.personapi.application.usecase.PersonUseCase;
+import com.sccon.geospatial.personapi.domain.exception.VersionConflictException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,11 +20,24 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.Iterator;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -63,6 +83,105 @@ class PersonControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getPersonById_ShouldReturnNotModified_WhenIfNoneMatchHasCurrentVersion() throws Exception {
+        // Given
+        PersonResponseDto person = new PersonResponseDto();
+        person.setId(1L);
+        person.setName("João Silva");
+        when(mockPersonUseCase.findPersonById(eq(1L), any())).thenAnswer(invocation -> {
+            Predicate<Long> notModified = invocation.getArgument(1);
+            Versioned<PersonResponseDto> result = notModified.test(3L) ? Versioned.notModified(3L) : new Versioned<>(3L, person);
+            return CompletableFuture.completedFuture(Optional.of(result));
+        });
+
+        // When
+        MvcResult first = mockMvc.perform(get("/api/v1/persons/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String etag = mockMvc.perform(asyncDispatch(first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("João Silva"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        MvcResult second = mockMvc.perform(get("/api/v1/persons/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"outra\", " + etag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        assertNotNull(etag);
+        mockMvc.perform(asyncDispatch(second))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updatePerson_ShouldReturnPreconditionFailed_WhenIfMatchIsStale() throws Exception {
+        // Given
+        PersonRequestDto requestDto = new PersonRequestDto();
+        requestDto.setName("João Silva");
+        requestDto.setCpf("123.456.789-00");
+        when(mockPersonUseCase.updatePerson(eq(1L), any(PersonRequestDto.class), any())).thenAnswer(invocation -> {
+            Predicate<Long> expectedVersion = invocation.getArgument(2);
+            if (!expectedVersion.test(4L)) {
+                return CompletableFuture.failedFuture(new RuntimeException(new VersionConflictException(1L, 4L)));
+            }
+            return CompletableFuture.completedFuture(new Versioned<>(5L, new PersonResponseDto()));
+        });
+
+        // When
+        MvcResult stale = mockMvc.perform(put("/api/v1/persons/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, EntityTags.entity(1L, 3L))
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult current = mockMvc.perform(put("/api/v1/persons/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, EntityTags.entity(1L, 4L))
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(stale))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(asyncDispatch(current))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, EntityTags.entity(1L, 5L)));
+    }
+
+    @Test
+    void getAllPersons_ShouldReturnNotModified_WithoutListing_WhenCollectionIsUnchanged() throws Exception {
+        // Given
+        when(mockPersonUseCase.modificationCount()).thenReturn(7L);
+        when(mockPersonUseCase.listAllPersons())
+                .thenReturn(CompletableFuture.completedFuture(java.util.List.of()));
+        MvcResult first = mockMvc.perform(get("/api/v1/persons"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String etag = mockMvc.perform(asyncDispatch(first))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        MvcResult second = mockMvc.perform(get("/api/v1/persons").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(second))
+                .andExpect(status().isNotModified());
+        verify(mockPersonUseCase, times(1)).listAllPersons();
+
+        when(mockPersonUseCase.modificationCount()).thenReturn(8L);
+        MvcResult changed = mockMvc.perform(get("/api/v1/persons").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(changed))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void getAllPersons_ShouldReturnOk_WhenCalled() throws Exception {
         // Given
@@ -87,4 +206,125 @@ class PersonControllerIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getAllPersons_ShouldReturnPage_WhenLimitIsGiven() throws Exception {
+        // Given
+        when(mockPersonUseCase.listPersonsPage(null, 2))
+                .thenReturn(CompletableFuture.completedFuture(new PageResponseDto<>(java.util.List.of(), "aWQ6Mg")));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/persons")
+                        .param("limit", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("aWQ6Mg"));
+    }
+
+    @Test
+    void getAllPersons_ShouldReturnBadRequest_WhenCursorIsInvalid() throws Exception {
+        // Given
+        when(mockPersonUseCase.listPersonsPage("invalido", null))
+                .thenThrow(new IllegalArgumentException("Cursor inválido: invalido"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/persons")
+                        .param("after", "invalido"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportPersons_ShouldStreamOneJsonObjectPerLine() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<PersonResponseDto> sink = invocation.getArgument(0);
+            sink.accept(PersonResponseDto.builder().id(1L).name("João Silva").build());
+            sink.accept(PersonResponseDto.builder().id(2L).name("Maria Santos").build());
+            return null;
+        }).when(mockPersonUseCase).exportPersons(any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/persons/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(content().string(org.hamcrest.Matchers.matchesPattern(
+                        "(?s)\\{\"id\":1,.*\"João Silva\".*\\}\n\\{\"id\":2,.*\"Maria Santos\".*\\}\n")));
+    }
+
+    @Test
+    void importPersons_ShouldAcceptJsonArrayAndNdjson() throws Exception {
+        // Given
+        when(mockPersonUseCase.importPersons(any())).thenAnswer(invocation -> {
+            Iterator<PersonRequestDto> rows = invocation.getArgument(0);
+            BulkImportResponseDto result = new BulkImportResponseDto();
+            rows.forEachRemaining(row -> result.setReceived(result.getReceived() + 1));
+            return result;
+        });
+        String first = "{\"name\":\"João Silva\",\"cpf\":\"123.456.789-00\"}";
+        String second = "{\"name\":\"Maria Santos\",\"cpf\":\"987.654.321-00\"}";
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/persons/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + first + "," + second + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2));
+
+        mockMvc.perform(post("/api/v1/persons/bulk")
+                        .contentType("application/x-ndjson")
+                        .content(first + "\n" + second + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2));
+    }
+
+    @Test
+    void validatePersons_ShouldStreamBodyToUseCase() throws Exception {
+        // Given
+        when(mockPersonUseCase.validatePersons(any())).thenAnswer(invocation -> {
+            Iterator<PersonRequestDto> rows = invocation.getArgument(0);
+            PersonValidationResponseDto result = new PersonValidationResponseDto();
+            rows.forEachRemaining(row -> result.setReceived(result.getReceived() + 1));
+            result.setValid(result.getReceived());
+            return result;
+        });
+        String first = "{\"name\":\"João Silva\",\"cpf\":\"123.456.789-09\"}";
+        String second = "{\"name\":\"Maria Santos\",\"cpf\":\"987.654.321-00\"}";
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/persons/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + first + "," + second + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.valid").value(2));
+        verify(mockPersonUseCase, never()).importPersons(any());
+    }
+
+
+    @Test
+    void getPersonStats_ShouldReturnAggregates() throws Exception {
+        // Given
+        when(mockPersonUseCase.getPersonStats())
+                .thenReturn(CompletableFuture.completedFuture(new PersonStatsResponseDto(3,
+                        java.util.Map.of("email.com", 3L), java.util.Map.of("11", 2L, "21", 1L))));
+
+        // When & Then
+        MvcResult result = mockMvc.perform(get("/api/v1/persons/stats"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byEmailDomain['email.com']").value(3))
+                .andExpect(jsonPath("$.byAreaCode['11']").value(2));
+    }
 }
@@ -0,0 +1,84 @@
+package com.sccon.geospatial.personapi.infrastructure.metrics;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.repository.PersonRepository;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private PersonRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = OperationMetrics.instrument(registry, PersonRepository.class,
+                new InMemoryPersonRepository(), "repository", "memory", true);
+    }
+
+    private Timer timer(String operation) {
+        return registry.get(OperationMetrics.TIMER)
+                .tags("layer", "repository", "component", "PersonRepository", "store", "memory", "operation", operation)
+                .timer();
+    }
+
+    @Test
+    void instrument_ShouldTimeEachOperationWithPercentiles() {
+        Person person = new Person();
+        person.setName("João Silva");
+        person.setCpf("123.456.789-00");
+
+        Person saved = repository.save(person);
+        repository.findById(saved.getId());
+        repository.findById(saved.getId() + 1);
+
+        assertEquals(1, timer("save").count());
+        assertEquals(2, timer("findById").count());
+        assertEquals(0, timer("deleteById").count());
+        assertArrayEquals(new double[]{0.5, 0.99, 0.999},
+                Arrays.stream(timer("findById").takeSnapshot().percentileValues())
+                        .mapToDouble(ValueAtPercentile::percentile).toArray());
+        assertEquals(0, registry.get(OperationMetrics.ACTIVE).tags("operation", "findById").gauge().value());
+    }
+
+    @Test
+    void instrument_ShouldCountFailuresByExceptionType() {
+        assertThrows(NullPointerException.class, () -> repository.findById(null));
+
+        assertEquals(1, timer("findById").count());
+        assertEquals(1, registry.get(OperationMetrics.ERRORS)
+                .tags("operation", "findById", "exception", "NullPointerException")
+                .counter().count());
+    }
+
+    @Test
+    void instrument_ShouldMeasureFuturesUntilCompletion() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        @SuppressWarnings("unchecked")
+        Supplier<CompletableFuture<String>> async = OperationMetrics.instrument(registry, Supplier.class,
+                (Supplier<CompletableFuture<String>>) () -> pending, "usecase", "memory", false);
+
+        assertSame(pending, async.get());
+        Gauge active = registry.get(OperationMetrics.ACTIVE).tags("operation", "get").gauge();
+        assertEquals(1, active.value());
+        assertEquals(0, registry.get(OperationMetrics.TIMER).tags("operation", "get").timer().count());
+
+        pending.completeExceptionally(new IllegalStateException("falha"));
+
+        assertEquals(0, active.value());
+        assertEquals(1, registry.get(OperationMetrics.TIMER).tags("operation", "get").timer().count());
+        assertEquals(1, registry.get(OperationMetrics.ERRORS).tags("exception", "IllegalStateException").counter().count());
+    }
+}
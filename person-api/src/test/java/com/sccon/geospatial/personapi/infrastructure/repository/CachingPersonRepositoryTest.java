@@ -0,0 +1,130 @@
+package com.sccon.geospatial.personapi.infrastructure.repository;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.repository.PersonRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingPersonRepositoryTest {
+
+    @Mock
+    private PersonRepository delegate;
+
+    private CachingPersonRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingPersonRepository(delegate, 100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+    }
+
+    private static Person person(Long id, String name, String cpf) {
+        Person person = new Person();
+        person.setId(id);
+        person.setName(name);
+        person.setCpf(cpf);
+        return person;
+    }
+
+    @Test
+    void findById_ShouldLoadOnceAndCacheMissingIds() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(person(1L, "João Silva", "123.456.789-00")));
+        when(delegate.findById(2L)).thenReturn(Optional.empty());
+
+        assertEquals("João Silva", repository.findById(1L).orElseThrow().getName());
+        assertEquals("João Silva", repository.findById(1L).orElseThrow().getName());
+        assertTrue(repository.findById(2L).isEmpty());
+        assertTrue(repository.findById(2L).isEmpty());
+
+        verify(delegate, times(1)).findById(1L);
+        verify(delegate, times(1)).findById(2L);
+    }
+
+    @Test
+    void findById_ShouldNotExposeCachedInstanceToCallers() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(person(1L, "João Silva", "123.456.789-00")));
+
+        repository.findById(1L).orElseThrow().setName("Alterado Sem Salvar");
+
+        assertEquals("João Silva", repository.findById(1L).orElseThrow().getName());
+    }
+
+    @Test
+    void save_ShouldInvalidateIdAndNegativeEntryOfNewId() {
+        when(delegate.findById(3L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(person(3L, "Maria Santos", "987.654.321-00")));
+        when(delegate.save(any(Person.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertTrue(repository.findById(3L).isEmpty());
+        repository.save(person(3L, "Maria Santos", "987.654.321-00"));
+
+        assertEquals("Maria Santos", repository.findById(3L).orElseThrow().getName());
+    }
+
+    @Test
+    void findByCpf_AfterCpfChange_ShouldNotReturnPersonUnderOldCpf() {
+        when(delegate.findByCpf("123.456.789-00"))
+                .thenReturn(Optional.of(person(1L, "João Silva", "123.456.789-00")))
+                .thenReturn(Optional.empty());
+        when(delegate.findByCpf("111.222.333-44"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(person(1L, "João Silva", "111.222.333-44")));
+        when(delegate.findById(1L))
+                .thenReturn(Optional.of(person(1L, "João Silva", "123.456.789-00")))
+                .thenReturn(Optional.of(person(1L, "João Silva", "111.222.333-44")));
+        when(delegate.save(any(Person.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertTrue(repository.existsByCpf("123.456.789-00"));
+        assertFalse(repository.existsByCpf("111.222.333-44"));
+
+        Person changed = repository.findById(1L).orElseThrow();
+        changed.setCpf("111.222.333-44");
+        repository.save(changed);
+
+        assertTrue(repository.findByCpf("123.456.789-00").isEmpty());
+        // A entrada negativa do novo CPF também foi invalidada
+        assertTrue(repository.existsByCpf("111.222.333-44"));
+        verify(delegate, times(2)).findByCpf("111.222.333-44");
+    }
+
+    @Test
+    void deleteById_ShouldInvalidateIdAndCpf() {
+        when(delegate.findById(1L))
+                .thenReturn(Optional.of(person(1L, "João Silva", "123.456.789-00")))
+                .thenReturn(Optional.empty());
+        when(delegate.findByCpf("123.456.789-00")).thenReturn(Optional.of(person(1L, "João Silva", "123.456.789-00")));
+
+        assertTrue(repository.findByCpf("123.456.789-00").isPresent());
+        repository.deleteById(1L);
+
+        assertTrue(repository.findById(1L).isEmpty());
+        verify(delegate).deleteById(1L);
+    }
+
+    @Test
+    void bindMetrics_ShouldExposeHitRatioAndLoadLatency() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        repository.bindMetrics(registry);
+        when(delegate.findById(1L)).thenReturn(Optional.of(person(1L, "João Silva", "123.456.789-00")));
+
+        for (int i = 0; i < 4; i++) {
+            repository.findById(1L);
+        }
+
+        assertEquals(0.75, registry.get("cache.hit.ratio").tag("cache", "persons.byId").gauge().value());
+        assertEquals(1, registry.get("cache.load.duration").tag("cache", "persons.byId").functionTimer().count());
+        assertNotNull(registry.get("cache.evictions").tag("cache", "persons.byId").functionCounter());
+    }
+}
@@ -0,0 +1,206 @@
+package com.sccon.geospatial.personapi.infrastructure.repository;
+
+import com.sccon.geospatial.personapi.domain.model.Pessoa;
+import com.sccon.geospatial.personapi.domain.repository.PessoaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarPessoaRepositoryTest {
+
+    static {
+        // Nos JDKs recentes o JOL só obtém offsets de campos de classes do JDK por este caminho
+        System.setProperty("jol.magicFieldOffset", "true");
+    }
+
+    private ColumnarPessoaRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ColumnarPessoaRepository();
+    }
+
+    private static Pessoa novaPessoa(Long id, String nome) {
+        return new Pessoa(id, nome, LocalDate.of(1990, 1, 1), LocalDate.of(2020, 1, 1));
+    }
+
+    private List<String> nomesOrdenados() {
+        return repository.findAllOrderByNome().stream()
+                .map(Pessoa::getNome)
+                .toList();
+    }
+
+    @Test
+    void findById_DeveMontarPessoaComOsValoresGravados() {
+        repository.save(new Pessoa(1L, "José da Silva", LocalDate.of(2000, 4, 6), null));
+
+        Pessoa pessoa = repository.findById(1L).orElseThrow();
+
+        assertEquals("José da Silva", pessoa.getNome());
+        assertEquals(LocalDate.of(2000, 4, 6), pessoa.getDataNascimento());
+        assertNull(pessoa.getDataAdmissao());
+        assertTrue(repository.findById(2L).isEmpty());
+    }
+
+    @Test
+    void findAllOrderByNome_DeveOrdenarConformeCollationEAcompanharAlteracoes() {
+        repository.save(novaPessoa(1L, "Pedro Oliveira"));
+        repository.save(novaPessoa(2L, "Álvaro Souza"));
+        repository.save(novaPessoa(3L, "ana Lima"));
+        repository.save(novaPessoa(4L, "Bruno Costa"));
+
+        assertEquals(List.of("Álvaro Souza", "ana Lima", "Bruno Costa", "Pedro Oliveira"), nomesOrdenados());
+
+        repository.save(novaPessoa(4L, "Zeca Pagodinho"));
+        repository.deleteById(2L);
+
+        assertEquals(List.of("ana Lima", "Pedro Oliveira", "Zeca Pagodinho"), nomesOrdenados());
+    }
+
+    @Test
+    void deleteById_DeveMoverUltimaLinhaSemPerderDados() {
+        for (long id = 1; id <= 5; id++) {
+            repository.save(novaPessoa(id, "Pessoa " + id));
+        }
+
+        repository.deleteById(2L);
+        repository.deleteById(9L);
+
+        assertEquals(4, repository.count());
+        assertFalse(repository.existsById(2L));
+        assertEquals("Pessoa 5", repository.findById(5L).orElseThrow().getNome());
+        assertEquals(List.of(1L, 3L, 4L, 5L),
+                repository.findPageAfterId(null, 10).stream().map(Pessoa::getId).toList());
+        assertEquals(List.of(4L, 5L),
+                repository.findPageAfterId(3L, 10).stream().map(Pessoa::getId).toList());
+    }
+
+    @Test
+    void save_ComRenomeacoesRepetidas_DeveCompactarTabelaDeNomes() {
+        repository.save(novaPessoa(1L, "Maria Santos"));
+        repository.save(novaPessoa(2L, "João Silva"));
+
+        for (int i = 0; i < 5_000; i++) {
+            repository.save(novaPessoa(1L, "Maria Santos " + i));
+        }
+
+        assertEquals("Maria Santos 4999", repository.findById(1L).orElseThrow().getNome());
+        assertEquals("João Silva", repository.findById(2L).orElseThrow().getNome());
+    }
+
+    @Test
+    void save_DeveIncrementarVersaoMesmoAposMoverLinha() {
+        repository.save(novaPessoa(1L, "José da Silva"));
+        repository.save(novaPessoa(2L, "Maria Santos"));
+        repository.save(novaPessoa(2L, "Maria Souza"));
+        assertEquals(1L, repository.findById(2L).orElseThrow().getVersao());
+
+        // A remoção move a última linha (ID 2) para a linha do ID 1, com a versão
+        repository.deleteById(1L);
+        assertEquals(1L, repository.findById(2L).orElseThrow().getVersao());
+        assertEquals(2L, repository.save(novaPessoa(2L, "Maria Lima")).getVersao());
+        assertEquals(5L, repository.modificationCount());
+    }
+
+    @Test
+    void replace_ComVersaoDesatualizada_NaoDeveGravar() {
+        repository.save(novaPessoa(1L, "José da Silva"));
+        Pessoa lida = repository.findById(1L).orElseThrow();
+        repository.save(novaPessoa(1L, "José Souza"));
+
+        assertTrue(repository.replace(lida, novaPessoa(null, "José Lima")).isEmpty());
+        Pessoa atual = repository.findById(1L).orElseThrow();
+        assertEquals(2L, repository.replace(atual, novaPessoa(null, "José Lima")).orElseThrow().getVersao());
+        assertEquals("José Lima", repository.findById(1L).orElseThrow().getNome());
+    }
+
+    @Test
+    void getNextId_DeveContinuarAPartirDoMaiorIdExplicito() {
+        repository.save(novaPessoa(10L, "Maria Santos"));
+
+        Pessoa semId = repository.save(novaPessoa(null, "Ana Lima"));
+
+        assertEquals(11L, semId.getId());
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void saveAll_DeveGravarLoteComIdsExplicitosEGerados() {
+        repository.save(novaPessoa(5L, "Zeca Souza"));
+
+        repository.saveAll(List.of(novaPessoa(null, "Bruno Alves"), novaPessoa(3L, "Ana Lima"),
+                novaPessoa(5L, "Carla Dias")));
+
+        assertEquals(3, repository.count());
+        assertEquals(List.of("Ana Lima", "Bruno Alves", "Carla Dias"),
+                repository.findAllOrderByNome().stream().map(Pessoa::getNome).toList());
+        assertEquals(List.of(3L, 5L, 6L),
+                repository.findPageAfterId(null, 10).stream().map(Pessoa::getId).toList());
+    }
+
+    @Test
+    void consultasPorIntervalo_DevemCoincidirComOMapa() {
+        InMemoryPessoaRepository mapa = new InMemoryPessoaRepository();
+        preencher(mapa, 2_000);
+        preencher(repository, 2_000);
+        repository.deleteById(7L);
+        mapa.deleteById(7L);
+
+        LocalDate de = LocalDate.of(1975, 1, 1);
+        LocalDate ate = LocalDate.of(1980, 6, 30);
+        assertEquals(mapa.findByDataNascimentoBetween(de, ate), repository.findByDataNascimentoBetween(de, ate));
+        assertEquals(mapa.findByDataNascimentoBetween(null, de), repository.findByDataNascimentoBetween(null, de));
+        assertEquals(mapa.findByDataAdmissaoBetween(LocalDate.of(2010, 1, 1), null),
+                repository.findByDataAdmissaoBetween(LocalDate.of(2010, 1, 1), null));
+        assertEquals(mapa.findByAniversarioBetween(MonthDay.of(12, 25), MonthDay.of(1, 5)),
+                repository.findByAniversarioBetween(MonthDay.of(12, 25), MonthDay.of(1, 5)));
+        assertFalse(repository.findByAniversarioBetween(MonthDay.of(12, 25), MonthDay.of(1, 5)).isEmpty());
+    }
+
+    @Test
+    void findAllDataAdmissaoEpochDay_DeveCoincidirComOMapaSemAsDatasNulas() {
+        InMemoryPessoaRepository mapa = new InMemoryPessoaRepository();
+        preencher(mapa, 500);
+        preencher(repository, 500);
+        repository.deleteById(7L);
+        mapa.deleteById(7L);
+        repository.save(new Pessoa(501L, "Sem Admissão", LocalDate.of(1990, 1, 1), null));
+        mapa.save(new Pessoa(501L, "Sem Admissão", LocalDate.of(1990, 1, 1), null));
+
+        int[] colunar = repository.findAllDataAdmissaoEpochDay();
+        int[] doMapa = mapa.findAllDataAdmissaoEpochDay();
+        Arrays.sort(colunar);
+        Arrays.sort(doMapa);
+        assertEquals(499, colunar.length);
+        assertArrayEquals(doMapa, colunar);
+    }
+
+    @Test
+    void armazenamentoColunar_DeveOcuparMenosDaMetadeDoHeapPorLinha() {
+        int linhas = 20_000;
+        InMemoryPessoaRepository mapa = new InMemoryPessoaRepository();
+        preencher(mapa, linhas);
+        preencher(repository, linhas);
+
+        long bytesMapa = GraphLayout.parseInstance(mapa).totalSize();
+        long bytesColunar = GraphLayout.parseInstance(repository).totalSize();
+
+        assertTrue(bytesColunar * 2 < bytesMapa,
+                "colunar=" + bytesColunar + " B, mapa=" + bytesMapa + " B");
+    }
+
+    private static void preencher(PessoaRepository repository, int linhas) {
+        for (long id = 1; id <= linhas; id++) {
+            repository.save(new Pessoa(id, "Pessoa Número " + id,
+                    LocalDate.of(1970, 1, 1).plusDays(id % 15_000),
+                    LocalDate.of(2000, 1, 1).plusDays(id % 9_000)));
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.sccon.geospatial.personapi.infrastructure.repository;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.domain.model.PersonAggregates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryPersonRepositoryTest {
+
+    private InMemoryPersonRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryPersonRepository();
+    }
+
+    private Person newPerson(String name, String cpf) {
+        Person person = new Person();
+        person.setName(name);
+        person.setCpf(cpf);
+        return person;
+    }
+
+    @Test
+    void findByCpf_ShouldMatchWithAndWithoutMask() {
+        Person saved = repository.save(newPerson("João Silva", "123.456.789-00"));
+
+        Optional<Person> masked = repository.findByCpf("123.456.789-00");
+        Optional<Person> digitsOnly = repository.findByCpf("12345678900");
+
+        assertTrue(masked.isPresent());
+        assertEquals(saved.getId(), masked.get().getId());
+        assertTrue(digitsOnly.isPresent());
+        assertTrue(repository.existsByCpf("12345678900"));
+        assertFalse(repository.existsByCpf("987.654.321-00"));
+        assertFalse(repository.existsByCpf("123"));
+    }
+
+    @Test
+    void save_ShouldReindexCpf_WhenEntityIsChangedInPlace() {
+        Person saved = repository.save(newPerson("João Silva", "123.456.789-00"));
+
+        saved.setCpf("987.654.321-00");
+        repository.save(saved);
+
+        assertFalse(repository.existsByCpf("123.456.789-00"));
+        assertEquals(saved.getId(), repository.findByCpf("987.654.321-00").orElseThrow().getId());
+    }
+
+    @Test
+    void save_ShouldIncrementVersionAndModificationCount() {
+        long before = repository.modificationCount();
+        Person saved = repository.save(newPerson("João Silva", "123.456.789-00"));
+        assertEquals(0L, saved.getVersion());
+
+        saved.setName("João Souza");
+        repository.save(saved);
+        assertEquals(1L, repository.findById(saved.getId()).orElseThrow().getVersion());
+
+        repository.deleteById(saved.getId());
+        repository.deleteById(saved.getId());
+        assertEquals(before + 3, repository.modificationCount());
+    }
+
+    @Test
+    void replace_ShouldRejectStaleInstanceAndReindexNewValue() {
+        Person read = repository.save(newPerson("João Silva", "123.456.789-00"));
+        Person first = repository.replace(read, newPerson("João Souza", "987.654.321-00")).orElseThrow();
+
+        assertTrue(repository.replace(read, newPerson("João Lima", "111.222.333-44")).isEmpty());
+        assertEquals(1L, first.getVersion());
+        assertEquals(read.getCreatedAt(), first.getCreatedAt());
+        assertEquals("123.456.789-00", read.getCpf());
+        assertFalse(repository.existsByCpf("123.456.789-00"));
+        assertEquals(read.getId(), repository.findByCpf("987.654.321-00").orElseThrow().getId());
+        assertFalse(repository.existsByCpf("111.222.333-44"));
+    }
+
+    @Test
+    void deleteById_ShouldRemoveCpfFromIndex() {
+        Person saved = repository.save(newPerson("João Silva", "123.456.789-00"));
+
+        repository.deleteById(saved.getId());
+
+        assertFalse(repository.existsByCpf("123.456.789-00"));
+        assertTrue(repository.findByCpf("123.456.789-00").isEmpty());
+    }
+
+    @Test
+    void findByNameContainingIgnoreCase_ShouldIgnoreCaseAndAccents() {
+        repository.save(newPerson("João Silva", "123.456.789-00"));
+        repository.save(newPerson("Maria Santos", "987.654.321-00"));
+
+        List<Person> byFoldedName = repository.findByNameContainingIgnoreCase("joao");
+        List<Person> byAccentedName = repository.findByNameContainingIgnoreCase("SÃNTOS");
+        List<Person> byShortTerm = repository.findByNameContainingIgnoreCase("a");
+
+        assertEquals(1, byFoldedName.size());
+        assertEquals("João Silva", byFoldedName.get(0).getName());
+        assertEquals(1, byAccentedName.size());
+        assertEquals("Maria Santos", byAccentedName.get(0).getName());
+        assertEquals(2, byShortTerm.size());
+        assertTrue(repository.findByNameContainingIgnoreCase("silvana").isEmpty());
+    }
+
+    @Test
+    void findByNameContainingIgnoreCase_ShouldFollowRenamesAndDeletes() {
+        Person saved = repository.save(newPerson("João Silva", "123.456.789-00"));
+
+        saved.setName("Pedro Oliveira");
+        repository.save(saved);
+
+        assertTrue(repository.findByNameContainingIgnoreCase("silva").isEmpty());
+        assertEquals(1, repository.findByNameContainingIgnoreCase("oliveira").size());
+
+        repository.deleteById(saved.getId());
+
+        assertTrue(repository.findByNameContainingIgnoreCase("oliveira").isEmpty());
+    }
+
+    @Test
+    void findByNameContainingIgnoreCase_ShouldKeepPostingsAddedWhileOthersAreRemoved() throws Exception {
+        int inserts = 5_000;
+        // Os dois escritores compartilham o trigrama "zyx": um esvazia a posting, o outro a preenche
+        Thread churn = new Thread(() -> {
+            for (int i = 0; i < inserts; i++) {
+                Person temporary = repository.save(newPerson("Zyx Temporário", null));
+                repository.deleteById(temporary.getId());
+            }
+        });
+        churn.start();
+        for (int i = 0; i < inserts; i++) {
+            repository.save(newPerson("Zyx " + i, null));
+        }
+        churn.join();
+
+        assertEquals(inserts, repository.findByNameContainingIgnoreCase("zyx").size());
+    }
+
+    @Test
+    void findPageAfterId_ShouldWalkIdsInOrder() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(newPerson("Pessoa " + i, String.format("%011d", i + 1)));
+        }
+        repository.deleteById(3L);
+
+        List<Person> firstPage = repository.findPageAfterId(null, 2);
+        List<Person> secondPage = repository.findPageAfterId(firstPage.get(1).getId(), 2);
+        List<Person> lastPage = repository.findPageAfterId(secondPage.get(1).getId(), 2);
+
+        assertEquals(List.of(1L, 2L), firstPage.stream().map(Person::getId).toList());
+        assertEquals(List.of(4L, 5L), secondPage.stream().map(Person::getId).toList());
+        assertTrue(lastPage.isEmpty());
+    }
+
+    @Test
+    void statistics_ShouldSummarizeWithoutListingIds() {
+        MemoryMapStatistics empty = repository.statistics();
+        assertEquals(0, empty.entries());
+        assertNull(empty.minId());
+        assertEquals(0, empty.estimatedTotalBytes());
+
+        for (int i = 0; i < 1000; i++) {
+            Person person = newPerson("Pessoa " + i, String.format("%011d", i + 1));
+            person.setEmail("pessoa" + i + "@example.com");
+            repository.save(person);
+        }
+        repository.deleteById(1L);
+
+        MemoryMapStatistics stats = repository.statistics();
+
+        assertEquals(999, stats.entries());
+        assertEquals(2L, stats.minId());
+        assertEquals(1000L, stats.maxId());
+        assertEquals(1001L, stats.nextId());
+        assertEquals(InMemoryPersonRepository.HEAP_SAMPLE_SIZE, stats.sampledEntries());
+        // Pessoa, strings, datas, entradas no mapa, no skip list e nos três índices
+        assertTrue(stats.estimatedBytesPerEntry() > 500 && stats.estimatedBytesPerEntry() < 2000,
+                "estimativa por entrada: " + stats.estimatedBytesPerEntry());
+        assertEquals(stats.estimatedBytesPerEntry() * 999, stats.estimatedTotalBytes());
+    }
+
+    @Test
+    void aggregates_ShouldFollowInsertsInPlaceChangesAndDeletes() {
+        Person joao = newPerson("João Silva", "123.456.789-00");
+        joao.setEmail("joao@Email.com");
+        joao.setPhone("(11) 99999-1111");
+        repository.save(joao);
+        Person maria = newPerson("Maria Santos", "987.654.321-00");
+        maria.setEmail("maria@email.com");
+        maria.setPhone("21988882222");
+        repository.save(maria);
+        repository.save(newPerson("Pedro Oliveira", "111.222.333-44"));
+
+        PersonAggregates initial = repository.aggregates();
+        assertEquals(3, initial.getTotal());
+        assertEquals(Map.of("email.com", 2L), initial.getCountByEmailDomain());
+        assertEquals(Map.of("11", 1L, "21", 1L), initial.getCountByAreaCode());
+
+        maria.setEmail("maria@empresa.com.br");
+        maria.setPhone("(11) 98888-2222");
+        repository.save(maria);
+        repository.deleteById(joao.getId());
+
+        PersonAggregates updated = repository.aggregates();
+        assertEquals(2, updated.getTotal());
+        assertEquals(Map.of("empresa.com.br", 1L), updated.getCountByEmailDomain());
+        assertEquals(Map.of("11", 1L), updated.getCountByAreaCode());
+    }
+
+    @Test
+    void saveAll_ShouldIndexBatchAndKeepCreatedAtOfExistingPersons() {
+        Person existing = repository.save(newPerson("João Silva", "123.456.789-00"));
+        Person update = newPerson("João Silva Filho", "123.456.789-00");
+        update.setId(existing.getId());
+        Person explicitId = newPerson("Maria Santos", "987.654.321-00");
+        explicitId.setId(100L);
+
+        List<Person> batch = new ArrayList<>(List.of(update, explicitId));
+        for (int i = 0; i < 1_000; i++) {
+            batch.add(newPerson("Pessoa " + i, String.format("%011d", i + 1)));
+        }
+        repository.saveAll(batch);
+
+        assertEquals(1_002, repository.count());
+        assertEquals(existing.getCreatedAt(), repository.findById(existing.getId()).orElseThrow().getCreatedAt());
+        assertEquals(1, repository.findByNameContainingIgnoreCase("filho").size());
+        assertTrue(repository.existsByCpf("00000001000"));
+        assertEquals(1_002, repository.aggregates().getTotal());
+        // IDs explícitos avançam a sequência
+        assertTrue(repository.save(newPerson("Ana Lima", "222.333.444-55")).getId() > 100L);
+    }
+
+    @Test
+    void cpfIndex_ShouldFindEveryRemainingCpfAfterGrowthAndInterleavedDeletes() {
+        List<Person> saved = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            saved.add(repository.save(newPerson("Pessoa " + i, String.format("%011d", i + 1))));
+        }
+        for (int i = 0; i < saved.size(); i += 3) {
+            repository.deleteById(saved.get(i).getId());
+        }
+
+        for (int i = 0; i < saved.size(); i++) {
+            String cpf = String.format("%011d", i + 1);
+            if (i % 3 == 0) {
+                assertFalse(repository.existsByCpf(cpf), cpf);
+            } else {
+                assertEquals(saved.get(i).getId(), repository.findByCpf(cpf).orElseThrow().getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.sccon.geospatial.personapi.infrastructure.repository;
+
+import com.sccon.geospatial.personapi.domain.model.Pessoa;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryPessoaRepositoryTest {
+
+    private InMemoryPessoaRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryPessoaRepository();
+    }
+
+    private Pessoa novaPessoa(Long id, String nome) {
+        return new Pessoa(id, nome, LocalDate.of(1990, 1, 1), LocalDate.of(2020, 1, 1));
+    }
+
+    private List<String> nomesOrdenados() {
+        return repository.findAllOrderByNome().stream()
+                .map(Pessoa::getNome)
+                .toList();
+    }
+
+    @Test
+    void findAllOrderByNome_DeveOrdenarConformeCollationPtBr() {
+        repository.save(novaPessoa(1L, "Pedro Oliveira"));
+        repository.save(novaPessoa(2L, "Álvaro Souza"));
+        repository.save(novaPessoa(3L, "ana Lima"));
+        repository.save(novaPessoa(4L, "Bruno Costa"));
+
+        assertEquals(List.of("Álvaro Souza", "ana Lima", "Bruno Costa", "Pedro Oliveira"), nomesOrdenados());
+    }
+
+    @Test
+    void findAllOrderByNome_DeveManterNomesRepetidosEAcompanharAlteracoes() {
+        repository.save(novaPessoa(1L, "Maria Santos"));
+        Pessoa outraMaria = repository.save(novaPessoa(2L, "Maria Santos"));
+        repository.save(novaPessoa(3L, "José da Silva"));
+
+        assertEquals(List.of("José da Silva", "Maria Santos", "Maria Santos"), nomesOrdenados());
+
+        outraMaria.setNome("Ana Maria");
+        repository.save(outraMaria);
+        repository.deleteById(3L);
+
+        assertEquals(List.of("Ana Maria", "Maria Santos"), nomesOrdenados());
+    }
+
+    @Test
+    void save_DeveIncrementarVersaoEContadorDeModificacoes() {
+        Pessoa criada = repository.save(novaPessoa(null, "José da Silva"));
+        assertEquals(0L, criada.getVersao());
+
+        assertEquals(1L, repository.save(novaPessoa(criada.getId(), "José Souza")).getVersao());
+        repository.saveAll(List.of(novaPessoa(criada.getId(), "José Lima"), novaPessoa(null, "Maria Santos")));
+        assertEquals(2L, repository.findById(criada.getId()).orElseThrow().getVersao());
+
+        repository.deleteById(criada.getId());
+        repository.deleteById(criada.getId());
+        assertEquals(4L, repository.modificationCount());
+    }
+
+    @Test
+    void replace_ComInstanciaDesatualizada_NaoDeveGravar() {
+        Pessoa lida = repository.save(novaPessoa(1L, "José da Silva"));
+        Pessoa primeira = repository.replace(lida, novaPessoa(null, "José Souza")).orElseThrow();
+
+        assertTrue(repository.replace(lida, novaPessoa(null, "José Lima")).isEmpty());
+        assertEquals(1L, primeira.getVersao());
+        assertEquals("José Souza", repository.findById(1L).orElseThrow().getNome());
+        // A instância lida continua como estava
+        assertEquals("José da Silva", lida.getNome());
+    }
+
+    @Test
+    void replace_ComEscritoresConcorrentes_NaoDevePerderAtualizacoes() throws Exception {
+        int threads = 8;
+        int atualizacoesPorThread = 500;
+        repository.save(novaPessoa(1L, "Pessoa 0"));
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < atualizacoesPorThread; i++) {
+                        // Cada atualização incrementa o número do nome: uma perda apareceria na contagem
+                        while (true) {
+                            Pessoa atual = repository.findById(1L).orElseThrow();
+                            int numero = Integer.parseInt(atual.getNome().substring("Pessoa ".length()));
+                            if (repository.replace(atual, novaPessoa(null, "Pessoa " + (numero + 1))).isPresent()) {
+                                break;
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+
+        Pessoa fim = repository.findById(1L).orElseThrow();
+        assertEquals("Pessoa " + threads * atualizacoesPorThread, fim.getNome());
+        assertEquals((long) threads * atualizacoesPorThread, fim.getVersao());
+    }
+
+    @Test
+    void save_ComRenomeacoesConcorrentes_DeveDeixarUmaEntradaNoIndiceComONomeFinal() throws Exception {
+        int threads = 8;
+        int escritasPorThread = 2_000;
+        repository.save(novaPessoa(1L, "Pessoa"));
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String nome = "Pessoa " + (char) ('A' + t);
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < escritasPorThread; i++) {
+                        repository.save(novaPessoa(1L, nome));
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+
+        assertEquals(List.of(repository.findById(1L).orElseThrow().getNome()), nomesOrdenados());
+        assertEquals(List.of(1L), ids(repository.findByDataNascimentoBetween(null, null)));
+    }
+
+    @Test
+    void saveEDeleteById_Concorrentes_DevemManterAPaginacaoIgualAoMapa() throws Exception {
+        int rodadas = 2_000;
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> gravacoes = executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < rodadas; i++) {
+                    repository.save(novaPessoa(1L, "Pessoa"));
+                }
+                return null;
+            });
+            Future<?> remocoes = executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < rodadas; i++) {
+                    repository.deleteById(1L);
+                }
+                return null;
+            });
+            largada.countDown();
+            gravacoes.get();
+            remocoes.get();
+        }
+
+        List<Long> esperados = repository.findById(1L).isPresent() ? List.of(1L) : List.of();
+        assertEquals(esperados, ids(repository.findPageAfterId(null, 10)));
+        assertEquals(esperados, ids(repository.findByDataNascimentoBetween(null, null)));
+    }
+
+    @Test
+    void getNextId_DeveContinuarAPartirDoMaiorIdExplicito() {
+        repository.save(novaPessoa(1L, "José da Silva"));
+        repository.save(novaPessoa(10L, "Maria Santos"));
+        repository.save(novaPessoa(3L, "Pedro Oliveira"));
+
+        Pessoa semId = repository.save(novaPessoa(null, "Ana Lima"));
+
+        assertEquals(11L, semId.getId());
+        assertEquals(12L, repository.getNextId());
+    }
+
+    @Test
+    void save_ComInsercoesConcorrentes_NaoDeveEmitirIdsDuplicados() throws Exception {
+        int threads = 16;
+        int insercoesPorThread = 2_000;
+        ConcurrentLinkedQueue<Long> idsEmitidos = new ConcurrentLinkedQueue<>();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        // Carga inicial com IDs explícitos, como no PessoaDataInitializer
+        repository.save(novaPessoa(1L, "José da Silva"));
+        repository.save(novaPessoa(2L, "Maria Santos"));
+        repository.save(novaPessoa(3L, "Pedro Oliveira"));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < insercoesPorThread; i++) {
+                        idsEmitidos.add(repository.save(novaPessoa(null, "Pessoa " + i)).getId());
+                    }
+                    return null;
+                }));
+            }
+
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+
+        Set<Long> idsUnicos = new HashSet<>(idsEmitidos);
+        assertEquals(threads * insercoesPorThread, idsEmitidos.size());
+        assertEquals(idsEmitidos.size(), idsUnicos.size());
+        assertTrue(idsUnicos.stream().allMatch(id -> id > 3L));
+        assertEquals(threads * insercoesPorThread + 3L, repository.count());
+    }
+
+    @Test
+    void findByDataNascimentoBetween_DeveUsarIntervaloInclusivoEAcompanharAlteracoes() {
+        repository.save(new Pessoa(1L, "Ana", LocalDate.of(1985, 3, 10), LocalDate.of(2010, 1, 1)));
+        repository.save(new Pessoa(2L, "Bruno", LocalDate.of(1990, 1, 1), LocalDate.of(2015, 6, 1)));
+        repository.save(new Pessoa(3L, "Carla", LocalDate.of(1980, 12, 31), LocalDate.of(2020, 2, 1)));
+        Pessoa diego = repository.save(new Pessoa(4L, "Diego", LocalDate.of(1995, 7, 20), LocalDate.of(2015, 6, 1)));
+
+        assertEquals(List.of(3L, 1L, 2L), ids(repository.findByDataNascimentoBetween(
+                LocalDate.of(1980, 12, 31), LocalDate.of(1990, 1, 1))));
+        assertEquals(List.of(2L, 4L), ids(repository.findByDataNascimentoBetween(LocalDate.of(1986, 1, 1), null)));
+        assertEquals(List.of(2L, 4L, 3L), ids(repository.findByDataAdmissaoBetween(LocalDate.of(2015, 6, 1), null)));
+
+        repository.replace(diego, new Pessoa(null, "Diego", LocalDate.of(1984, 1, 1), LocalDate.of(2015, 6, 1)));
+        repository.deleteById(3L);
+
+        assertEquals(List.of(4L, 1L), ids(repository.findByDataNascimentoBetween(null, LocalDate.of(1989, 12, 31))));
+    }
+
+    @Test
+    void findByAniversarioBetween_DeveAtravessarAViradaDoAno() {
+        repository.save(new Pessoa(1L, "Ana", LocalDate.of(1985, 1, 5), LocalDate.of(2010, 1, 1)));
+        repository.save(new Pessoa(2L, "Bruno", LocalDate.of(1990, 12, 20), LocalDate.of(2015, 6, 1)));
+        repository.save(new Pessoa(3L, "Carla", LocalDate.of(1980, 6, 15), LocalDate.of(2020, 2, 1)));
+        repository.save(new Pessoa(4L, "Diego", LocalDate.of(2000, 2, 29), LocalDate.of(2020, 2, 1)));
+
+        assertEquals(List.of(4L), ids(repository.findByAniversarioBetween(MonthDay.of(2, 1), MonthDay.of(2, 29))));
+        assertEquals(List.of(2L, 1L), ids(repository.findByAniversarioBetween(MonthDay.of(12, 1), MonthDay.of(1, 31))));
+    }
+
+    private static List<Long> ids(List<Pessoa> pessoas) {
+        return pessoas.stream().map(Pessoa::getId).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.sccon.geospatial.personapi.infrastructure.repository;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(PersonRepositoryImpl.class)
+class PersonRepositoryImplTest {
+
+    @Autowired
+    private PersonRepositoryImpl repository;
+
+    private static Person person(String name, String cpf) {
+        Person person = new Person();
+        person.setName(name);
+        person.setCpf(cpf);
+        return person;
+    }
+
+    @Test
+    void findByCpf_ShouldMatchWithAndWithoutMask() {
+        repository.save(person("João Silva", "123.456.789-09"));
+
+        assertEquals("João Silva", repository.findByCpf("12345678909").orElseThrow().getName());
+        assertTrue(repository.existsByCpf("123.456.789-09"));
+        assertFalse(repository.existsByCpf("529.982.247-25"));
+        assertEquals(Set.of("12345678909"), repository.findExistingCpfs(List.of("12345678909", "52998224725")));
+    }
+
+    @Test
+    void cachedFindByCpf_ShouldNotHideStoredCpfBehindMissOfAnotherFormat() {
+        repository.save(person("João Silva", "123.456.789-09"));
+        CachingPersonRepository cached = new CachingPersonRepository(repository, 100, Duration.ofMinutes(5), Duration.ofSeconds(30));
+
+        assertTrue(cached.existsByCpf("12345678909"));
+        assertTrue(cached.existsByCpf("123.456.789-09"));
+    }
+
+    @Test
+    void replace_ShouldRekeyChangedCpf() {
+        Person saved = repository.save(person("João Silva", "123.456.789-09"));
+
+        repository.replace(saved, person("João Silva", "529.982.247-25")).orElseThrow();
+
+        assertFalse(repository.existsByCpf("12345678909"));
+        assertTrue(repository.existsByCpf("52998224725"));
+    }
+
+    @Test
+    void aggregates_ShouldGroupLikeTheInMemoryRepository() {
+        InMemoryPersonRepository inMemory = new InMemoryPersonRepository();
+        String[][] rows = {
+                {"123.456.789-09", " (11) 99999-9999", "joao@Example.com"},
+                {"529.982.247-25", "+55 11 99999-9999", "maria@x@example.com"},
+                {"111.444.777-35", "11-3333-4444", "pedro@"},
+                {"390.533.447-05", "", "ana@outro.com.br"}};
+        for (String[] row : rows) {
+            Person person = person("Pessoa " + row[0], row[0]);
+            person.setPhone(row[1]);
+            person.setEmail(row[2]);
+            repository.save(person);
+            inMemory.save(person(person.getName(), row[0]).toBuilder().phone(row[1]).email(row[2]).build());
+        }
+
+        assertEquals(inMemory.aggregates(), repository.aggregates());
+        assertEquals(Map.of("11", 2L), repository.aggregates().getCountByAreaCode());
+    }
+}
@@ -0,0 +1,191 @@
+package com.sccon.geospatial.personapi.infrastructure.repository.persistence;
+
+import com.sccon.geospatial.personapi.domain.model.Person;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPersonRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonDurabilityManagerTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<PersonDurabilityManager> started = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (PersonDurabilityManager manager : started) {
+            manager.stop();
+        }
+    }
+
+    private InMemoryPersonRepository start(FsyncMode fsyncMode) throws IOException {
+        InMemoryPersonRepository repository = new InMemoryPersonRepository();
+        PersonDurabilityManager manager = new PersonDurabilityManager(repository, directory, fsyncMode, 100, 10, 0);
+        manager.start();
+        started.add(manager);
+        return repository;
+    }
+
+    private PersonDurabilityManager lastManager() {
+        return started.get(started.size() - 1);
+    }
+
+    private void restart() throws IOException {
+        lastManager().stop();
+        started.remove(started.size() - 1);
+    }
+
+    private static Person newPerson(String name, String cpf) {
+        Person person = new Person();
+        person.setName(name);
+        person.setCpf(cpf);
+        person.setEmail(name.toLowerCase().replace(' ', '.') + "@email.com");
+        return person;
+    }
+
+    @Test
+    void start_ShouldRecoverSavesUpdatesAndDeletesFromLog() throws IOException {
+        InMemoryPersonRepository repository = start(FsyncMode.GROUP);
+        Person joao = repository.save(newPerson("João Silva", "123.456.789-00"));
+        Person maria = repository.save(newPerson("Maria Santos", "987.654.321-00"));
+        repository.save(newPerson("Pedro Oliveira", "456.789.123-00"));
+
+        joao.setCpf("111.222.333-44");
+        repository.save(joao);
+        repository.deleteById(maria.getId());
+        restart();
+
+        InMemoryPersonRepository recovered = start(FsyncMode.GROUP);
+
+        assertEquals(2, recovered.count());
+        Person recoveredJoao = recovered.findByCpf("111.222.333-44").orElseThrow();
+        assertEquals(joao.getId(), recoveredJoao.getId());
+        assertEquals(joao.getCreatedAt(), recoveredJoao.getCreatedAt());
+        assertEquals("joão.silva@email.com", recoveredJoao.getEmail());
+        assertEquals(1L, recoveredJoao.getVersion());
+        assertFalse(recovered.existsByCpf("123.456.789-00"));
+        assertTrue(recovered.findById(maria.getId()).isEmpty());
+        assertEquals(1, recovered.findByNameContainingIgnoreCase("oliveira").size());
+        assertEquals(4L, recovered.save(newPerson("Ana Lima", "222.333.444-55")).getId());
+    }
+
+    @Test
+    void snapshot_ShouldCompactLogAndRecoverTogetherWithNewerSegments() throws IOException {
+        InMemoryPersonRepository repository = start(FsyncMode.EVERY_WRITE);
+        for (int i = 0; i < 5_000; i++) {
+            repository.save(newPerson("Pessoa " + i, String.format("%011d", i + 1)));
+        }
+        repository.deleteById(10L);
+
+        assertEquals(4_999, lastManager().snapshot());
+
+        repository.save(newPerson("Depois Do Snapshot", "99999999999"));
+        repository.deleteById(20L);
+        restart();
+
+        assertEquals(1, WriteAheadLog.segments(directory).size());
+        assertEquals(1, PersonSnapshotStore.snapshots(directory).size());
+
+        InMemoryPersonRepository recovered = start(FsyncMode.EVERY_WRITE);
+
+        assertEquals(4_999, recovered.count());
+        assertTrue(recovered.existsByCpf("99999999999"));
+        assertTrue(recovered.findById(10L).isEmpty());
+        assertTrue(recovered.findById(20L).isEmpty());
+        assertEquals("Pessoa 4999", recovered.findById(5_000L).orElseThrow().getName());
+    }
+
+    @Test
+    void start_ShouldTruncateTornRecordAtEndOfLog() throws IOException {
+        InMemoryPersonRepository repository = start(FsyncMode.GROUP);
+        repository.save(newPerson("João Silva", "123.456.789-00"));
+        repository.save(newPerson("Maria Santos", "987.654.321-00"));
+        restart();
+
+        Path segment = WriteAheadLog.segmentPath(directory, WriteAheadLog.segments(directory).get(0));
+        long validSize = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 60, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        InMemoryPersonRepository recovered = start(FsyncMode.GROUP);
+
+        assertEquals(2, recovered.count());
+        assertEquals(validSize, Files.size(segment));
+    }
+
+    @Test
+    void writeAheadLog_AfterFailedWrite_ShouldKeepDurablePositionAndRefuseFurtherWrites() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 1, FsyncMode.EVERY_WRITE, 0)) {
+            long first = wal.append(PersonRecordCodec.encodeDelete(1L));
+            wal.awaitDurable(first);
+            long second = wal.append(PersonRecordCodec.encodeDelete(2L));
+
+            // Interromper a thread no meio de FileChannel.write fecha o canal e faz a gravação falhar
+            Thread.currentThread().interrupt();
+            try {
+                assertThrows(UncheckedIOException.class, () -> wal.awaitDurable(second));
+            } finally {
+                Thread.interrupted();
+            }
+
+            assertEquals(first, wal.durablePosition());
+            assertThrows(UncheckedIOException.class, () -> wal.append(PersonRecordCodec.encodeDelete(3L)));
+            assertThrows(UncheckedIOException.class, wal::flush);
+        }
+    }
+
+    @Test
+    void save_WithGroupCommitAndConcurrentWriters_ShouldRecoverEveryWrite() throws Exception {
+        InMemoryPersonRepository repository = start(FsyncMode.GROUP);
+        int threads = 8;
+        int savesPerThread = 250;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < savesPerThread; i++) {
+                        repository.save(newPerson("Pessoa " + thread + " " + i,
+                                String.format("%02d%09d", thread + 1, i)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+        restart();
+
+        InMemoryPersonRepository recovered = start(FsyncMode.GROUP);
+
+        assertEquals(threads * savesPerThread, recovered.count());
+        assertEquals(repository.aggregates(), recovered.aggregates());
+    }
+
+    @Test
+    void stop_WithAsyncFsync_ShouldFlushPendingWrites() throws IOException {
+        InMemoryPersonRepository repository = start(FsyncMode.ASYNC);
+        for (int i = 0; i < 100; i++) {
+            repository.save(newPerson("Pessoa " + i, String.format("%011d", i + 1)));
+        }
+        restart();
+
+        assertEquals(100, start(FsyncMode.ASYNC).count());
+    }
+}
@@ -0,0 +1,64 @@
+package com.sccon.geospatial.personapi.infrastructure.seed;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvChunkReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_ComArquivoMaiorQueUmTrecho_DeveLerCadaLinhaUmaVezEmOrdem() throws IOException {
+        // ~6 MB: vários trechos, com limites caindo no meio das linhas
+        int linhas = 200_000;
+        StringBuilder csv = new StringBuilder("numero,texto\n");
+        IntStream.range(0, linhas).forEach(i -> csv.append(i).append(",linha número ").append(i).append('\n'));
+        Path arquivo = Files.writeString(directory.resolve("grande.csv"), csv, StandardCharsets.UTF_8);
+
+        SeedBatch<Integer> lote = CsvChunkReader.read(arquivo, 2, campos -> {
+            assertEquals("linha número " + campos[0], campos[1]);
+            return Integer.parseInt(campos[0]);
+        });
+
+        assertEquals(linhas, lote.lines());
+        assertEquals(0, lote.rejected());
+        assertEquals(IntStream.range(0, linhas).boxed().toList(), lote.rows());
+    }
+
+    @Test
+    void read_DeveReportarLinhasInvalidasPeloNumeroNoArquivo() throws IOException {
+        Path arquivo = Files.writeString(directory.resolve("erros.csv"),
+                "a,b\r\n1,um\r\n\r\n2\r\nx,dois\r\n3,três,extra\r\n4,quatro", StandardCharsets.UTF_8);
+
+        SeedBatch<String> lote = CsvChunkReader.read(arquivo, 2, campos -> {
+            Integer.parseInt(campos[0]);
+            return campos[1];
+        });
+
+        assertEquals(List.of("um", "quatro"), lote.rows());
+        assertEquals(6, lote.lines());
+        assertEquals(3, lote.rejected());
+        assertEquals(List.of(4L, 5L, 6L), List.copyOf(lote.errors().keySet()));
+        assertEquals("Esperadas 2 colunas", lote.errors().get(4L));
+    }
+
+    @Test
+    void read_ComApenasCabecalho_DeveRetornarLoteVazio() throws IOException {
+        Path arquivo = Files.writeString(directory.resolve("vazio.csv"), "a,b\n");
+
+        SeedBatch<String> lote = CsvChunkReader.read(arquivo, 2, campos -> campos[0]);
+
+        assertTrue(lote.rows().isEmpty());
+        assertEquals(0, lote.lines());
+    }
+}
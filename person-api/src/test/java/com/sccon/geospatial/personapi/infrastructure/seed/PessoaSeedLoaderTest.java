@@ -0,0 +1,51 @@
+package com.sccon.geospatial.personapi.infrastructure.seed;
+
+import com.sccon.geospatial.personapi.domain.model.Pessoa;
+import com.sccon.geospatial.personapi.infrastructure.repository.InMemoryPessoaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PessoaSeedLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void load_DeveGravarLinhasValidasERejeitarInvalidasEIdsRepetidos() throws IOException {
+        InMemoryPessoaRepository repository = new InMemoryPessoaRepository();
+        Path arquivo = Files.writeString(directory.resolve("pessoas.csv"), """
+                id,nome,dataNascimento,dataAdmissao
+                1,José da Silva,2000-04-06,2020-05-10
+                ,Maria Santos,1995-08-15,2021-03-20
+                1,Repetido,1990-01-01,2015-01-01
+                4,,1990-01-01,2015-01-01
+                5,Data Errada,06/04/2000,2015-01-01
+                7,Pedro Oliveira,1988-12-03,2019-01-15
+                """);
+
+        SeedResult resultado = new PessoaSeedLoader(repository).load(arquivo);
+
+        assertEquals(6, resultado.read());
+        assertEquals(3, resultado.loaded());
+        assertEquals(3, resultado.rejected());
+        assertEquals("José da Silva", repository.findById(1L).orElseThrow().getNome());
+        assertEquals(LocalDate.of(2019, 1, 15), repository.findById(7L).orElseThrow().getDataAdmissao());
+        Pessoa maria = repository.findAllOrderByNome().get(1);
+        assertEquals("Maria Santos", maria.getNome());
+        assertEquals(8L, repository.getNextId());
+    }
+
+    @Test
+    void load_ComArquivoNaoCsv_DeveLancarExcecao() {
+        PessoaSeedLoader loader = new PessoaSeedLoader(new InMemoryPessoaRepository());
+
+        assertThrows(IllegalArgumentException.class, () -> loader.load(directory.resolve("pessoas.bin")));
+    }
+}